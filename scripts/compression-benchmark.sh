@@ -0,0 +1,76 @@
+#!/usr/bin/env bash
+# Compares plain and gzip-compressed conversions: bytes on the wire and time per response, and
+# the server CPU each variant costs, for results and uploads of increasing size.
+#
+# Usage: scripts/compression-benchmark.sh [requests]
+#
+# The instance runs target/dto-to-json-0.1.jar, built by mvn package, with the stateless profile on
+# $PORT (default 9930). Set APP_COMMAND to run it differently, e.g. from target/classes. Server CPU
+# is read from /proc, so the script needs Linux.
+set -euo pipefail
+
+REQUESTS=${1:-20}
+PORT=${PORT:-9930}
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+WORK=$(mktemp -d /tmp/compression-benchmark.XXXXXX)
+URL="http://localhost:$PORT/project/parser"
+cd "$(dirname "$0")/.."
+read -r -a COMMAND <<<"${APP_COMMAND:-$JAVA -jar target/dto-to-json-0.1.jar}"
+
+"${COMMAND[@]}" --spring.profiles.active=stateless --server.port="$PORT" --parser.warmup.enabled=false \
+	--management.endpoints.web.exposure.include=health >"$WORK/instance.log" 2>&1 &
+PID=$!
+trap 'kill "$PID" 2>/dev/null || true; rm -rf "$WORK"' EXIT
+until curl -sf "http://localhost:$PORT/project/actuator/health" >/dev/null; do
+	if ! kill -0 "$PID" 2>/dev/null; then
+		echo "The instance did not start, see $WORK/instance.log" >&2
+		exit 1
+	fi
+	sleep 0.5
+done
+
+# A DTO with the given number of items, about 75 bytes each
+body() {
+	local items=
+	for item in $(seq "$1"); do
+		items+="${items:+, }ItemDTO(sku=SKU-$item, name=Item $item of the order, qty=$item, price=$item.99)"
+	done
+	printf '{"language":"JAVA","inputTxt":"OrderDTO(id=1, customer=CustomerDTO(id=7, name=Test), items=[%s])"}' "$items"
+}
+
+# CPU time of the server in clock ticks, user and system
+cpu() {
+	awk '{ print $14 + $15 }' "/proc/$PID/stat"
+}
+
+# Sends the body $REQUESTS times and prints the mean bytes received, ms per request and server
+# CPU ms per request
+run() {
+	local file=$1
+	shift
+	local before bytes=0 time=0 size total
+	before=$(cpu)
+	for _ in $(seq "$REQUESTS"); do
+		read -r size total < <(curl -s -o /dev/null -w '%{size_download} %{time_total}\n' \
+			-H 'Content-Type: application/json' "$@" --data-binary @"$file" "$URL")
+		bytes=$((bytes + size))
+		time=$(awk -v a="$time" -v b="$total" 'BEGIN { print a + b }')
+	done
+	awk -v bytes="$bytes" -v time="$time" -v ticks=$(($(cpu) - before)) -v hz="$(getconf CLK_TCK)" -v n="$REQUESTS" \
+		'BEGIN { printf "%10d %8.2f %8.2f", bytes / n, time * 1000 / n, ticks * 1000 / hz / n }'
+}
+
+printf '%8s %10s | %-28s | %-28s | %-28s\n' "" "" "plain" "Accept-Encoding: gzip" "gzip upload and response"
+printf '%8s %10s | %10s %8s %8s | %10s %8s %8s | %10s %8s %8s\n' items "upload" bytes ms cpu-ms bytes ms cpu-ms \
+	bytes ms cpu-ms
+for items in 10 100 1000 10000; do
+	body "$items" >"$WORK/body.json"
+	gzip -c "$WORK/body.json" >"$WORK/body.json.gz"
+	# Warms up the conversion of this size before it is measured
+	run "$WORK/body.json" >/dev/null
+	printf '%8d %10s | %s | %s | %s\n' "$items" \
+		"$(stat -c %s "$WORK/body.json")/$(stat -c %s "$WORK/body.json.gz")" \
+		"$(run "$WORK/body.json")" \
+		"$(run "$WORK/body.json" -H 'Accept-Encoding: gzip')" \
+		"$(run "$WORK/body.json.gz" -H 'Accept-Encoding: gzip' -H 'Content-Encoding: gzip')"
+done
@@ -0,0 +1,47 @@
+#!/usr/bin/env bash
+# Parse history paging benchmark: OFFSET against keyset pagination at increasing depths.
+#
+# Usage: scripts/history-pagination-benchmark.sh [rows]
+#   rows  synthetic history rows inserted first (default 2000000); 0 to use the rows already there
+#
+# Runs against the dev profile database through psql; set the usual PGHOST, PGPORT, PGDATABASE,
+# PGUSER and PGPASSWORD (defaults: localhost, json_db, json_project). The table and its indexes
+# must exist, i.e. the application has started once. Each depth prints the execution time of one
+# page of 20 rows read both ways, as reported by EXPLAIN ANALYZE.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+ROWS=${1:-2000000}
+PAGE_SIZE=20
+export PGHOST=${PGHOST:-localhost} PGDATABASE=${PGDATABASE:-json_db} PGUSER=${PGUSER:-json_project}
+export PGPASSWORD=${PGPASSWORD:-json_project}
+
+COLUMNS="id, input_hash, input_length, language, logs, success, requested_at, parse_micros, created_at"
+
+sql() {
+	psql -X -q -t -A -v ON_ERROR_STOP=1 -c "$1"
+}
+
+execution_time() {
+	sql "explain (analyze) $1" | sed -n 's/^Execution Time: //p'
+}
+
+if [ "$ROWS" -gt 0 ]; then
+	echo "Inserting $ROWS rows"
+	psql -X -q -v ON_ERROR_STOP=1 -v rows="$ROWS" -f scripts/history-seed.sql
+fi
+
+TOTAL=$(sql "select count(*) from parse_history where active")
+echo "$TOTAL rows"
+printf '%10s %14s %14s\n' depth offset keyset
+for DEPTH in 0 10000 100000 1000000 $((TOTAL - PAGE_SIZE)); do
+	[ "$DEPTH" -ge 0 ] && [ "$DEPTH" -lt "$TOTAL" ] || continue
+	OFFSET_TIME=$(execution_time "select $COLUMNS from parse_history where active
+		order by created_at desc, id desc offset $DEPTH limit $((PAGE_SIZE + 1))")
+	# The position a cursor would carry: the last row of the previous page
+	POSITION=$(sql "select created_at || ''',' || id from parse_history where active
+		order by created_at desc, id desc offset $((DEPTH > 0 ? DEPTH - 1 : 0)) limit 1")
+	KEYSET_TIME=$(execution_time "select $COLUMNS from parse_history where active
+		and (created_at, id) < ('$POSITION) order by created_at desc, id desc limit $((PAGE_SIZE + 1))")
+	printf '%10s %14s %14s\n' "$DEPTH" "$OFFSET_TIME" "$KEYSET_TIME"
+done
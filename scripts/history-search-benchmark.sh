@@ -0,0 +1,54 @@
+#!/usr/bin/env bash
+# Field value search benchmark: the GIN index on parse_history.result against a sequential scan.
+#
+# Usage: scripts/history-search-benchmark.sh [rows]
+#   rows  synthetic history rows inserted first with history-seed.sql (default 0: use the rows there)
+#
+# Connection settings as for history-pagination-benchmark.sh. Each predicate document is queried
+# the way GET /parser/history?where=... queries it, as a page of 20 and as a count, once as planned
+# and once with index and bitmap scans disabled; times are EXPLAIN ANALYZE execution times.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+ROWS=${1:-0}
+PAGE_SIZE=20
+export PGHOST=${PGHOST:-localhost} PGDATABASE=${PGDATABASE:-json_db} PGUSER=${PGUSER:-json_project}
+export PGPASSWORD=${PGPASSWORD:-json_project}
+
+PREDICATES=(
+	'{"customerId": 42, "status": "FAILED"}'
+	'{"orderId": 1234567}'
+	'{"items": [{"sku": "SKU-7"}]}'
+	'{"status": "FAILED"}'
+)
+
+sql() {
+	psql -X -q -t -A -v ON_ERROR_STOP=1 -c "$1"
+}
+
+execution_time() {
+	sql "$1 explain (analyze) $2" | sed -n 's/^Execution Time: //p'
+}
+
+if [ "$ROWS" -gt 0 ]; then
+	echo "Inserting $ROWS rows"
+	psql -X -q -v ON_ERROR_STOP=1 -v rows="$ROWS" -f scripts/history-seed.sql
+fi
+
+INDEXED="set enable_bitmapscan = on; set enable_indexscan = on;"
+SEQUENTIAL="set enable_bitmapscan = off; set enable_indexscan = off;"
+
+echo "$(sql "select count(*) from parse_history") rows"
+printf '%-42s %12s %12s %12s %12s\n' predicate page page-seqscan count count-seqscan
+for PREDICATE in "${PREDICATES[@]}"; do
+	# A DTO, a log result holding it, or a list holding it
+	WHERE="active = true and ((result @> cast('$PREDICATE' as jsonb)) = true
+		or (result @> cast('{\"results\": [{\"data\": $PREDICATE}]}' as jsonb)) = true
+		or (result @> cast('[$PREDICATE]' as jsonb)) = true)"
+	PAGE="select id, created_at from parse_history where $WHERE
+		order by created_at desc, id desc limit $((PAGE_SIZE + 1))"
+	COUNT="select count(*) from parse_history where $WHERE"
+	printf '%-42s %12s %12s %12s %12s\n' "$PREDICATE" "$(execution_time "$INDEXED" "$PAGE")" \
+		"$(execution_time "$SEQUENTIAL" "$PAGE")" "$(execution_time "$INDEXED" "$COUNT")" \
+		"$(execution_time "$SEQUENTIAL" "$COUNT")"
+done
@@ -0,0 +1,25 @@
+-- Synthetic parse history for the history benchmarks: :rows rows, one every half second up to now.
+-- Results look like converted order DTOs, as plain results, log results and lists; every tenth
+-- parse failed and has none.
+--
+-- Usage: psql -v rows=2000000 -f scripts/history-seed.sql
+insert into parse_history (id, input_hash, input_length, language, logs, success, result, requested_at,
+		parse_micros, active, created_at, updated_at, created_by, updated_by)
+select nextval('parse_history_seq'), md5(g::text) || md5((-g)::text), 100 + g % 900,
+	(array['JAVA', 'KOTLIN', 'CSHARP', 'AUTO'])[1 + g % 4], g % 4 = 3, g % 10 <> 0,
+	case
+		when g % 10 = 0 then null
+		when g % 4 = 3 then jsonb_build_object('totalLines', 1, 'fragmentCount', 1,
+			'results', jsonb_build_array(jsonb_build_object('line', 1, 'column', 42, 'data', o.dto)))
+		when g % 4 = 2 then jsonb_build_array(o.dto)
+		else o.dto
+	end,
+	t.ts, g % 5000, true, t.ts, t.ts, 0, 0
+from generate_series(1, :rows) g,
+	lateral (select localtimestamp - make_interval(secs => (:rows - g) * 0.5) as ts) t,
+	lateral (select jsonb_build_object('orderId', g, 'customerId', g % 100000,
+		'status', (array['NEW', 'PAID', 'SHIPPED', 'FAILED'])[1 + (g / 3) % 4], 'total', g % 1000 + 0.5,
+		'items', jsonb_build_array(jsonb_build_object('sku', 'SKU-' || g % 500, 'qty', 1 + g % 5)))
+		as dto) o;
+
+analyze parse_history;
@@ -0,0 +1,88 @@
+#!/usr/bin/env bash
+# Runs several instances on localhost that share their results, and sends each distinct input to
+# every instance in turn: the first request parses it and sends the result to the instance that
+# owns it, the others fetch it from the owner or find it in their own store.
+#
+# Usage: scripts/peer-cache-local.sh [instances] [inputs]
+#
+# The instances run target/dto-to-json-0.1.jar, built by mvn package, with the stateless profile
+# on ports from $BASE_PORT + 1 (default 9920). Set APP_COMMAND to run them differently, e.g. from
+# target/classes. Per-request times and each instance's peer and store metrics are printed.
+set -euo pipefail
+
+INSTANCES=${1:-3}
+INPUTS=${2:-10}
+BASE_PORT=${BASE_PORT:-9920}
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+WORK=$(mktemp -d /tmp/peer-cache-local.XXXXXX)
+cd "$(dirname "$0")/.."
+read -r -a COMMAND <<<"${APP_COMMAND:-$JAVA -jar target/dto-to-json-0.1.jar}"
+
+# Shared by the instances only
+TOKEN=$(od -An -N16 -tx1 /dev/urandom | tr -d ' \n')
+URLS=
+for i in $(seq "$INSTANCES"); do
+	URLS+="${URLS:+,}http://localhost:$((BASE_PORT + i))/project"
+done
+
+PIDS=()
+trap 'kill "${PIDS[@]}" 2>/dev/null || true' EXIT
+for i in $(seq "$INSTANCES"); do
+	PORT=$((BASE_PORT + i))
+	"${COMMAND[@]}" --spring.profiles.active=stateless --server.port="$PORT" --parser.warmup.enabled=false \
+		--parser.store.enabled=true --parser.store.directory="$WORK/store-$i" \
+		--parser.peers.enabled=true --parser.peers.self="http://localhost:$PORT/project" \
+		--parser.peers.urls="$URLS" --parser.peers.token="$TOKEN" --management.endpoints.web.exposure.include=health,metrics \
+		>"$WORK/instance-$i.log" 2>&1 &
+	PIDS+=($!)
+done
+for i in $(seq "$INSTANCES"); do
+	until curl -sf "http://localhost:$((BASE_PORT + i))/project/actuator/health" >/dev/null; do
+		if ! kill -0 "${PIDS[$((i - 1))]}" 2>/dev/null; then
+			echo "Instance $i did not start, see $WORK/instance-$i.log" >&2
+			exit 1
+		fi
+		sleep 0.5
+	done
+done
+
+# A DTO of about 64 KB, well above parser.peers.min-input-length
+body() {
+	local items=
+	for item in $(seq 400); do
+		items+="${items:+, }ItemDTO(sku=SKU-$1-$item, name=Item $item of order $1, qty=$item, price=$item.99)"
+	done
+	printf '{"language":"JAVA","inputTxt":"OrderDTO(id=%s, customer=CustomerDTO(id=7, name=Test), items=[%s])"}' \
+		"$1" "$items"
+}
+
+echo "Each input sent to instances 1..$INSTANCES in turn, times in ms:"
+for input in $(seq "$INPUTS"); do
+	body "$input" >"$WORK/body.json"
+	TIMES=
+	for i in $(seq "$INSTANCES"); do
+		TIME=$(curl -s -o /dev/null -w '%{time_total}' -H 'Content-Type: application/json' \
+			--data-binary @"$WORK/body.json" "http://localhost:$((BASE_PORT + i))/project/parser")
+		TIMES+=" $(awk -v t="$TIME" 'BEGIN { printf "%7.2f", t * 1000 }')"
+	done
+	echo "input $input:$TIMES"
+	# Results are sent to their owner in the background
+	sleep 0.2
+done
+
+metric() {
+	curl -s "http://localhost:$1/project/actuator/metrics/$2" | grep -o '"value":[0-9.E-]*' | head -1 | cut -d: -f2
+}
+# Mean time of a timer in ms
+mean() {
+	curl -s "http://localhost:$1/project/actuator/metrics/$2" | grep -o '"value":[0-9.E-]*' | head -2 | cut -d: -f2 |
+		awk 'NR == 1 { count = $1 } NR == 2 { printf "%.2f", count ? $1 * 1000 / count : 0 }'
+}
+echo
+for i in $(seq "$INSTANCES"); do
+	PORT=$((BASE_PORT + i))
+	echo "instance $i: peer hits $(metric "$PORT" parser.peers.hits), peer misses $(metric "$PORT" parser.peers.misses)," \
+		"sent to owner $(metric "$PORT" parser.peers.offered), store hits $(metric "$PORT" parser.store.hits)," \
+		"stored $(metric "$PORT" parser.store.results), mean peer lookup $(mean "$PORT" parser.peers.lookup) ms"
+done
+rm -rf "$WORK"
@@ -0,0 +1,64 @@
+#!/usr/bin/env bash
+# Cold-start benchmark: time from launching the JVM to the first successful POST /parser.
+#
+# Usage: scripts/startup-benchmark.sh [runs] [mode]
+#   mode jar         target/dto-to-json-0.1.jar, built by mvn package (default)
+#   mode fast-start  target/fast-start, AOT-processed with a CDS archive, built by mvn -Pfast-start package
+#
+# The application runs with the stateless profile on $PORT (default 9901). Each run's time and
+# the median are printed in milliseconds.
+set -euo pipefail
+
+RUNS=${1:-5}
+MODE=${2:-jar}
+PORT=${PORT:-9901}
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-120}
+cd "$(dirname "$0")/.."
+
+case "$MODE" in
+jar)
+	COMMAND=("$JAVA" -jar target/dto-to-json-0.1.jar)
+	;;
+fast-start)
+	COMMAND=("$JAVA" -XX:SharedArchiveFile=target/fast-start/application.jsa -Dspring.aot.enabled=true
+		-jar target/fast-start/dto-to-json-0.1.jar)
+	;;
+*)
+	echo "Unknown mode $MODE, expected jar or fast-start" >&2
+	exit 2
+	;;
+esac
+
+BODY='{"language":"JAVA","inputTxt":"OrderDTO(id=1, items=[ItemDTO(sku=A, qty=2)])"}'
+URL="http://localhost:$PORT/project/parser"
+TIMES=()
+
+for run in $(seq "$RUNS"); do
+	START=$(date +%s%N)
+	"${COMMAND[@]}" --spring.profiles.active=stateless --server.port="$PORT" >/tmp/startup-benchmark.log 2>&1 &
+	PID=$!
+	ELAPSED=
+	while kill -0 "$PID" 2>/dev/null; do
+		# Errors are reported with HTTP 200 and the real status in the body
+		if curl -s -m 5 -H 'Content-Type: application/json' -d "$BODY" "$URL" 2>/dev/null | grep -q '"status":200'; then
+			ELAPSED=$((($(date +%s%N) - START) / 1000000))
+			break
+		fi
+		if (($(date +%s%N) - START > TIMEOUT_SECONDS * 1000000000)); then
+			break
+		fi
+		sleep 0.02
+	done
+	kill "$PID" 2>/dev/null || true
+	wait "$PID" 2>/dev/null || true
+	if [ -z "$ELAPSED" ]; then
+		echo "Run $run: no successful response, see /tmp/startup-benchmark.log" >&2
+		exit 1
+	fi
+	echo "Run $run: ${ELAPSED} ms"
+	TIMES+=("$ELAPSED")
+done
+
+MEDIAN=$(printf '%s\n' "${TIMES[@]}" | sort -n | awk '{ t[NR] = $1 } END { print (NR % 2) ? t[(NR + 1) / 2] : int((t[NR / 2] + t[NR / 2 + 1]) / 2) }')
+echo "$MODE: median time to first /parser response over $RUNS runs: ${MEDIAN} ms"
@@ -2,8 +2,12 @@ package com.project;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import com.project.config.ParserRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(ParserRuntimeHints.class)
 public class DtoToJsonApplication {
 
 	public static void main(String[] args) {
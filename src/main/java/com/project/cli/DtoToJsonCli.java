@@ -0,0 +1,400 @@
+package com.project.cli;
+
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.project.config.ParserProperties;
+import com.project.constant.InputLanguage;
+import com.project.ingest.BoundedLineReader;
+import com.project.ingest.LogArchive;
+import com.project.parser.CSharpDTOParser;
+import com.project.parser.JavaDTOParser;
+import com.project.parser.KotlinDTOParser;
+import com.project.parser.LanguageDetector;
+import com.project.parser.LogFragment;
+import com.project.parser.LogFragmentExtractor;
+import com.project.parser.LogParser;
+import com.project.parser.ParseBudget;
+import com.project.parser.ParseError;
+import com.project.parser.ParseResult;
+
+/**
+ * Command line converter that uses the parsers directly, without starting the Spring context, so
+ * it starts fast enough for shell pipelines. From the packaged jar:
+ *
+ * <pre>
+ * java -XX:TieredStopAtLevel=1 -cp target/dto-to-json-0.1.jar -Dloader.main=com.project.cli.DtoToJsonCli \
+ *     org.springframework.boot.loader.launch.PropertiesLauncher [options] [file...]
+ * </pre>
+ *
+ * Only the parsers and spring-core are loaded; JSON is written by {@link JsonWriter} rather than
+ * Jackson, which alone took most of the startup time.
+ *
+ * Files are converted in parallel. Whole-input conversions are written in argument order; the
+ * records of logs and NDJSON files name their file and line, so they are written as soon as a
+ * chunk of them is ready, and a large log is never held in memory. Files may be gzip-compressed,
+ * like rotated {@code app.log.1.gz}, and are inflated as they are read. Parse limits are those of
+ * asynchronous jobs, since there is no request to hold up.
+ */
+public final class DtoToJsonCli {
+
+	private static final int EXIT_OK = 0;
+	private static final int EXIT_FAILED = 1;
+	private static final int EXIT_USAGE = 2;
+	private static final String STDIN = "-";
+	private static final int CHUNK_SIZE = 1 << 16;
+
+	private static final String USAGE = """
+			Usage: dto-to-json [options] [file...]
+			Converts Java, Kotlin and C# DTO toString() output to JSON. Reads standard input when no
+			file or "-" is given. Gzip-compressed input, e.g. app.log.1.gz, is inflated as it is read.
+
+			  -l, --language <lang>  JAVA, KOTLIN, CSHARP or AUTO to detect it (default AUTO)
+			      --logs             extract DTOs from log lines; one NDJSON record per DTO
+			      --ndjson           one DTO per input line; one NDJSON record per line
+			      --pretty           indent the output of a single whole-input conversion
+			  -j, --threads <n>      files converted in parallel (default: number of processors)
+			  -h, --help             show this help
+			""";
+
+	private final ParserProperties parserProperties = new ParserProperties();
+	private final Map<InputLanguage, LogParser> parsers = new EnumMap<>(InputLanguage.class);
+	private final LanguageDetector languageDetector = new LanguageDetector();
+	private final LogFragmentExtractor logFragmentExtractor = new LogFragmentExtractor();
+	private final JsonWriter jsonWriter = new JsonWriter(false);
+	private final PrintStream err = System.err;
+
+	private InputLanguage language = InputLanguage.AUTO;
+	private boolean logs;
+	private boolean ndjson;
+	private boolean pretty;
+	private int threads = Runtime.getRuntime().availableProcessors();
+	private final List<String> files = new ArrayList<>();
+
+	private DtoToJsonCli() {
+		parsers.put(InputLanguage.JAVA, new JavaDTOParser(parserProperties));
+		parsers.put(InputLanguage.KOTLIN, new KotlinDTOParser(parserProperties));
+		parsers.put(InputLanguage.CSHARP, new CSharpDTOParser(parserProperties));
+	}
+
+	public static void main(final String[] args) {
+		System.exit(new DtoToJsonCli().run(args));
+	}
+
+	private int run(final String[] args) {
+		String usageError = parseArguments(args);
+		if (usageError != null) {
+			err.println(usageError);
+			err.print(USAGE);
+			return EXIT_USAGE;
+		}
+		if (files.isEmpty()) {
+			files.add(STDIN);
+		}
+
+		Writer out = new BufferedWriter(
+				new OutputStreamWriter(new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8), 1 << 16);
+		try {
+			boolean ok;
+			if (files.size() == 1) {
+				ok = convert(files.get(0), out, false);
+			} else {
+				ok = convertAll(out);
+			}
+			out.flush();
+			return ok ? EXIT_OK : EXIT_FAILED;
+		} catch (IOException | UncheckedIOException e) {
+			err.println("dto-to-json: " + e.getMessage());
+			return EXIT_FAILED;
+		}
+	}
+
+	/**
+	 * @return an error message, or null if the arguments are valid
+	 */
+	private String parseArguments(final String[] args) {
+		for (int i = 0; i < args.length; i++) {
+			String arg = args[i];
+			switch (arg) {
+			case "-h", "--help":
+				System.out.print(USAGE);
+				System.exit(EXIT_OK);
+				break;
+			case "-l", "--language":
+				if (++i == args.length || (language = InputLanguage.getByValue(args[i].toUpperCase())) == null) {
+					return "Invalid language, expected JAVA, KOTLIN, CSHARP or AUTO";
+				}
+				break;
+			case "-j", "--threads":
+				try {
+					threads = Integer.parseInt(args[++i]);
+				} catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+					threads = 0;
+				}
+				if (threads < 1) {
+					return "Invalid thread count";
+				}
+				break;
+			case "--logs":
+				logs = true;
+				break;
+			case "--ndjson":
+				ndjson = true;
+				break;
+			case "--pretty":
+				pretty = true;
+				break;
+			default:
+				if (arg.startsWith("-") && !arg.equals(STDIN)) {
+					return "Unknown option " + arg;
+				}
+				files.add(arg);
+			}
+		}
+		if (logs && ndjson) {
+			return "--logs and --ndjson cannot be combined";
+		}
+		return null;
+	}
+
+	/**
+	 * Converts every file on a pool. Whole-input outputs are written in argument order as each one
+	 * is ready, records in chunks as they are converted.
+	 */
+	private boolean convertAll(final Writer out) throws IOException {
+		ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads, files.size()), runnable -> {
+			Thread thread = new Thread(runnable, "dto-to-json");
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			List<Future<Output>> outputs = new ArrayList<>();
+			for (String file : files) {
+				outputs.add(pool.submit(() -> {
+					if (logs || ndjson) {
+						try (ChunkWriter chunks = new ChunkWriter(out)) {
+							return new Output("", convert(file, chunks, true));
+						}
+					}
+					StringWriter buffer = new StringWriter();
+					boolean ok = convert(file, buffer, true);
+					return new Output(buffer.toString(), ok);
+				}));
+			}
+			boolean ok = true;
+			for (Future<Output> future : outputs) {
+				Output output = future.get();
+				out.write(output.text());
+				ok &= output.ok();
+			}
+			return ok;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		} catch (ExecutionException e) {
+			throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * Converts one input. With several inputs every record names its file.
+	 *
+	 * @return whether everything in it was converted
+	 */
+	private boolean convert(final String file, final Writer out, final boolean named) throws IOException {
+		if (!logs && !ndjson) {
+			String input;
+			try (InputStream in = LogArchive
+					.decompressed(file.equals(STDIN) ? System.in : Files.newInputStream(Path.of(file)))) {
+				input = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+			}
+			ParseResult result = parse(input, parserFor(input));
+			if (named) {
+				write(out, record(file, null, null, result));
+			} else if (result.isSuccess()) {
+				out.write((pretty ? new JsonWriter(true) : jsonWriter).write(result.getValue()));
+				out.write('\n');
+			} else {
+				err.println((file.equals(STDIN) ? "stdin" : file) + ": " + describe(result));
+			}
+			return result.isSuccess();
+		}
+
+		try (BoundedLineReader lines = open(file)) {
+			boolean ok = true;
+			int lineNumber = 0;
+			while (lines.next()) {
+				lineNumber++;
+				String line = lines.line();
+				if (line == null) {
+					// Longer than the input limit, never held whole
+					write(out, tooLarge(named ? file : null, lineNumber));
+					ok = false;
+				} else if (!ndjson) {
+					for (LogFragment fragment : logFragmentExtractor.extractLine(line, lineNumber)) {
+						ParseResult result = parse(fragment.getText(), parserFor(fragment.getText()));
+						write(out, record(named ? file : null, lineNumber, fragment.getColumn(), result));
+						ok &= result.isSuccess();
+					}
+				} else if (!line.isBlank()) {
+					ParseResult result = parse(line, parserFor(line));
+					write(out, record(named ? file : null, lineNumber, null, result));
+					ok &= result.isSuccess();
+				}
+				if (!named && !lines.ready()) {
+					// Caught up with a pipe: pass on what is converted so far
+					out.flush();
+				}
+			}
+			return ok;
+		}
+	}
+
+	private BoundedLineReader open(final String file) throws IOException {
+		return LogArchive.lines(
+				file.equals(STDIN) ? new FileInputStream(FileDescriptor.in) : Files.newInputStream(Path.of(file)),
+				(int) Math.min(parserProperties.getMaxInputSize().toBytes(), Integer.MAX_VALUE));
+	}
+
+	private LogParser parserFor(final String input) {
+		return parsers.get(language == InputLanguage.AUTO ? languageDetector.detect(input) : language);
+	}
+
+	private ParseResult parse(final String input, final LogParser parser) {
+		ParserProperties.Jobs jobs = parserProperties.getJobs();
+		return parser.parse(input, new ParseBudget(parserProperties, jobs.getMaxInputSize(), jobs.getMaxParseTime()));
+	}
+
+	/**
+	 * Record shaped like the {@code /parser/logs} results
+	 */
+	private Map<String, Object> record(final String file, final Integer line, final Integer column,
+			final ParseResult result) {
+		Map<String, Object> record = new LinkedHashMap<>();
+		if (file != null) {
+			record.put("file", file);
+		}
+		if (line != null) {
+			record.put("line", line);
+		}
+		if (column != null) {
+			record.put("column", column);
+		}
+		if (result.isSuccess()) {
+			record.put("data", result.getValue());
+		} else {
+			record.put("error", result.getError() != null ? result.getError() : describe(result));
+		}
+		return record;
+	}
+
+	private Map<String, Object> tooLarge(final String file, final int line) {
+		Map<String, Object> record = new LinkedHashMap<>();
+		if (file != null) {
+			record.put("file", file);
+		}
+		record.put("line", line);
+		record.put("error", MessageFormat.format(ResourceBundle.getBundle("messages").getString("input.too.large"),
+				parserProperties.getMaxInputSize()));
+		return record;
+	}
+
+	private String describe(final ParseResult result) {
+		// Loaded only when something fails, it is not worth its startup time otherwise
+		ResourceBundle messages = ResourceBundle.getBundle("messages");
+		ParseError error = result.getError();
+		if (error == null) {
+			return messages.getString("can.not.parse.selected.language");
+		}
+		return MessageFormat.format(messages.getString("parse.failed"), error.getMessage(), error.getLine(),
+				error.getColumn());
+	}
+
+	private void write(final Writer out, final Map<String, Object> record) throws IOException {
+		out.write(jsonWriter.write(record));
+		out.write('\n');
+	}
+
+	private record Output(String text, boolean ok) {
+	}
+
+	/**
+	 * Collects the records of one file and writes them to the shared output a chunk of whole
+	 * records at a time, so that those of files converted in parallel do not interleave mid-line
+	 */
+	private static final class ChunkWriter extends Writer {
+
+		private final Writer out;
+		private final StringBuilder chunk = new StringBuilder(CHUNK_SIZE + 1024);
+
+		ChunkWriter(final Writer out) {
+			this.out = out;
+		}
+
+		@Override
+		public void write(final char[] buffer, final int offset, final int length) throws IOException {
+			chunk.append(buffer, offset, length);
+			flushWholeRecords();
+		}
+
+		@Override
+		public void write(final String text, final int offset, final int length) throws IOException {
+			chunk.append(text, offset, offset + length);
+			flushWholeRecords();
+		}
+
+		@Override
+		public void write(final int c) throws IOException {
+			chunk.append((char) c);
+			flushWholeRecords();
+		}
+
+		private void flushWholeRecords() throws IOException {
+			if (chunk.length() >= CHUNK_SIZE && chunk.charAt(chunk.length() - 1) == '\n') {
+				flush();
+			}
+		}
+
+		@Override
+		public void flush() throws IOException {
+			if (chunk.isEmpty()) {
+				return;
+			}
+			synchronized (out) {
+				out.append(chunk);
+			}
+			chunk.setLength(0);
+		}
+
+		@Override
+		public void close() throws IOException {
+			flush();
+		}
+	}
+
+}
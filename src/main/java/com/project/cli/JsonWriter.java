@@ -0,0 +1,137 @@
+package com.project.cli;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.project.parser.ParseError;
+
+/**
+ * Writes the values the parsers produce (maps, lists, strings, numbers, booleans and null) and
+ * {@link ParseError}s as JSON, in the same form as Jackson's default and default pretty printer.
+ * Loading Jackson would take most of the CLI's startup time.
+ */
+final class JsonWriter {
+
+	private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+	private final boolean pretty;
+
+	JsonWriter(final boolean pretty) {
+		this.pretty = pretty;
+	}
+
+	String write(final Object value) {
+		StringBuilder out = new StringBuilder(128);
+		write(out, value, 0);
+		return out.toString();
+	}
+
+	private void write(final StringBuilder out, final Object value, final int nesting) {
+		if (value == null) {
+			out.append("null");
+		} else if (value instanceof Map<?, ?> map) {
+			writeObject(out, map, nesting);
+		} else if (value instanceof Collection<?> collection) {
+			writeArray(out, collection, nesting);
+		} else if (value instanceof ParseError error) {
+			writeError(out, error, nesting);
+		} else if (value instanceof Boolean) {
+			out.append(value);
+		} else if (value instanceof Double number && !Double.isFinite(number)
+				|| value instanceof Float decimal && !Float.isFinite(decimal)) {
+			// Jackson writes NaN and the infinities as strings
+			writeString(out, value.toString());
+		} else if (value instanceof Number) {
+			out.append(value);
+		} else if (value instanceof Enum<?> constant) {
+			writeString(out, constant.name());
+		} else {
+			writeString(out, value.toString());
+		}
+	}
+
+	private void writeObject(final StringBuilder out, final Map<?, ?> map, final int nesting) {
+		if (map.isEmpty()) {
+			out.append(pretty ? "{ }" : "{}");
+			return;
+		}
+		out.append('{');
+		Iterator<? extends Map.Entry<?, ?>> entries = map.entrySet().iterator();
+		while (entries.hasNext()) {
+			Map.Entry<?, ?> entry = entries.next();
+			indent(out, nesting + 1);
+			writeString(out, String.valueOf(entry.getKey()));
+			out.append(pretty ? " : " : ":");
+			write(out, entry.getValue(), nesting + 1);
+			if (entries.hasNext()) {
+				out.append(',');
+			}
+		}
+		indent(out, nesting);
+		out.append('}');
+	}
+
+	private void writeArray(final StringBuilder out, final Collection<?> collection, final int nesting) {
+		if (collection.isEmpty()) {
+			out.append(pretty ? "[ ]" : "[]");
+			return;
+		}
+		out.append(pretty ? "[ " : "[");
+		Iterator<?> elements = collection.iterator();
+		while (elements.hasNext()) {
+			// Arrays are written on one line, so their elements keep the enclosing indentation
+			write(out, elements.next(), nesting);
+			if (elements.hasNext()) {
+				out.append(pretty ? ", " : ",");
+			}
+		}
+		out.append(pretty ? " ]" : "]");
+	}
+
+	private void writeError(final StringBuilder out, final ParseError error, final int nesting) {
+		Map<String, Object> fields = new LinkedHashMap<>();
+		fields.put("message", error.getMessage());
+		fields.put("line", error.getLine());
+		fields.put("column", error.getColumn());
+		fields.put("offset", error.getOffset());
+		fields.put("snippet", error.getSnippet());
+		fields.put("limit", error.getLimit());
+		writeObject(out, fields, nesting);
+	}
+
+	private void indent(final StringBuilder out, final int nesting) {
+		if (pretty) {
+			out.append('\n');
+			for (int i = 0; i < nesting; i++) {
+				out.append("  ");
+			}
+		}
+	}
+
+	private void writeString(final StringBuilder out, final String value) {
+		out.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char ch = value.charAt(i);
+			switch (ch) {
+			case '"' -> out.append("\\\"");
+			case '\\' -> out.append("\\\\");
+			case '\n' -> out.append("\\n");
+			case '\r' -> out.append("\\r");
+			case '\t' -> out.append("\\t");
+			case '\b' -> out.append("\\b");
+			case '\f' -> out.append("\\f");
+			default -> {
+				if (ch < 0x20) {
+					out.append("\\u00").append(HEX[ch >> 4]).append(HEX[ch & 0xF]);
+				} else {
+					out.append(ch);
+				}
+			}
+			}
+		}
+		out.append('"');
+	}
+
+}
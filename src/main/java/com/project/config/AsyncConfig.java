@@ -3,6 +3,8 @@ package com.project.config;
 import java.util.concurrent.Executor;
 
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -12,14 +14,27 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 @EnableAsync
 public class AsyncConfig implements AsyncConfigurer {
 
+	public static final String ASYNC_EXECUTOR = "asyncExecutor";
+	public static final String SMALL_PARSE_EXECUTOR = "smallParseExecutor";
+	public static final String LARGE_PARSE_EXECUTOR = "largeParseExecutor";
+	public static final String ARCHIVE_INGEST_EXECUTOR = "archiveIngestExecutor";
+
 	@Override
 	public Executor getAsyncExecutor() {
+		return asyncExecutor();
+	}
+
+	/**
+	 * Runs {@code @Async} methods and parse jobs. Declared as a bean so that its pool and queue
+	 * are published as {@code executor.*} metrics.
+	 */
+	@Bean(name = ASYNC_EXECUTOR)
+	public ThreadPoolTaskExecutor asyncExecutor() {
 		final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
 		executor.setCorePoolSize(10);
 		executor.setMaxPoolSize(20);
 		executor.setQueueCapacity(20);
 		executor.setThreadNamePrefix("project-async-thread-");
-		executor.initialize();
 		return executor;
 	}
 
@@ -28,4 +43,50 @@ public class AsyncConfig implements AsyncConfigurer {
 		return new AsyncExceptionHandler();
 	}
 
+	/**
+	 * Fixed pool for parsing small inputs off the request threads, so that request timeouts and
+	 * client aborts can cancel them. The scheduler admits at most one parse per thread; the queue
+	 * only holds a parse submitted before the thread of the last one is back in the pool.
+	 */
+	@Bean(name = SMALL_PARSE_EXECUTOR)
+	public ThreadPoolTaskExecutor smallParseExecutor(final ParserProperties parserProperties) {
+		final ParserProperties.SizeClass small = parserProperties.getBulkhead().getSmall();
+		final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(small.getConcurrency());
+		executor.setMaxPoolSize(small.getConcurrency());
+		executor.setQueueCapacity(small.getConcurrency());
+		executor.setThreadNamePrefix("project-small-parse-");
+		return executor;
+	}
+
+	/**
+	 * Fixed pool for parsing large inputs, kept apart from the one that parses small ones.
+	 * Submissions beyond the queue capacity are rejected.
+	 */
+	@Bean(name = LARGE_PARSE_EXECUTOR)
+	public ThreadPoolTaskExecutor largeParseExecutor(final ParserProperties parserProperties) {
+		final ParserProperties.SizeClass large = parserProperties.getBulkhead().getLarge();
+		final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(large.getConcurrency());
+		executor.setMaxPoolSize(large.getConcurrency());
+		executor.setQueueCapacity(large.getQueueCapacity());
+		executor.setThreadNamePrefix("project-large-parse-");
+		return executor;
+	}
+
+	/**
+	 * Converts the logs of multi-log ingests, one per thread; their number is already bounded by
+	 * {@code parser.ingest.max-concurrent-ingests}, so the queue is not
+	 */
+	@Bean(name = ARCHIVE_INGEST_EXECUTOR)
+	@ConditionalOnProperty(prefix = "parser.ingest", name = "enabled", havingValue = "true")
+	public ThreadPoolTaskExecutor archiveIngestExecutor(final ParserProperties parserProperties) {
+		final int threads = parserProperties.getIngest().getArchiveThreads();
+		final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(threads);
+		executor.setMaxPoolSize(threads);
+		executor.setThreadNamePrefix("project-archive-ingest-");
+		return executor;
+	}
+
 }
@@ -0,0 +1,21 @@
+package com.project.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Adds {@code jsonb_contains(document, json)} to HQL, rendered as the PostgreSQL {@code @>}
+ * operator. Unlike the function of the same name in PostgreSQL, the operator can use a GIN index.
+ * Registered in {@code META-INF/services}.
+ */
+public class JsonbFunctionContributor implements FunctionContributor {
+
+	@Override
+	public void contributeFunctions(final FunctionContributions functionContributions) {
+		functionContributions.getFunctionRegistry().registerPattern("jsonb_contains", "(?1 @> cast(?2 as jsonb))",
+				functionContributions.getTypeConfiguration().getBasicTypeRegistry()
+						.resolve(StandardBasicTypes.BOOLEAN));
+	}
+
+}
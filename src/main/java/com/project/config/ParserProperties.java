@@ -0,0 +1,459 @@
+package com.project.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import com.project.constant.InputLanguage;
+
+import lombok.Data;
+
+/**
+ * Tuning of the DTO parsers, bound from the {@code parser.*} properties. The limits are budgets
+ * per request; crossing one aborts the parse early.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "parser")
+public class ParserProperties {
+
+	/**
+	 * Largest input accepted, counted in characters; larger requests are rejected with 413
+	 */
+	private DataSize maxInputSize = DataSize.ofMegabytes(5);
+
+	/**
+	 * Deepest nesting of objects, lists and maps accepted before parsing is aborted
+	 */
+	private int maxDepth = 1000;
+
+	/**
+	 * Most values (objects, collections, fields and scalars) parsed from one input
+	 */
+	private int maxNodes = 200_000;
+
+	/**
+	 * Longest string literal accepted
+	 */
+	private int maxStringLength = 65_536;
+
+	/**
+	 * Wall-clock time allowed for one request
+	 */
+	private Duration maxParseTime = Duration.ofSeconds(5);
+
+	private Bulkhead bulkhead = new Bulkhead();
+
+	private Admission admission = new Admission();
+
+	private Jobs jobs = new Jobs();
+
+	private Stream stream = new Stream();
+
+	private Tail tail = new Tail();
+
+	private Warmup warmup = new Warmup();
+
+	private History history = new History();
+
+	private Ingest ingest = new Ingest();
+
+	private Store store = new Store();
+
+	private Peers peers = new Peers();
+
+	private Decompression decompression = new Decompression();
+
+	/**
+	 * Size classes that keep large inputs from delaying small ones
+	 */
+	@Data
+	public static class Bulkhead {
+
+		/**
+		 * Inputs of at least this many characters are parsed on the large-input executor
+		 */
+		private DataSize largeInputThreshold = DataSize.ofKilobytes(256);
+
+		/**
+		 * Small inputs are parsed on a pool of this many threads; the queue is of requests waiting
+		 * up to {@code queue-timeout} for one
+		 */
+		private SizeClass small = new SizeClass(32, 64);
+
+		/**
+		 * Large inputs are parsed on a dedicated pool of this many threads
+		 */
+		private SizeClass large = new SizeClass(2, 8);
+
+		/**
+		 * Longest a queued small input waits for a free slot before it is rejected
+		 */
+		private Duration queueTimeout = Duration.ofSeconds(1);
+
+		/**
+		 * Value of the Retry-After header sent with a rejection
+		 */
+		private Duration retryAfter = Duration.ofSeconds(2);
+	}
+
+	/**
+	 * Memory reserved up front for each parse, so that bursts of large inputs wait instead of
+	 * exhausting the heap
+	 */
+	@Data
+	public static class Admission {
+
+		/**
+		 * Share of the maximum heap that parses in flight may reserve together
+		 */
+		private double heapFraction = 0.5;
+
+		/**
+		 * Longest a request waits for memory to be released before it is rejected with 429
+		 */
+		private Duration maxWait = Duration.ofSeconds(2);
+
+		/**
+		 * Estimated heap per input character for each language: the retained result tree measured
+		 * at 6-15 bytes plus the serialized response
+		 */
+		private Map<InputLanguage, Integer> bytesPerChar = new EnumMap<>(Map.of(InputLanguage.JAVA, 16,
+				InputLanguage.KOTLIN, 15, InputLanguage.CSHARP, 15));
+	}
+
+	/**
+	 * Asynchronous parse jobs, which are not tied to an open request and so get larger limits
+	 */
+	@Data
+	public static class Jobs {
+
+		/**
+		 * Reached only by uploads, within {@code spring.servlet.multipart.max-file-size}; JSON bodies
+		 * stop at Jackson's 20M-character string limit first
+		 */
+		private DataSize maxInputSize = DataSize.ofMegabytes(50);
+
+		private Duration maxParseTime = Duration.ofMinutes(10);
+
+		/**
+		 * Jobs kept at once, finished or not; the oldest finished job is dropped to make room
+		 */
+		private int maxStoredJobs = 100;
+
+		/**
+		 * How long a finished job and its result can be fetched
+		 */
+		private Duration resultTtl = Duration.ofMinutes(15);
+	}
+
+	/**
+	 * WebSocket connections that stream log lines in and converted fragments out
+	 */
+	@Data
+	public static class Stream {
+
+		/**
+		 * Connections open at once; further ones are closed right after the handshake
+		 */
+		private int maxSessions = 64;
+
+		/**
+		 * Largest text message accepted from a client; each message holds one or more whole lines
+		 */
+		private DataSize maxMessageSize = DataSize.ofKilobytes(256);
+
+		/**
+		 * Wall-clock time allowed for converting one message
+		 */
+		private Duration maxMessageParseTime = Duration.ofSeconds(2);
+
+		/**
+		 * Longest a send may block on a slow client before the connection is closed
+		 */
+		private Duration sendTimeLimit = Duration.ofSeconds(10);
+
+		/**
+		 * Connections without any message for this long are closed
+		 */
+		private Duration idleTimeout = Duration.ofMinutes(10);
+
+		/**
+		 * DTO class names per connection whose detected language is remembered
+		 */
+		private int shapeCacheSize = 256;
+
+		/**
+		 * Recently converted fragments per connection whose result is reused when they repeat
+		 */
+		private int resultCacheSize = 128;
+
+		/**
+		 * Longer fragments are always parsed rather than cached
+		 */
+		private int maxCachedFragmentLength = 1024;
+	}
+
+	/**
+	 * Follows a local log file like {@code tail -F} and appends its converted fragments as NDJSON
+	 */
+	@Data
+	public static class Tail {
+
+		private boolean enabled;
+
+		private Path file;
+
+		/**
+		 * NDJSON file the results are appended to. Required: standard output carries the
+		 * application's own logging.
+		 */
+		private Path output;
+
+		/**
+		 * File recording how far the log has been converted, so that a restart resumes there;
+		 * defaults to the output file name with {@code .offset} appended
+		 */
+		private Path checkpoint;
+
+		private InputLanguage language = InputLanguage.AUTO;
+
+		/**
+		 * Convert the lines already in the file when there is no checkpoint, instead of only new ones
+		 */
+		private boolean fromBeginning;
+
+		/**
+		 * Longest wait for a file change event before the file is checked anyway
+		 */
+		private Duration pollInterval = Duration.ofSeconds(1);
+
+		private DataSize readBufferSize = DataSize.ofKilobytes(64);
+	}
+
+	/**
+	 * Runs a bundled corpus through every parser at startup, before the readiness probe reports
+	 * the application ready, so that the first requests do not run interpreted code
+	 */
+	@Data
+	public static class Warmup {
+
+		private boolean enabled = true;
+
+		/**
+		 * Longest the warm-up runs, whether or not compilation has settled
+		 */
+		private Duration maxDuration = Duration.ofSeconds(30);
+
+		/**
+		 * Compilation is checked once per interval
+		 */
+		private Duration checkInterval = Duration.ofMillis(500);
+
+		/**
+		 * Compilation has settled once the JIT spends less than this share of an interval compiling
+		 */
+		private double settledCompilationRatio = 0.02;
+	}
+
+	/**
+	 * Parse requests stored in the database, written behind the request in batches
+	 */
+	@Data
+	public static class History {
+
+		private boolean enabled;
+
+		/**
+		 * Requests waiting to be written; further ones are not recorded until the queue drains
+		 */
+		private int queueCapacity = 10_000;
+
+		/**
+		 * Memory the queued requests may take, estimated from their input lengths; a request that
+		 * does not fit is not recorded
+		 */
+		private DataSize queueMaxSize = DataSize.ofMegabytes(32);
+
+		/**
+		 * Rows per insert transaction, matching {@code hibernate.jdbc.batch_size}
+		 */
+		private int batchSize = 50;
+
+		/**
+		 * Longest a request waits in the queue for its batch to fill
+		 */
+		private Duration flushInterval = Duration.ofSeconds(1);
+
+		private int defaultPageSize = 20;
+
+		private int maxPageSize = 100;
+	}
+
+	/**
+	 * Bulk loading of converted log fragments into PostgreSQL with COPY
+	 */
+	@Data
+	public static class Ingest {
+
+		private boolean enabled;
+
+		/**
+		 * Ingests running at once; more are rejected until one finishes
+		 */
+		private int maxConcurrentIngests = 2;
+
+		/**
+		 * Rows sent to the database at a time
+		 */
+		private int batchRows = 5_000;
+
+		/**
+		 * A batch is also sent once it reaches this size
+		 */
+		private DataSize batchSize = DataSize.ofMegabytes(1);
+
+		/**
+		 * Batches waiting for the database; parsing pauses while the queue is full
+		 */
+		private int queueCapacity = 4;
+
+		/**
+		 * Logs of a multi-log ingest converted at the same time, shared by all ingests
+		 */
+		private int archiveThreads = Runtime.getRuntime().availableProcessors();
+	}
+
+	/**
+	 * Results kept on local disk across restarts, keyed by language and a hash of the input
+	 */
+	@Data
+	public static class Store {
+
+		private boolean enabled;
+
+		private Path directory = Path.of("data", "result-store");
+
+		/**
+		 * No more results are stored at this size until compaction has made room
+		 */
+		private DataSize maxSize = DataSize.ofGigabytes(1);
+
+		/**
+		 * Results not looked up for this long are dropped by the next compaction
+		 */
+		private Duration expireAfter = Duration.ofDays(30);
+
+		private Duration compactionInterval = Duration.ofMinutes(10);
+
+		/**
+		 * Shorter inputs parse about as fast as they are looked up, so they are not stored
+		 */
+		private int minInputLength = 64;
+
+		/**
+		 * Larger results are not stored
+		 */
+		private DataSize maxResultSize = DataSize.ofMegabytes(1);
+
+		/**
+		 * Index slots of a new store; the index doubles whenever three quarters of them are used
+		 */
+		private int initialCapacity = 65_536;
+	}
+
+	/**
+	 * Results shared between instances. Each input hash is owned by one instance on a consistent
+	 * hash ring of the peers; the others ask the owner before parsing and send it what they parse.
+	 * Requires the result store.
+	 */
+	@Data
+	public static class Peers {
+
+		private boolean enabled;
+
+		/**
+		 * This instance's entry in {@code urls}
+		 */
+		private String self;
+
+		/**
+		 * Base URLs of every instance, this one included, e.g. {@code http://10.0.0.5:9901/project}
+		 */
+		private List<String> urls = new ArrayList<>();
+
+		/**
+		 * Points per instance on the hash ring; more spread the inputs more evenly
+		 */
+		private int virtualNodes = 128;
+
+		/**
+		 * Shorter inputs parse faster than a peer answers, so they are not shared
+		 */
+		private int minInputLength = 16_384;
+
+		private Duration connectTimeout = Duration.ofMillis(200);
+
+		/**
+		 * Longest a lookup waits for a peer before parsing locally
+		 */
+		private Duration timeout = Duration.ofMillis(500);
+
+		/**
+		 * A peer that failed to answer is not asked again for this long
+		 */
+		private Duration retryAfter = Duration.ofSeconds(10);
+
+		/**
+		 * Shared secret sent to peers in {@code X-Peer-Token}; requests without it are refused.
+		 * Required when the peers are enabled.
+		 */
+		private String token;
+	}
+
+	/**
+	 * Request bodies sent with {@code Content-Encoding: gzip} or {@code deflate}, inflated as they
+	 * are read
+	 */
+	@Data
+	public static class Decompression {
+
+		private boolean enabled = true;
+
+		/**
+		 * Requests that inflate to more than this are rejected with 413, so that a small
+		 * compressed body cannot make the server read an unbounded one
+		 */
+		private DataSize maxInflatedSize = DataSize.ofMegabytes(64);
+	}
+
+	@Data
+	public static class SizeClass {
+
+		/**
+		 * Parses of this class that run at the same time
+		 */
+		private int concurrency;
+
+		/**
+		 * Parses of this class that may wait for a slot; further ones are rejected with 429
+		 */
+		private int queueCapacity;
+
+		public SizeClass() {
+		}
+
+		public SizeClass(final int concurrency, final int queueCapacity) {
+			this.concurrency = concurrency;
+			this.queueCapacity = queueCapacity;
+		}
+	}
+
+}
@@ -0,0 +1,29 @@
+package com.project.config;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import com.project.constant.JobStatus;
+import com.project.dto.LogParseResultDTO;
+import com.project.dto.ParseJobDTO;
+import com.project.parser.ParseError;
+import com.project.parser.ParseLimit;
+
+/**
+ * Hints for a native image. Parser beans, properties and controller signatures are covered by AOT
+ * processing, but responses carry their payload in an untyped map built by
+ * {@code GenericResponseHandlers}, so the types Jackson finds in it are registered here, along with
+ * the message bundle and the warm-up corpus.
+ */
+public class ParserRuntimeHints implements RuntimeHintsRegistrar {
+
+	@Override
+	public void registerHints(final RuntimeHints hints, final ClassLoader classLoader) {
+		new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), ParseError.class,
+				ParseLimit.class, LogParseResultDTO.class, ParseJobDTO.class, JobStatus.class);
+		hints.resources().registerPattern("messages*.properties");
+		hints.resources().registerPattern("warmup-corpus.txt");
+	}
+
+}
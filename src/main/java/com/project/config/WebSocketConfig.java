@@ -0,0 +1,23 @@
+package com.project.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+import com.project.stream.LogStreamHandler;
+
+import lombok.RequiredArgsConstructor;
+
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketConfigurer {
+
+	private final LogStreamHandler logStreamHandler;
+
+	@Override
+	public void registerWebSocketHandlers(final WebSocketHandlerRegistry registry) {
+		registry.addHandler(logStreamHandler, "/parser/logs/stream").setAllowedOrigins("*");
+	}
+}
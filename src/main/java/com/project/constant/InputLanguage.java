@@ -15,7 +15,7 @@ import lombok.Getter;
 @AllArgsConstructor
 public enum InputLanguage {
 
-	JAVA("JAVA"), KOTLIN("KOTLIN");
+	JAVA("JAVA"), KOTLIN("KOTLIN"), CSHARP("CSHARP"), AUTO("AUTO");
 
 	String value;
 
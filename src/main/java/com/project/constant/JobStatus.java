@@ -0,0 +1,14 @@
+package com.project.constant;
+
+/**
+ * Lifecycle of an asynchronous parse job
+ */
+public enum JobStatus {
+
+	QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED;
+
+	public boolean isFinished() {
+		return this != QUEUED && this != RUNNING;
+	}
+
+}
@@ -3,6 +3,8 @@ package com.project.controller;
 import java.util.Locale;
 import java.util.stream.Collectors;
 
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -22,6 +24,9 @@ import org.springframework.web.method.annotation.MethodArgumentTypeMismatchExcep
 
 import com.project.exception.BaseException;
 import com.project.exception.BaseRuntimeException;
+import com.project.exception.InflatedBodyTooLargeException;
+import com.project.exception.ParseFailedException;
+import com.project.exception.TooManyRequestsException;
 import com.project.locale.MessageByLocaleService;
 import com.project.response.handler.GenericResponseHandlers;
 
@@ -49,13 +54,31 @@ public class ErrorHandlingController {
 			final Locale locale) {
 		HttpStatus status = null;
 		String message;
+		Object data = null;
 		StringBuffer requestedURL = request.getRequestURL();
-		if (exception instanceof BaseException baseException) {
+		if (exception instanceof TooManyRequestsException tooManyRequestsException) {
+			// Sent with its real status so that clients and proxies honour Retry-After
+			status = tooManyRequestsException.getStatus();
+			ResponseEntity<Object> response = new GenericResponseHandlers.Builder().setStatus(status)
+					.setMessage(tooManyRequestsException.getMessage()).create();
+			return ResponseEntity.status(status)
+					.header(HttpHeaders.RETRY_AFTER, String.valueOf(tooManyRequestsException.getRetryAfter().toSeconds()))
+					.body(response.getBody());
+		} else if (exception instanceof ParseFailedException parseFailedException) {
+			status = parseFailedException.getStatus();
+			message = parseFailedException.getMessage();
+			data = parseFailedException.getError();
+		} else if (exception instanceof BaseException baseException) {
 			status = baseException.getStatus();
 			message = baseException.getMessage();
 		} else if (exception instanceof BaseRuntimeException baseRuntimeException) {
 			status = baseRuntimeException.getStatus();
 			message = baseRuntimeException.getMessage();
+		} else if (NestedExceptionUtils
+				.getMostSpecificCause(exception) instanceof InflatedBodyTooLargeException inflatedBodyTooLargeException) {
+			// Thrown while the converter or the ingest reads the compressed body
+			status = HttpStatus.PAYLOAD_TOO_LARGE;
+			message = inflatedBodyTooLargeException.getMessage();
 		} else if (exception instanceof MethodArgumentNotValidException methodArgumentNotValidException) {
 			message = methodArgumentNotValidException.getBindingResult().getFieldErrors().stream()
 					.map(FieldError::getDefaultMessage).collect(Collectors.joining(","));
@@ -96,7 +119,7 @@ public class ErrorHandlingController {
 			log.info("Requested URL:{}", requestedURL);
 			log.error("exception : {}", exception);
 		}
-		return new GenericResponseHandlers.Builder().setStatus(status).setMessage(message).create();
+		return new GenericResponseHandlers.Builder().setStatus(status).setMessage(message).setData(data).create();
 	}
 
 }
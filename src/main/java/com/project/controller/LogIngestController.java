@@ -0,0 +1,79 @@
+package com.project.controller;
+
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.project.exception.ValidationException;
+import com.project.locale.MessageByLocaleService;
+import com.project.response.handler.GenericResponseHandlers;
+import com.project.service.LogIngestService;
+import com.project.util.Constant;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Loads the DTOs of a raw log into {@code parsed_log_fragment} for analytics. The body is read as
+ * a stream, so logs of any size can be sent, plain or gzip-compressed, e.g. with
+ * {@code curl --data-binary @app.log.1.gz -H 'Content-Type: text/plain' .../parser/logs/ingest?source=app.log.1.gz}.
+ */
+@RestController
+@RequestMapping(value = "/parser/logs/ingest")
+@ConditionalOnProperty(prefix = "parser.ingest", name = "enabled", havingValue = "true")
+@Slf4j
+@RequiredArgsConstructor
+public class LogIngestController {
+
+	/**
+	 * Locale message service - to display response messages from Property file
+	 */
+	private final MessageByLocaleService messageByLocaleService;
+
+	private final LogIngestService logIngestService;
+
+	@PostMapping(consumes = { MediaType.TEXT_PLAIN_VALUE,
+			MediaType.APPLICATION_OCTET_STREAM_VALUE }, produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<Object> ingest(final InputStream body,
+			@RequestParam(defaultValue = Constant.AUTO) final String language,
+			@RequestParam(required = false) final String source) throws Exception {
+		return new GenericResponseHandlers.Builder().setStatus(HttpStatus.OK)
+				.setMessage(messageByLocaleService.getMessage("detail.message", null))
+				.setData(logIngestService.ingest(body, language.toUpperCase(), source)).create();
+	}
+
+	/**
+	 * Loads several logs at once, e.g. the rotated {@code app.log.1.gz} to {@code app.log.30.gz},
+	 * each converted on a core of its own; every row records the file name and line it came from.
+	 * The uploads are kept compressed until they are read, within the
+	 * {@code spring.servlet.multipart} size limits.
+	 */
+	@PostMapping(value = "/archives", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<Object> ingestArchives(@RequestParam final List<MultipartFile> files,
+			@RequestParam(defaultValue = Constant.AUTO) final String language) throws Exception {
+		Map<String, InputStreamSource> logs = new LinkedHashMap<>();
+		for (MultipartFile file : files) {
+			String name = file.getOriginalFilename() != null ? file.getOriginalFilename() : file.getName();
+			if (logs.putIfAbsent(name, file) != null) {
+				throw new ValidationException(messageByLocaleService.getMessage("ingest.logs.duplicate",
+						new Object[] { name }));
+			}
+		}
+		return new GenericResponseHandlers.Builder().setStatus(HttpStatus.OK)
+				.setMessage(messageByLocaleService.getMessage("detail.message", null))
+				.setData(logIngestService.ingestAll(logs, language.toUpperCase())).create();
+	}
+
+}
@@ -0,0 +1,58 @@
+package com.project.controller;
+
+import java.util.List;
+
+import org.springframework.beans.propertyeditors.CustomCollectionEditor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.InitBinder;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.project.dto.ParseHistorySearchDTO;
+import com.project.locale.MessageByLocaleService;
+import com.project.response.handler.GenericResponseHandlers;
+import com.project.service.ParseHistoryService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Lists and searches recorded parses, newest first. Pages are followed with the
+ * {@code nextCursor} of the previous one rather than a page number.
+ */
+@RestController
+@RequestMapping(value = "/parser/history")
+@ConditionalOnProperty(prefix = "parser.history", name = "enabled", havingValue = "true")
+@Slf4j
+@RequiredArgsConstructor
+public class ParseHistoryController {
+
+	/**
+	 * Locale message service - to display response messages from Property file
+	 */
+	private final MessageByLocaleService messageByLocaleService;
+
+	private final ParseHistoryService parseHistoryService;
+
+	/**
+	 * Keeps each {@code where} parameter whole; by default a single value is split at commas
+	 */
+	@InitBinder
+	public void initBinder(final WebDataBinder binder) {
+		binder.registerCustomEditor(List.class, "where", new CustomCollectionEditor(List.class));
+	}
+
+	@GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<Object> searchHistory(@ModelAttribute final ParseHistorySearchDTO search) throws Exception {
+		return new GenericResponseHandlers.Builder().setStatus(HttpStatus.OK)
+				.setMessage(messageByLocaleService.getMessage("detail.message", null))
+				.setData(parseHistoryService.search(search)).create();
+	}
+
+}
@@ -0,0 +1,98 @@
+package com.project.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.project.dto.RequestDTO;
+import com.project.exception.ValidationException;
+import com.project.locale.MessageByLocaleService;
+import com.project.response.handler.GenericResponseHandlers;
+import com.project.service.ParseJobService;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Asynchronous parsing for inputs too large to convert within one request: submitting returns a
+ * job id at once, and the job is polled until it has finished.
+ */
+@RestController
+@RequestMapping(value = "/parser/jobs")
+@Slf4j
+@RequiredArgsConstructor
+public class ParseJobController {
+
+	/**
+	 * Locale message service - to display response messages from Property file
+	 */
+	private final MessageByLocaleService messageByLocaleService;
+
+	private final ParseJobService parseJobService;
+
+	private final Validator validator;
+
+	@PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<Object> submitJob(@Valid @RequestBody final RequestDTO requestDTO) throws Exception {
+		return accepted(parseJobService.submitJob(requestDTO, false));
+	}
+
+	@PostMapping(value = "/logs", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<Object> submitLogJob(@Valid @RequestBody final RequestDTO requestDTO) throws Exception {
+		return accepted(parseJobService.submitJob(requestDTO, true));
+	}
+
+	/**
+	 * Same as the JSON endpoints for an uploaded file, decoded as UTF-8, and validated like them
+	 */
+	@PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<Object> submitFileJob(@RequestParam final String language,
+			@RequestParam(defaultValue = "false") final boolean logs, @RequestParam final MultipartFile file)
+			throws Exception {
+		RequestDTO requestDTO = new RequestDTO();
+		requestDTO.setLanguage(language);
+		requestDTO.setInputTxt(new String(file.getBytes(), StandardCharsets.UTF_8));
+		Set<ConstraintViolation<RequestDTO>> violations = validator.validate(requestDTO);
+		if (!violations.isEmpty()) {
+			throw new ValidationException(
+					violations.stream().map(ConstraintViolation::getMessage).collect(Collectors.joining(",")));
+		}
+		return accepted(parseJobService.submitJob(requestDTO, logs));
+	}
+
+	@GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<Object> getJob(@PathVariable final String id) throws Exception {
+		return new GenericResponseHandlers.Builder().setStatus(HttpStatus.OK)
+				.setMessage(messageByLocaleService.getMessage("detail.message", null))
+				.setData(parseJobService.getJob(id)).create();
+	}
+
+	@DeleteMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<Object> cancelJob(@PathVariable final String id) throws Exception {
+		return new GenericResponseHandlers.Builder().setStatus(HttpStatus.OK)
+				.setMessage(messageByLocaleService.getMessage("job.cancel.requested", null))
+				.setData(parseJobService.cancelJob(id)).create();
+	}
+
+	private ResponseEntity<Object> accepted(final Object job) {
+		return new GenericResponseHandlers.Builder().setStatus(HttpStatus.ACCEPTED)
+				.setMessage(messageByLocaleService.getMessage("job.submitted", null)).setData(job).create();
+	}
+
+}
@@ -1,18 +1,35 @@
 package com.project.controller;
 
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import com.project.config.ParserProperties;
 import com.project.dto.RequestDTO;
+import com.project.exception.RequestTimeoutException;
 import com.project.locale.MessageByLocaleService;
+import com.project.parser.ParseBudget;
 import com.project.response.handler.GenericResponseHandlers;
+import com.project.scheduling.AdmissionController;
+import com.project.scheduling.ParseScheduler;
+import com.project.service.ParseHistoryService;
 import com.project.service.ParserService;
+import com.project.util.CommonUtility;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,6 +40,12 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class ParserController {
 
+	/**
+	 * Part of every ETag; raised whenever the JSON converted from the same input changes, so that
+	 * clients do not keep revalidating stale results
+	 */
+	private static final String ETAG_VERSION = "1";
+
 	/**
 	 * Locale message service - to display response messages from Property file
 	 */
@@ -30,11 +53,125 @@ public class ParserController {
 	
 	private final ParserService parserService;
 
+	private final ParserProperties parserProperties;
+
+	private final ParseScheduler parseScheduler;
+
+	private final AdmissionController admissionController;
+
+	/**
+	 * Present when {@code parser.history.enabled} is set
+	 */
+	private final ObjectProvider<ParseHistoryService> parseHistoryService;
+
+	private final MeterRegistry meterRegistry;
+
+	/**
+	 * Converts the input, answering 304 without parsing when {@code If-None-Match} holds the ETag
+	 * of an earlier conversion of the same input. Only successful conversions get an ETag.
+	 */
 	@PostMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-	public ResponseEntity<Object> getJson(@Valid @RequestBody final RequestDTO requestDTO) throws Exception {
-		Object response = parserService.parseService(requestDTO);
-		return new GenericResponseHandlers.Builder().setStatus(HttpStatus.OK)
-				.setMessage(messageByLocaleService.getMessage("detail.message", null)).setData(response).create();
+	public WebAsyncTask<ResponseEntity<Object>> getJson(@Valid @RequestBody final RequestDTO requestDTO,
+			@RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) final List<String> ifNoneMatch,
+			final HttpServletResponse servletResponse) {
+		String eTag = eTag(requestDTO);
+		if (ifNoneMatch != null && matches(ifNoneMatch, eTag)) {
+			meterRegistry.counter("parser.responses.not.modified").increment();
+			servletResponse.setStatus(HttpStatus.NOT_MODIFIED.value());
+			servletResponse.setHeader(HttpHeaders.ETAG, eTag);
+			// The response is complete; a null task is not dispatched
+			return null;
+		}
+
+		ParseBudget budget = new ParseBudget(parserProperties);
+		return schedule(requestDTO, budget, () -> {
+			Object response = recordHistory(requestDTO, false, () -> parserService.parseService(requestDTO, budget));
+			ResponseEntity<Object> ok = new GenericResponseHandlers.Builder().setStatus(HttpStatus.OK)
+					.setMessage(messageByLocaleService.getMessage("detail.message", null)).setData(response).create();
+			return ResponseEntity.status(ok.getStatusCode()).eTag(eTag).body(ok.getBody());
+		});
+	}
+
+	/**
+	 * Converts every DTO fragment found in raw application log lines
+	 */
+	@PostMapping(value = "/logs", produces = MediaType.APPLICATION_JSON_VALUE)
+	public WebAsyncTask<ResponseEntity<Object>> getLogJson(@Valid @RequestBody final RequestDTO requestDTO) {
+		ParseBudget budget = new ParseBudget(parserProperties);
+		return schedule(requestDTO, budget, () -> {
+			Object response = recordHistory(requestDTO, true, () -> parserService.parseLogService(requestDTO, budget));
+			return new GenericResponseHandlers.Builder().setStatus(HttpStatus.OK)
+					.setMessage(messageByLocaleService.getMessage("detail.message", null)).setData(response).create();
+		});
+	}
+
+	/**
+	 * Reserves memory for the parse and runs it as an async request on the executor of the
+	 * input's size class. When the servlet async timeout expires, or the container reports an
+	 * error such as the client disconnecting, the budget is cancelled so that the parse stops at
+	 * its next check instead of running to completion for nobody.
+	 */
+	private WebAsyncTask<ResponseEntity<Object>> schedule(final RequestDTO requestDTO, final ParseBudget budget,
+			final Callable<ResponseEntity<Object>> parse) {
+		AdmissionController.Reservation reservation = admissionController.admit(requestDTO);
+		WebAsyncTask<ResponseEntity<Object>> task = new WebAsyncTask<>(null,
+				parseScheduler.executorFor(requestDTO.getInputTxt()), parse);
+		task.onTimeout(() -> {
+			budget.cancel();
+			throw new RequestTimeoutException(messageByLocaleService.getMessage("request.timeout", null));
+		});
+		// Also runs after errors, client aborts and bulkhead rejections; cancelling a finished parse is a no-op
+		task.onCompletion(() -> {
+			budget.cancel();
+			reservation.close();
+		});
+		return task;
+	}
+
+	/**
+	 * ETag of the conversion: the response depends only on the input, its language and the locale
+	 * of the message. It is weak because Tomcat does not gzip responses with a strong one, whose
+	 * bytes would change. The log endpoint reports timings, so its responses get none.
+	 */
+	private String eTag(final RequestDTO requestDTO) {
+		String variant = ETAG_VERSION + '\n' + requestDTO.getLanguage() + '\n'
+				+ LocaleContextHolder.getLocale().toLanguageTag() + '\n';
+		return "W/\"" + CommonUtility.sha256Hex(variant + requestDTO.getInputTxt()).substring(0, 32) + '"';
+	}
+
+	/**
+	 * Compares the {@code If-None-Match} entity tags weakly, as RFC 9110 requires for it
+	 */
+	private boolean matches(final List<String> ifNoneMatch, final String eTag) {
+		String opaqueTag = opaqueTag(eTag);
+		for (String tag : ifNoneMatch) {
+			if (opaqueTag(tag.trim()).equals(opaqueTag)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static String opaqueTag(final String tag) {
+		return tag.startsWith("W/") ? tag.substring(2) : tag;
+	}
+
+	private Object recordHistory(final RequestDTO requestDTO, final boolean logs, final Callable<Object> parse)
+			throws Exception {
+		long startNanos = System.nanoTime();
+		Object result = null;
+		boolean success = false;
+		try {
+			result = parse.call();
+			success = true;
+			return result;
+		} finally {
+			long parseNanos = System.nanoTime() - startNanos;
+			ParseHistoryService history = parseHistoryService.getIfAvailable();
+			if (history != null) {
+				history.record(requestDTO, logs, success, result, parseNanos);
+			}
+		}
 	}
 
 }
@@ -0,0 +1,58 @@
+package com.project.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.project.constant.InputLanguage;
+import com.project.peer.PeerResultCache;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Lookups and results exchanged between instances sharing their results. Unlike the public API,
+ * it answers with plain HTTP statuses: the stored JSON or 404, and 204 for an accepted result.
+ * Both directions require the peers' token, answering 403 without it.
+ */
+@RestController
+@RequestMapping(value = "/internal/results/{language}/{hash:[0-9a-f]{64}}")
+@ConditionalOnProperty(prefix = "parser.peers", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class PeerResultController {
+
+	private final PeerResultCache peerResultCache;
+
+	@GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<byte[]> get(@PathVariable final String language, @PathVariable final String hash,
+			@RequestHeader(name = PeerResultCache.TOKEN_HEADER, required = false) final String token) {
+		InputLanguage inputLanguage = InputLanguage.getByValue(language);
+		if (!peerResultCache.isAuthorized(token)) {
+			return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+		}
+		byte[] json = inputLanguage != null ? peerResultCache.serve(inputLanguage, hash) : null;
+		return json != null ? ResponseEntity.ok(json) : ResponseEntity.notFound().build();
+	}
+
+	@PutMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<Void> put(@PathVariable final String language, @PathVariable final String hash,
+			@RequestHeader(name = PeerResultCache.TOKEN_HEADER, required = false) final String token,
+			@RequestBody final byte[] json) {
+		InputLanguage inputLanguage = InputLanguage.getByValue(language);
+		if (!peerResultCache.isAuthorized(token)) {
+			return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+		}
+		if (inputLanguage == null || !peerResultCache.accept(inputLanguage, hash, json)) {
+			return ResponseEntity.badRequest().build();
+		}
+		return ResponseEntity.noContent().build();
+	}
+
+}
@@ -0,0 +1,37 @@
+package com.project.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Data;
+
+@Data
+public class LogIngestResultDTO {
+
+	/**
+	 * Value of {@code parsed_log_fragment.ingest_id} for the loaded rows
+	 */
+	private String ingestId;
+	private Long totalLines;
+	private Long rows;
+	/**
+	 * Fragments, or whole lines when a line hit a parse limit, that could not be converted and
+	 * were left out
+	 */
+	private Long failed;
+	private Integer batches;
+	private Long elapsedMillis;
+	private Long rowsPerSecond;
+	/**
+	 * Time parsing was paused waiting for the database to take batches, added up over the logs
+	 * converted in parallel
+	 */
+	private Long backpressureMillis;
+	/**
+	 * Each log of a multi-log ingest, in the order they were sent
+	 */
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private List<LogIngestSourceDTO> sources;
+
+}
@@ -0,0 +1,17 @@
+package com.project.dto;
+
+import lombok.Data;
+
+/**
+ * What one of the logs of an ingest contributed; its rows carry its name as
+ * {@code parsed_log_fragment.source}
+ */
+@Data
+public class LogIngestSourceDTO {
+
+	private String source;
+	private Long totalLines;
+	private Long rows;
+	private Long failed;
+
+}
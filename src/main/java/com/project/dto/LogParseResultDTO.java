@@ -0,0 +1,20 @@
+package com.project.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.Data;
+
+@Data
+public class LogParseResultDTO {
+
+	private Integer totalLines;
+	private Integer fragmentCount;
+	private Long elapsedMillis;
+	/**
+	 * Lines per second of CPU time on the request thread, i.e. per core
+	 */
+	private Long linesPerSecond;
+	private List<Map<String, Object>> results;
+
+}
@@ -0,0 +1,33 @@
+package com.project.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParseHistoryDTO {
+
+	private Long id;
+	private String inputHash;
+	private Integer inputLength;
+	private String language;
+	private Boolean logs;
+	private Boolean success;
+	/**
+	 * Stored JSON, written as is; only selected when requested
+	 */
+	@JsonRawValue
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private String result;
+	private LocalDateTime requestedAt;
+	private Long parseMicros;
+	private LocalDateTime createdAt;
+
+}
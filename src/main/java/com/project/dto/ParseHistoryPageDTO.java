@@ -0,0 +1,25 @@
+package com.project.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Data;
+
+@Data
+public class ParseHistoryPageDTO {
+
+	private List<ParseHistoryDTO> items;
+
+	/**
+	 * Cursor of the following page, null on the last one
+	 */
+	private String nextCursor;
+
+	/**
+	 * Only counted when requested
+	 */
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private Long totalCount;
+
+}
@@ -0,0 +1,56 @@
+package com.project.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import lombok.Data;
+
+/**
+ * Filters of a history search, bound from query parameters; unset filters match everything
+ */
+@Data
+public class ParseHistorySearchDTO {
+
+	private String language;
+	private Boolean logs;
+	private Boolean success;
+	private String inputHash;
+
+	/**
+	 * Field predicates on the converted result, all of which must hold, as {@code path=value}, e.g.
+	 * {@code status=FAILED} or {@code customer.id=42}. A value that reads as JSON is compared as
+	 * such, so {@code 42} matches the number and {@code "42"} the string. {@code []} after a path
+	 * segment matches any element of that array, e.g. {@code items[].sku=A}. Fields are matched in
+	 * a result itself, in the DTOs of a log result and in the elements of a list result.
+	 */
+	private List<String> where;
+
+	/**
+	 * Created at or after
+	 */
+	@DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+	private LocalDateTime from;
+
+	/**
+	 * Created before
+	 */
+	@DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+	private LocalDateTime to;
+
+	/**
+	 * {@code nextCursor} of the previous page; the first page when unset
+	 */
+	private String cursor;
+
+	private Integer limit;
+
+	/**
+	 * Count every match, which costs a scan of all of them
+	 */
+	private boolean includeTotal;
+
+	private boolean includeResult;
+
+}
@@ -0,0 +1,27 @@
+package com.project.dto;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.project.constant.JobStatus;
+
+import lombok.Data;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ParseJobDTO {
+
+	private String id;
+	private JobStatus status;
+	/**
+	 * Percentage of lines processed; only known for log jobs until the job has finished
+	 */
+	private Integer progress;
+	private Instant submittedAt;
+	private Instant startedAt;
+	private Instant finishedAt;
+	private Object result;
+	private String message;
+	private Object error;
+
+}
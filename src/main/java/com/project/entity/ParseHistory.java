@@ -0,0 +1,72 @@
+package com.project.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * One parse request and its result. The input itself is not kept, only its hash.
+ */
+@Entity
+@Table(name = "parse_history")
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class ParseHistory extends CommonModel {
+
+	private static final long serialVersionUID = -2815044381532297715L;
+
+	/**
+	 * Rows are inserted in JDBC batches, which an identity column would prevent; the allocation
+	 * size matches the sequence increment
+	 */
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "parse_history_seq")
+	@SequenceGenerator(name = "parse_history_seq", sequenceName = "parse_history_seq", allocationSize = 50)
+	private Long id;
+
+	/**
+	 * Hex SHA-256 of the input text
+	 */
+	@Column(name = "input_hash", nullable = false, length = 64)
+	private String inputHash;
+
+	@Column(name = "input_length", nullable = false)
+	private Integer inputLength;
+
+	@Column(name = "language", nullable = false, length = 16)
+	private String language;
+
+	/**
+	 * Whether the input was a raw log, as for /parser/logs
+	 */
+	@Column(name = "logs", nullable = false)
+	private Boolean logs;
+
+	@Column(name = "success", nullable = false)
+	private Boolean success;
+
+	/**
+	 * Converted JSON, null when the parse failed
+	 */
+	@JdbcTypeCode(SqlTypes.JSON)
+	@Column(name = "result", columnDefinition = "jsonb")
+	private String result;
+
+	@Column(name = "requested_at", nullable = false)
+	private LocalDateTime requestedAt;
+
+	@Column(name = "parse_micros", nullable = false)
+	private Long parseMicros;
+
+}
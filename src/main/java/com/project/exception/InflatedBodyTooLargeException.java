@@ -0,0 +1,24 @@
+package com.project.exception;
+
+import java.io.IOException;
+
+/**
+ * Compressed request body, or a compressed log sent to an ingest, inflated beyond
+ * {@code parser.decompression.max-inflated-size}. Thrown while the body is read, so it reaches the
+ * error handler wrapped by whatever was reading it.
+ */
+public class InflatedBodyTooLargeException extends IOException {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = -2305784310785216339L;
+
+	/**
+	 * @param message
+	 */
+	public InflatedBodyTooLargeException(final String message) {
+		super(message);
+	}
+
+}
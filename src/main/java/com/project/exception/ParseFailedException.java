@@ -0,0 +1,44 @@
+package com.project.exception;
+
+import org.springframework.http.HttpStatus;
+
+import com.project.parser.ParseError;
+
+/**
+ * Input was recognised by the selected parser but is malformed; carries the position of the
+ * first error. Thrown for every bad request, so like {@code ParseException} it has no stack trace.
+ */
+public class ParseFailedException extends BaseException {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = -1406271879036152263L;
+	private static final HttpStatus status = HttpStatus.BAD_REQUEST;
+
+	private final transient ParseError error;
+
+	/**
+	 * @param message
+	 * @param error
+	 */
+	public ParseFailedException(final String message, final ParseError error) {
+		super(status, message);
+		this.error = error;
+	}
+
+	protected ParseFailedException(final HttpStatus status, final String message, final ParseError error) {
+		super(status, message);
+		this.error = error;
+	}
+
+	public ParseError getError() {
+		return error;
+	}
+
+	@Override
+	public synchronized Throwable fillInStackTrace() {
+		return this;
+	}
+
+}
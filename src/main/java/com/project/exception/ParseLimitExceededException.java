@@ -0,0 +1,27 @@
+package com.project.exception;
+
+import org.springframework.http.HttpStatus;
+
+import com.project.parser.ParseError;
+
+/**
+ * Parsing was aborted because the input crossed one of the per-request budgets; the error names
+ * the limit and where it was hit.
+ */
+public class ParseLimitExceededException extends ParseFailedException {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = 2780913559371480356L;
+	private static final HttpStatus status = HttpStatus.UNPROCESSABLE_ENTITY;
+
+	/**
+	 * @param message
+	 * @param error
+	 */
+	public ParseLimitExceededException(final String message, final ParseError error) {
+		super(status, message, error);
+	}
+
+}
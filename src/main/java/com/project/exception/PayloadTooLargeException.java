@@ -0,0 +1,23 @@
+package com.project.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Request input is larger than the configured limit and was not parsed.
+ */
+public class PayloadTooLargeException extends BaseException {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = 4306197615423958120L;
+	private static final HttpStatus status = HttpStatus.PAYLOAD_TOO_LARGE;
+
+	/**
+	 * @param message
+	 */
+	public PayloadTooLargeException(final String message) {
+		super(status, message);
+	}
+
+}
@@ -0,0 +1,23 @@
+package com.project.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Request did not complete within the servlet async timeout; the parse behind it is cancelled.
+ */
+public class RequestTimeoutException extends BaseException {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = -5012869542215302786L;
+	private static final HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+
+	/**
+	 * @param message
+	 */
+	public RequestTimeoutException(final String message) {
+		super(status, message);
+	}
+
+}
@@ -0,0 +1,34 @@
+package com.project.exception;
+
+import java.time.Duration;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * A size class has no free slot and no room in its queue. Unchecked because it is raised from the
+ * task executor that would have run the parse.
+ */
+public class TooManyRequestsException extends BaseRuntimeException {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = 8390256418316453216L;
+	private static final HttpStatus status = HttpStatus.TOO_MANY_REQUESTS;
+
+	private final Duration retryAfter;
+
+	/**
+	 * @param message
+	 * @param retryAfter
+	 */
+	public TooManyRequestsException(final String message, final Duration retryAfter) {
+		super(status, message);
+		this.retryAfter = retryAfter;
+	}
+
+	public Duration getRetryAfter() {
+		return retryAfter;
+	}
+
+}
@@ -0,0 +1,102 @@
+package com.project.filter;
+
+import java.io.IOException;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Lets {@code server.compression.min-response-size} apply to JSON responses. The message converters
+ * flush once the body is written, which commits the response without a length, and Tomcat then
+ * compresses it whatever its size. Ignoring those flushes leaves a response that fits the buffer
+ * uncommitted until it is closed, when it gets its length; larger ones are still streamed.
+ * <p>
+ * No endpoint streams its body over HTTP, so no response relies on the flushes.
+ */
+@Component
+@ConditionalOnProperty(prefix = "server.compression", name = "enabled", havingValue = "true")
+public class CompressionThresholdFilter extends OncePerRequestFilter {
+
+	@Override
+	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+			final FilterChain filterChain) throws ServletException, IOException {
+		String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+		if (acceptEncoding == null || !acceptEncoding.contains("gzip")) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+		filterChain.doFilter(request, new UnflushedResponse(response));
+	}
+
+	private static final class UnflushedResponse extends HttpServletResponseWrapper {
+
+		private ServletOutputStream outputStream;
+
+		UnflushedResponse(final HttpServletResponse response) {
+			super(response);
+		}
+
+		@Override
+		public ServletOutputStream getOutputStream() throws IOException {
+			if (outputStream == null) {
+				outputStream = new UnflushedOutputStream(super.getOutputStream());
+			}
+			return outputStream;
+		}
+
+		@Override
+		public void flushBuffer() {
+			// Committed when the container closes the response
+		}
+	}
+
+	private static final class UnflushedOutputStream extends ServletOutputStream {
+
+		private final ServletOutputStream out;
+
+		UnflushedOutputStream(final ServletOutputStream out) {
+			this.out = out;
+		}
+
+		@Override
+		public void write(final int b) throws IOException {
+			out.write(b);
+		}
+
+		@Override
+		public void write(final byte[] buffer, final int offset, final int length) throws IOException {
+			out.write(buffer, offset, length);
+		}
+
+		@Override
+		public void flush() {
+			// Committed when the container closes the response
+		}
+
+		@Override
+		public void close() throws IOException {
+			out.close();
+		}
+
+		@Override
+		public boolean isReady() {
+			return out.isReady();
+		}
+
+		@Override
+		public void setWriteListener(final WriteListener writeListener) {
+			out.setWriteListener(writeListener);
+		}
+	}
+
+}
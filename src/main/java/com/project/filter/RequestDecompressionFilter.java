@@ -0,0 +1,235 @@
+package com.project.filter;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.config.ParserProperties;
+import com.project.exception.InflatedBodyTooLargeException;
+import com.project.locale.MessageByLocaleService;
+import com.project.response.handler.GenericResponseHandlers;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Inflates request bodies sent with {@code Content-Encoding: gzip} or {@code deflate} as the
+ * handler reads them, so a compressed log dump is parsed without ever being held inflated. The
+ * handlers see an uncompressed body of unknown length. Other codings are refused with a real 415
+ * naming the accepted ones, so that clients can resend the body as they should.
+ */
+@Component
+@ConditionalOnProperty(prefix = "parser.decompression", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class RequestDecompressionFilter extends OncePerRequestFilter {
+
+	private static final String SUPPORTED_CODINGS = "gzip, deflate";
+	private static final int INFLATE_BUFFER_SIZE = 8192;
+
+	private final ParserProperties parserProperties;
+	private final MessageByLocaleService messageByLocaleService;
+	private final ObjectMapper objectMapper;
+
+	@Override
+	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+			final FilterChain filterChain) throws ServletException, IOException {
+		String coding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+		if (coding == null || coding.isBlank() || coding.trim().equalsIgnoreCase("identity")) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+
+		coding = coding.trim().toLowerCase(Locale.ROOT);
+		if (!coding.equals("gzip") && !coding.equals("x-gzip") && !coding.equals("deflate")) {
+			// RFC 9110: refused with 415, naming the codings that are accepted
+			HttpStatus status = HttpStatus.UNSUPPORTED_MEDIA_TYPE;
+			response.setStatus(status.value());
+			response.setHeader(HttpHeaders.ACCEPT_ENCODING, SUPPORTED_CODINGS);
+			response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+			objectMapper.writeValue(response.getOutputStream(),
+					new GenericResponseHandlers.Builder().setStatus(status)
+							.setMessage(messageByLocaleService.getMessage("content.encoding.unsupported",
+									new Object[] { coding, SUPPORTED_CODINGS }))
+							.create().getBody());
+			return;
+		}
+		filterChain.doFilter(new InflatingRequest(request, coding), response);
+	}
+
+	/**
+	 * The request with its body inflated and its encoding and length headers removed
+	 */
+	private class InflatingRequest extends HttpServletRequestWrapper {
+
+		private final String coding;
+		private ServletInputStream inputStream;
+
+		InflatingRequest(final HttpServletRequest request, final String coding) {
+			super(request);
+			this.coding = coding;
+		}
+
+		@Override
+		public ServletInputStream getInputStream() throws IOException {
+			if (inputStream == null) {
+				InputStream compressed = super.getInputStream();
+				InputStream inflated = coding.equals("deflate")
+						? new InflaterInputStream(compressed, new Inflater(), INFLATE_BUFFER_SIZE)
+						: new GZIPInputStream(compressed, INFLATE_BUFFER_SIZE);
+				inputStream = new InflatedInputStream(
+						new LimitedInputStream(inflated, parserProperties.getDecompression().getMaxInflatedSize().toBytes()));
+			}
+			return inputStream;
+		}
+
+		@Override
+		public BufferedReader getReader() throws IOException {
+			String encoding = getCharacterEncoding();
+			Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+			return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+		}
+
+		@Override
+		public int getContentLength() {
+			return -1;
+		}
+
+		@Override
+		public long getContentLengthLong() {
+			return -1;
+		}
+
+		@Override
+		public String getHeader(final String name) {
+			return isRemoved(name) ? null : super.getHeader(name);
+		}
+
+		@Override
+		public Enumeration<String> getHeaders(final String name) {
+			return isRemoved(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+		}
+
+		@Override
+		public Enumeration<String> getHeaderNames() {
+			return Collections.enumeration(
+					Collections.list(super.getHeaderNames()).stream().filter(name -> !isRemoved(name)).toList());
+		}
+
+		private boolean isRemoved(final String name) {
+			return HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name)
+					|| HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name);
+		}
+	}
+
+	/**
+	 * Fails the read that takes the body beyond the limit
+	 */
+	private class LimitedInputStream extends FilterInputStream {
+
+		private final long limit;
+		private long count;
+
+		LimitedInputStream(final InputStream in, final long limit) {
+			super(in);
+			this.limit = limit;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b >= 0) {
+				count(1);
+			}
+			return b;
+		}
+
+		@Override
+		public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+			int read = super.read(buffer, offset, length);
+			if (read > 0) {
+				count(read);
+			}
+			return read;
+		}
+
+		private void count(final int read) throws InflatedBodyTooLargeException {
+			count += read;
+			if (count > limit) {
+				throw new InflatedBodyTooLargeException(messageByLocaleService.getMessage("request.inflated.too.large",
+						new Object[] { parserProperties.getDecompression().getMaxInflatedSize() }));
+			}
+		}
+	}
+
+	/**
+	 * Blocking servlet stream over the inflated body
+	 */
+	private static final class InflatedInputStream extends ServletInputStream {
+
+		private final InputStream in;
+		private boolean finished;
+
+		InflatedInputStream(final InputStream in) {
+			this.in = in;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = in.read();
+			finished = b < 0;
+			return b;
+		}
+
+		@Override
+		public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+			int read = in.read(buffer, offset, length);
+			finished = read < 0;
+			return read;
+		}
+
+		@Override
+		public boolean isFinished() {
+			return finished;
+		}
+
+		@Override
+		public boolean isReady() {
+			return true;
+		}
+
+		@Override
+		public void setReadListener(final ReadListener readListener) {
+			throw new UnsupportedOperationException("Inflated request bodies are read blocking");
+		}
+
+		@Override
+		public void close() throws IOException {
+			in.close();
+		}
+	}
+
+}
@@ -0,0 +1,208 @@
+package com.project.history;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.config.ParserProperties;
+import com.project.entity.ParseHistory;
+import com.project.repository.ParseHistoryRepository;
+import com.project.util.CommonUtility;
+import com.project.util.Constant;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes parse history behind the requests: entries are queued by the request threads and
+ * inserted by a single thread, one transaction per batch, so that Hibernate sends them as JDBC
+ * batches. A batch is written once it is full or its first entry has waited
+ * {@code parser.history.flush-interval}. When the queue is full, entries are dropped rather than
+ * holding up requests.
+ * <p>
+ * The queue holds the inputs and result trees until the writer thread hashes and serializes them,
+ * so that recording adds nothing to the request, and is bounded by an estimate of their memory
+ * as well as by its length.
+ */
+@Component
+@ConditionalOnProperty(prefix = "parser.history", name = "enabled", havingValue = "true")
+@Slf4j
+public class ParseHistoryWriter implements SmartLifecycle {
+
+	private static final long STOP_TIMEOUT_MILLIS = 10_000;
+
+	private final ParserProperties.History history;
+	private final ParseHistoryRepository parseHistoryRepository;
+	private final ObjectMapper objectMapper;
+	private final BlockingQueue<Entry> queue;
+	private final AtomicLong queuedBytes = new AtomicLong();
+	private final Counter written;
+	private final Counter dropped;
+	private final Counter failed;
+
+	private volatile boolean running;
+	private Thread thread;
+
+	public ParseHistoryWriter(final ParserProperties parserProperties,
+			final ParseHistoryRepository parseHistoryRepository, final ObjectMapper objectMapper,
+			final MeterRegistry meterRegistry) {
+		this.history = parserProperties.getHistory();
+		this.parseHistoryRepository = parseHistoryRepository;
+		this.objectMapper = objectMapper;
+		this.queue = new ArrayBlockingQueue<>(history.getQueueCapacity());
+		this.written = meterRegistry.counter("parser.history.written");
+		this.dropped = meterRegistry.counter("parser.history.dropped");
+		this.failed = meterRegistry.counter("parser.history.failed");
+		Gauge.builder("parser.history.queued", queue, BlockingQueue::size).register(meterRegistry);
+		Gauge.builder("parser.history.queued.bytes", queuedBytes, AtomicLong::get)
+				.description("Estimated memory held by the queued entries").register(meterRegistry);
+	}
+
+	/**
+	 * Queues the request without blocking
+	 *
+	 * @param result the converted value, ignored unless the request succeeded
+	 */
+	public void offer(final String input, final String language, final boolean logs, final boolean success,
+			final Object result, final long parseNanos, final LocalDateTime requestedAt) {
+		Entry entry = new Entry(input, language, logs, success, success ? result : null, parseNanos, requestedAt);
+		long size = entry.size();
+		if (queuedBytes.addAndGet(size) > history.getQueueMaxSize().toBytes() || !queue.offer(entry)) {
+			queuedBytes.addAndGet(-size);
+			dropped.increment();
+		}
+	}
+
+	@Override
+	public void start() {
+		running = true;
+		thread = new Thread(this::run, "project-history-writer");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	@Override
+	public void stop() {
+		// The loop writes what is still queued before it exits
+		running = false;
+		try {
+			thread.join(STOP_TIMEOUT_MILLIS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		thread = null;
+	}
+
+	@Override
+	public boolean isRunning() {
+		return thread != null;
+	}
+
+	/**
+	 * Starts before and stops after the web server, so that no request is recorded while the
+	 * writer is not running
+	 */
+	@Override
+	public int getPhase() {
+		return SmartLifecycle.DEFAULT_PHASE - 4096;
+	}
+
+	private void run() {
+		long flushIntervalNanos = history.getFlushInterval().toNanos();
+		List<Entry> batch = new ArrayList<>(history.getBatchSize());
+		while (running || !queue.isEmpty()) {
+			try {
+				Entry first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				long deadline = System.nanoTime() + flushIntervalNanos;
+				while (batch.size() < history.getBatchSize()) {
+					if (queue.drainTo(batch, history.getBatchSize() - batch.size()) == 0) {
+						long remaining = deadline - System.nanoTime();
+						Entry next = remaining > 0 && running ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+						if (next == null) {
+							break;
+						}
+						batch.add(next);
+					}
+				}
+				write(batch);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} finally {
+				for (Entry entry : batch) {
+					queuedBytes.addAndGet(-entry.size());
+				}
+				batch.clear();
+			}
+		}
+	}
+
+	private void write(final List<Entry> batch) {
+		try {
+			List<ParseHistory> rows = new ArrayList<>(batch.size());
+			for (Entry entry : batch) {
+				rows.add(toEntity(entry));
+			}
+			// saveAll runs in one transaction, flushed as a single JDBC batch
+			parseHistoryRepository.saveAll(rows);
+			written.increment(rows.size());
+		} catch (Exception e) {
+			failed.increment(batch.size());
+			log.warn("Could not write {} parse history entries", batch.size(), e);
+		}
+	}
+
+	private ParseHistory toEntity(final Entry entry) throws JsonProcessingException {
+		ParseHistory row = new ParseHistory();
+		row.setInputHash(CommonUtility.sha256Hex(entry.input()));
+		row.setInputLength(entry.input().length());
+		row.setLanguage(entry.language());
+		row.setLogs(entry.logs());
+		row.setSuccess(entry.success());
+		row.setResult(entry.success() ? objectMapper.writeValueAsString(entry.result()) : null);
+		row.setRequestedAt(entry.requestedAt());
+		row.setParseMicros(TimeUnit.NANOSECONDS.toMicros(entry.parseNanos()));
+		row.setActive(true);
+		row.setCreatedBy(Constant.SYSTEM_USER_ID);
+		row.setUpdatedBy(Constant.SYSTEM_USER_ID);
+		return row;
+	}
+
+	/**
+	 * A request as queued, before it is hashed and serialized
+	 */
+	private record Entry(String input, String language, boolean logs, boolean success, Object result,
+			long parseNanos, LocalDateTime requestedAt) {
+
+		private static final int OVERHEAD_BYTES = 256;
+		/**
+		 * Converted values take several times the memory of their text: a map entry, a key and a
+		 * boxed or string value for every few characters
+		 */
+		private static final int RESULT_BYTES_PER_CHAR = 16;
+
+		/**
+		 * Rough heap size, from the length of the input: two bytes per char, plus its result
+		 */
+		long size() {
+			return OVERHEAD_BYTES + (long) input.length() * (success ? 2 + RESULT_BYTES_PER_CHAR : 2);
+		}
+	}
+
+}
@@ -0,0 +1,108 @@
+package com.project.ingest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads lines like {@link java.io.BufferedReader#readLine()}, ended by {@code \n}, {@code \r} or
+ * {@code \r\n}, but never holds more than the limit of one line: a longer line is read through to
+ * its end and reported as too long, so that input without line breaks cannot take the heap.
+ * <p>
+ * Free of Spring and logging, so that the command line converter can use it too.
+ */
+public final class BoundedLineReader implements Closeable {
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final Reader in;
+	private final int maxLineLength;
+	private final char[] buffer = new char[BUFFER_SIZE];
+	private final StringBuilder line = new StringBuilder();
+	private int position;
+	private int limit;
+	private boolean skipLineFeed;
+	private boolean tooLong;
+
+	public BoundedLineReader(final Reader in, final int maxLineLength) {
+		this.in = in;
+		this.maxLineLength = maxLineLength;
+	}
+
+	/**
+	 * Moves to the next line
+	 *
+	 * @return false at the end of the input
+	 */
+	public boolean next() throws IOException {
+		line.setLength(0);
+		tooLong = false;
+		boolean started = false;
+		while (true) {
+			if (position == limit && !fill()) {
+				return started;
+			}
+			if (skipLineFeed) {
+				// The \n of a \r\n that was split across reads
+				skipLineFeed = false;
+				if (buffer[position] == '\n') {
+					position++;
+					continue;
+				}
+			}
+			started = true;
+			int start = position;
+			while (position < limit && buffer[position] != '\n' && buffer[position] != '\r') {
+				position++;
+			}
+			append(start, position);
+			if (position < limit) {
+				skipLineFeed = buffer[position++] == '\r';
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * The current line without its line break, or null if it is longer than the limit
+	 */
+	public String line() {
+		return tooLong ? null : line.toString();
+	}
+
+	/**
+	 * Whether the next line can be read without waiting for the underlying reader
+	 */
+	public boolean ready() throws IOException {
+		return position < limit || in.ready();
+	}
+
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+
+	private void append(final int from, final int to) {
+		if (tooLong) {
+			return;
+		}
+		if (line.length() + to - from > maxLineLength) {
+			tooLong = true;
+			line.setLength(0);
+			line.trimToSize();
+			return;
+		}
+		line.append(buffer, from, to - from);
+	}
+
+	private boolean fill() throws IOException {
+		int read = in.read(buffer, 0, buffer.length);
+		if (read <= 0) {
+			return false;
+		}
+		position = 0;
+		limit = read;
+		return true;
+	}
+
+}
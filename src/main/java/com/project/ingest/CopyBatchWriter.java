@@ -0,0 +1,143 @@
+package com.project.ingest;
+
+import java.sql.Connection;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams batches of {@link CopyRowBuffer} rows into a single {@code COPY ... FROM STDIN} on a
+ * connection of its own, so that the rows of an ingest are committed all together or not at all.
+ * Batches are handed over through a bounded queue: while the database is the bottleneck the
+ * queue fills up and {@link #send(byte[])} makes the producer wait. Several producers may send
+ * at once.
+ */
+@Slf4j
+public class CopyBatchWriter implements Runnable {
+
+	/**
+	 * Ends the COPY and commits it
+	 */
+	private static final byte[] END = new byte[0];
+
+	/**
+	 * Cancels the COPY, so nothing of the ingest is kept
+	 */
+	private static final byte[] CANCEL = new byte[0];
+
+	private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+	private final DataSource dataSource;
+	private final String copySql;
+	private final BlockingQueue<byte[]> batches;
+
+	private volatile boolean finished;
+	private volatile Exception failure;
+	@Getter
+	private long rowsCopied;
+	private final LongAdder waitNanos = new LongAdder();
+	private final AtomicInteger batchCount = new AtomicInteger();
+
+	public CopyBatchWriter(final DataSource dataSource, final String copySql, final BlockingQueue<byte[]> batches) {
+		this.dataSource = dataSource;
+		this.copySql = copySql;
+		this.batches = batches;
+	}
+
+	/**
+	 * Queues a batch, waiting while the queue is full
+	 *
+	 * @throws Exception the writer's failure, if it has stopped
+	 */
+	public void send(final byte[] batch) throws Exception {
+		batchCount.incrementAndGet();
+		offer(batch);
+	}
+
+	/**
+	 * Marks the end of the rows; the COPY is committed once the queue has drained
+	 */
+	public void end() throws Exception {
+		offer(END);
+	}
+
+	/**
+	 * Discards everything sent so far
+	 */
+	public void cancel() {
+		try {
+			offer(CANCEL);
+		} catch (Exception e) {
+			// Already stopped, so there is nothing to cancel
+		}
+	}
+
+	private void offer(final byte[] batch) throws Exception {
+		long start = System.nanoTime();
+		do {
+			if (finished) {
+				throw failure != null ? failure : new IllegalStateException("COPY writer has stopped");
+			}
+		} while (!batches.offer(batch, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+		waitNanos.add(System.nanoTime() - start);
+	}
+
+	@Override
+	public void run() {
+		try (Connection connection = dataSource.getConnection()) {
+			CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(copySql);
+			try {
+				byte[] batch;
+				while ((batch = batches.take()) != END) {
+					if (batch == CANCEL) {
+						log.info("COPY cancelled");
+						return;
+					}
+					copyIn.writeToCopy(batch, 0, batch.length);
+				}
+				rowsCopied = copyIn.endCopy();
+			} finally {
+				if (copyIn.isActive()) {
+					copyIn.cancelCopy();
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			failure = e;
+		} catch (Exception e) {
+			failure = e;
+		} finally {
+			finished = true;
+			// Unblocks a producer waiting for room
+			batches.clear();
+		}
+	}
+
+	/**
+	 * Time the producers waited for room in the queue, added up
+	 */
+	public long getWaitNanos() {
+		return waitNanos.sum();
+	}
+
+	public int getBatchCount() {
+		return batchCount.get();
+	}
+
+	/**
+	 * Failure of the COPY, or null
+	 */
+	public Exception getFailure() {
+		return failure;
+	}
+
+}
@@ -0,0 +1,74 @@
+package com.project.ingest;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Rows of converted log fragments in the text format of {@code COPY ... FROM STDIN}: one line
+ * per row, columns separated by tabs, with backslash escapes.
+ */
+public class CopyRowBuffer {
+
+	private static final String NULL = "\\N";
+
+	private final String ingestId;
+	private final String source;
+	private final StringBuilder rows = new StringBuilder(1 << 16);
+	private int rowCount;
+
+	public CopyRowBuffer(final String ingestId, final String source) {
+		this.ingestId = ingestId;
+		this.source = source == null ? NULL : escape(source);
+	}
+
+	/**
+	 * @param json converted fragment as JSON
+	 */
+	public void add(final int line, final int column, final String json) {
+		rows.append(ingestId).append('\t').append(source).append('\t').append(line).append('\t').append(column)
+				.append('\t');
+		appendEscaped(rows, json);
+		rows.append('\n');
+		rowCount++;
+	}
+
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	/**
+	 * Length in chars, which is close to the size in bytes for mostly ASCII logs
+	 */
+	public int length() {
+		return rows.length();
+	}
+
+	/**
+	 * Encodes the rows and empties the buffer
+	 */
+	public byte[] drain() {
+		byte[] bytes = rows.toString().getBytes(StandardCharsets.UTF_8);
+		rows.setLength(0);
+		rowCount = 0;
+		return bytes;
+	}
+
+	private static String escape(final String value) {
+		StringBuilder escaped = new StringBuilder(value.length());
+		appendEscaped(escaped, value);
+		return escaped.toString();
+	}
+
+	private static void appendEscaped(final StringBuilder out, final String value) {
+		for (int i = 0; i < value.length(); i++) {
+			char ch = value.charAt(i);
+			switch (ch) {
+			case '\\' -> out.append("\\\\");
+			case '\t' -> out.append("\\t");
+			case '\n' -> out.append("\\n");
+			case '\r' -> out.append("\\r");
+			default -> out.append(ch);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,119 @@
+package com.project.ingest;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads logs the way they are rotated: plain, or gzip-compressed like {@code app.log.1.gz}. A
+ * compressed log is recognised by its magic bytes rather than its name, and inflated as it is
+ * read, a buffer at a time, so an archive is never held or written out decompressed. An archive
+ * that inflates beyond the given limit fails the read with {@link InflatedSizeExceededException}.
+ * <p>
+ * Free of Spring and logging, so that the command line converter can use it too.
+ */
+public final class LogArchive {
+
+	private static final int BUFFER_SIZE = 1 << 16;
+	private static final int GZIP_MAGIC_1 = 0x1f;
+	private static final int GZIP_MAGIC_2 = 0x8b;
+
+	private LogArchive() {
+	}
+
+	/**
+	 * UTF-8 lines of the log, inflated if it is gzip-compressed. Archives of several gzip members,
+	 * e.g. written by appending to a compressed log, are read through to the last one.
+	 *
+	 * @param maxLineLength characters beyond which a line is skipped as too long
+	 */
+	public static BoundedLineReader lines(final InputStream input, final int maxLineLength) throws IOException {
+		return lines(input, maxLineLength, Long.MAX_VALUE);
+	}
+
+	/**
+	 * UTF-8 lines of the log, as {@link #lines(InputStream, int)}
+	 *
+	 * @param maxInflatedSize bytes a compressed log may inflate to
+	 */
+	public static BoundedLineReader lines(final InputStream input, final int maxLineLength,
+			final long maxInflatedSize) throws IOException {
+		return new BoundedLineReader(
+				new InputStreamReader(decompressed(input, maxInflatedSize), StandardCharsets.UTF_8), maxLineLength);
+	}
+
+	/**
+	 * The log's bytes, inflated as they are read if it is gzip-compressed
+	 */
+	public static InputStream decompressed(final InputStream input) throws IOException {
+		return decompressed(input, Long.MAX_VALUE);
+	}
+
+	private static InputStream decompressed(final InputStream input, final long maxInflatedSize) throws IOException {
+		BufferedInputStream buffered = new BufferedInputStream(input, BUFFER_SIZE);
+		buffered.mark(2);
+		boolean gzip = buffered.read() == GZIP_MAGIC_1 && buffered.read() == GZIP_MAGIC_2;
+		buffered.reset();
+		if (!gzip) {
+			return buffered;
+		}
+		GZIPInputStream inflated = new GZIPInputStream(buffered, BUFFER_SIZE);
+		return maxInflatedSize == Long.MAX_VALUE ? inflated : new LimitedInputStream(inflated, maxInflatedSize);
+	}
+
+	/**
+	 * A compressed log inflated beyond its limit
+	 */
+	public static final class InflatedSizeExceededException extends IOException {
+
+		private static final long serialVersionUID = 4728519336001879213L;
+
+		InflatedSizeExceededException(final long limit) {
+			super("inflates beyond " + limit + " bytes");
+		}
+	}
+
+	/**
+	 * Fails the read that takes the inflated log beyond the limit
+	 */
+	private static final class LimitedInputStream extends FilterInputStream {
+
+		private final long limit;
+		private long count;
+
+		LimitedInputStream(final InputStream in, final long limit) {
+			super(in);
+			this.limit = limit;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b >= 0) {
+				count(1);
+			}
+			return b;
+		}
+
+		@Override
+		public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+			int read = super.read(buffer, offset, length);
+			if (read > 0) {
+				count(read);
+			}
+			return read;
+		}
+
+		private void count(final int read) throws InflatedSizeExceededException {
+			count += read;
+			if (count > limit) {
+				throw new InflatedSizeExceededException(limit);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,103 @@
+package com.project.job;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import com.project.constant.JobStatus;
+import com.project.parser.ParseBudget;
+import com.project.scheduling.AdmissionController;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * State of one asynchronous parse. Written by the executor thread that runs it and read by the
+ * requests polling it, hence the volatile fields.
+ * <p>
+ * A succeeded job keeps the heap reserved for its parse while it holds the result, until
+ * {@link ParseJobStore} drops it.
+ */
+@Getter
+public class ParseJob {
+
+	private final String id = UUID.randomUUID().toString();
+	private final Instant submittedAt = Instant.now();
+	/**
+	 * Lines in the input, for reporting the progress of log jobs
+	 */
+	private final int totalLines;
+	private final ParseBudget budget;
+
+	private volatile JobStatus status = JobStatus.QUEUED;
+	private volatile int processedLines;
+	private volatile Instant startedAt;
+	private volatile Instant finishedAt;
+	private volatile Object result;
+	private volatile String message;
+	private volatile Object error;
+	@Getter(AccessLevel.NONE)
+	private volatile AdmissionController.Reservation reservation;
+
+	public ParseJob(final int totalLines, final ParseBudget budget,
+			final AdmissionController.Reservation reservation) {
+		this.totalLines = totalLines;
+		this.budget = budget;
+		this.reservation = reservation;
+	}
+
+	/**
+	 * Marks the job running; its parse time is counted from now, not from when it was queued
+	 */
+	public void start() {
+		startedAt = Instant.now();
+		budget.startClock();
+		status = JobStatus.RUNNING;
+	}
+
+	public void setProcessedLines(final int processedLines) {
+		this.processedLines = processedLines;
+	}
+
+	public void succeed(final Object result) {
+		this.result = result;
+		finish(JobStatus.SUCCEEDED);
+	}
+
+	public void fail(final String message, final Object error) {
+		this.message = message;
+		this.error = error;
+		// No result is kept, so neither is its memory
+		release();
+		finish(budget.isCancelled() ? JobStatus.CANCELLED : JobStatus.FAILED);
+	}
+
+	/**
+	 * Returns the memory reserved for the job to the admission budget
+	 */
+	public void release() {
+		AdmissionController.Reservation held = reservation;
+		if (held != null) {
+			reservation = null;
+			held.close();
+		}
+	}
+
+	/**
+	 * Stops the parse at its next check; the job then finishes as cancelled.
+	 */
+	public void cancel() {
+		budget.cancel();
+	}
+
+	private void finish(final JobStatus finalStatus) {
+		finishedAt = Instant.now();
+		status = finalStatus;
+	}
+
+	public boolean isExpired(final Instant now, final Duration ttl) {
+		Instant finished = finishedAt;
+		return status.isFinished() && finished != null && finished.plus(ttl).isBefore(now);
+	}
+
+}
@@ -0,0 +1,88 @@
+package com.project.job;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.stereotype.Component;
+
+import com.project.config.ParserProperties;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Bounded in-memory store of parse jobs. Finished jobs are dropped once their result TTL has
+ * passed, and when the store is full the oldest finished job makes room for a new one. Expired
+ * jobs are purged lazily on every access, so no background task is needed. A dropped job
+ * releases the memory reserved for its result.
+ */
+@Component
+public class ParseJobStore {
+
+	private final ParserProperties.Jobs properties;
+	/**
+	 * In submission order, so the oldest jobs are found first; guarded by {@code this}
+	 */
+	private final Map<String, ParseJob> jobs = new LinkedHashMap<>();
+
+	public ParseJobStore(final ParserProperties parserProperties, final MeterRegistry meterRegistry) {
+		this.properties = parserProperties.getJobs();
+		Gauge.builder("parser.jobs.stored", this, ParseJobStore::size).register(meterRegistry);
+	}
+
+	/**
+	 * Adds the job, returning false when the store is full of unfinished jobs.
+	 */
+	public synchronized boolean add(final ParseJob job) {
+		purgeExpired();
+		if (jobs.size() >= properties.getMaxStoredJobs() && !evictOldestFinished()) {
+			return false;
+		}
+		jobs.put(job.getId(), job);
+		return true;
+	}
+
+	public synchronized Optional<ParseJob> get(final String id) {
+		purgeExpired();
+		return Optional.ofNullable(jobs.get(id));
+	}
+
+	public synchronized void remove(final String id) {
+		ParseJob job = jobs.remove(id);
+		if (job != null) {
+			job.release();
+		}
+	}
+
+	public synchronized int size() {
+		return jobs.size();
+	}
+
+	private void purgeExpired() {
+		Instant now = Instant.now();
+		jobs.values().removeIf(job -> {
+			if (!job.isExpired(now, properties.getResultTtl())) {
+				return false;
+			}
+			job.release();
+			return true;
+		});
+	}
+
+	private boolean evictOldestFinished() {
+		Iterator<ParseJob> iterator = jobs.values().iterator();
+		while (iterator.hasNext()) {
+			ParseJob job = iterator.next();
+			if (job.getStatus().isFinished()) {
+				iterator.remove();
+				job.release();
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
@@ -10,6 +10,7 @@ import java.util.regex.Pattern;
 
 import org.springframework.stereotype.Service;
 
+import com.project.config.ParserProperties;
 import com.project.util.Constant;
 
 import lombok.RequiredArgsConstructor;
@@ -18,9 +19,12 @@ import lombok.RequiredArgsConstructor;
 @Service(value = Constant.CSHARP)
 public class CSharpDTOParser implements LogParser {
     
+    // Frame kinds pushed on the parse stack
+    private static final int ELEMENT = 0;
+    private static final int PROPERTY = 1;
+    private static final int DICTIONARY_ENTRY = 2;
+    
     // Enhanced regex patterns for C# type detection
-    private static final Pattern CLASS_PATTERN = Pattern.compile("^[a-zA-Z_][a-zA-Z0-9_]*\\s*\\{.*\\}$");
-    private static final Pattern ANONYMOUS_PATTERN = Pattern.compile("^\\{.*\\}$");
     private static final Pattern STRING_PATTERN = Pattern.compile("^\".*\"$");
     private static final Pattern CHAR_PATTERN = Pattern.compile("^'.'$");
     private static final Pattern VERBATIM_STRING_PATTERN = Pattern.compile("^@\".*\"$");
@@ -33,6 +37,8 @@ public class CSharpDTOParser implements LogParser {
     private static final Pattern HEX_PATTERN = Pattern.compile("^0[xX][0-9a-fA-F]+$");
     private static final Pattern ENUM_PATTERN = Pattern.compile("^[A-Z][a-zA-Z0-9_]*\\.[A-Z_][A-Z0-9_]*$");
     private static final Pattern DATETIME_PATTERN = Pattern.compile("^\\d{1,2}/\\d{1,2}/\\d{4}\\s+\\d{1,2}:\\d{2}:\\d{2}");
+    
+    private final ParserProperties parserProperties;
 
     @Override
     public boolean supports(String input) {
@@ -40,10 +46,46 @@ public class CSharpDTOParser implements LogParser {
             return false;
         }
         
-        String trimmed = input.trim();
-        // Enhanced pattern matching for C# objects
-        return CLASS_PATTERN.matcher(trimmed).matches() ||
-               ANONYMOUS_PATTERN.matcher(trimmed).matches() ||
+        return isSupportedRoot(input.trim());
+    }
+
+    @Override
+    public Object parseToJson(String input) throws Exception {
+        if (input == null || input.trim().isEmpty()) {
+            throw new IllegalArgumentException("Input cannot be null or empty");
+        }
+        
+        try {
+            return parseRoot(input, 0, new ParseBudget(parserProperties));
+        } catch (ParseException e) {
+            throw new Exception("Failed to parse C# DTO: " + e.getMessage() + " at offset " + e.getOffset());
+        }
+    }
+
+    @Override
+    public ParseResult parse(String input) {
+        return parse(input, new ParseBudget(parserProperties));
+    }
+
+    @Override
+    public ParseResult parse(String input, ParseBudget budget) {
+        Segment root = Segment.of(input == null ? "" : input, 0);
+        if (!isSupportedRoot(root.text)) {
+            return ParseResult.unsupported();
+        }
+        
+        try {
+            return ParseResult.success(parseRoot(root.text, root.offset, budget));
+        } catch (ParseException e) {
+            return ParseResult.failure(ParseError.of(input, e.getOffset(), e.getMessage(), e.getLimit()));
+        }
+    }
+
+    /**
+     * Top-level shapes accepted for C#: class and anonymous objects, initializers and arrays.
+     */
+    private boolean isSupportedRoot(String trimmed) {
+        return isClassObject(trimmed) ||
                trimmed.startsWith("new ") ||
                trimmed.startsWith("new[") ||
                trimmed.startsWith("List<") ||
@@ -53,25 +95,58 @@ public class CSharpDTOParser implements LogParser {
                trimmed.startsWith("[") && trimmed.endsWith("]");
     }
 
-    @Override
-    public Object parseToJson(String input) throws Exception {
-        if (input == null || input.trim().isEmpty()) {
-            throw new IllegalArgumentException("Input cannot be null or empty");
+    /**
+     * Structural check for {@code Name { ... }}; only the name and the last character are
+     * inspected so nested values are not rescanned at every level.
+     */
+    private boolean isClassObject(String value) {
+        if (value.isEmpty() || !(Character.isLetter(value.charAt(0)) || value.charAt(0) == '_')) {
+            return false;
         }
-        
+        int i = 1;
+        while (i < value.length() && (Character.isLetterOrDigit(value.charAt(i)) || value.charAt(i) == '_')) {
+            i++;
+        }
+        while (i < value.length() && Character.isWhitespace(value.charAt(i))) {
+            i++;
+        }
+        return i < value.length() && value.charAt(i) == '{' && value.endsWith("}");
+    }
+
+    private boolean isAnonymousObject(String value) {
+        return value.startsWith("{") && value.endsWith("}");
+    }
+
+    /**
+     * Parses the root value, then drains the frames its containers pushed for their children.
+     */
+    @SuppressWarnings("unchecked")
+    private Object parseRoot(String value, int offset, ParseBudget budget) throws ParseException {
+        ParseStack stack = ParseStack.acquire(budget);
         try {
-            return parseValue(input.trim());
-        } catch (Exception e) {
-            throw new Exception("Failed to parse C# DTO: " + e.getMessage(), e);
+            Object root = parseValue(value, offset, 0, stack);
+            while (!stack.isEmpty()) {
+                stack.pop();
+                switch (stack.kind()) {
+                case PROPERTY -> parseCSharpProperty(stack);
+                case DICTIONARY_ENTRY -> parseCSharpDictionaryEntry(stack);
+                default -> ((List<Object>) stack.target()).add(parseValue(stack.text(), stack.offset(), stack.depth(), stack));
+                }
+            }
+            return root;
+        } finally {
+            stack.release();
         }
     }
 
-    private Object parseValue(String value) throws Exception {
+    private Object parseValue(String value, int offset, int depth, ParseStack stack) throws ParseException {
         if (value == null || value.trim().isEmpty()) {
             return null;
         }
         
+        offset += Segment.leadingWhitespace(value);
         value = value.trim();
+        stack.budget().node(offset);
         
         // Handle null
         if (NULL_PATTERN.matcher(value).matches()) {
@@ -85,11 +160,13 @@ public class CSharpDTOParser implements LogParser {
         
         // Handle verbatim strings (@"...")
         if (VERBATIM_STRING_PATTERN.matcher(value).matches()) {
+            stack.budget().string(value.length() - 3, offset);
             return value.substring(2, value.length() - 1).replace("\"\"", "\"");
         }
         
         // Handle interpolated strings ($"...")
         if (INTERPOLATED_STRING_PATTERN.matcher(value).matches()) {
+            stack.budget().string(value.length() - 3, offset);
             Map<String, Object> result = new LinkedHashMap<>();
             result.put("__type", "interpolated_string");
             result.put("value", value.substring(2, value.length() - 1));
@@ -98,6 +175,7 @@ public class CSharpDTOParser implements LogParser {
         
         // Handle regular strings (quoted)
         if (STRING_PATTERN.matcher(value).matches()) {
+            stack.budget().string(value.length() - 2, offset);
             return unescapeCSharpString(value.substring(1, value.length() - 1));
         }
         
@@ -124,7 +202,7 @@ public class CSharpDTOParser implements LogParser {
         
         // Handle hexadecimal numbers
         if (HEX_PATTERN.matcher(value).matches()) {
-            return Long.parseLong(value.substring(2), 16);
+            return parseCSharpHexNumber(value.substring(2), offset);
         }
         
         // Handle decimal numbers
@@ -134,42 +212,42 @@ public class CSharpDTOParser implements LogParser {
         
         // Handle integer numbers
         if (INTEGER_PATTERN.matcher(value).matches()) {
-            return parseCSharpIntegerNumber(value);
+            return parseCSharpIntegerNumber(value, offset);
         }
         
         // Handle C# object instantiation (new ClassName { ... })
         if (value.startsWith("new ") && value.contains("{") && value.endsWith("}")) {
-            return parseCSharpObjectInitializer(value);
+            return parseCSharpObjectInitializer(value, offset, depth, stack);
         }
         
         // Handle C# List initialization (new List<T> { ... })
         if (value.startsWith("new List<") && value.endsWith("}")) {
-            return parseCSharpListInitializer(value);
+            return parseCSharpListInitializer(value, offset, depth, stack);
         }
         
         // Handle C# Dictionary initialization
         if (value.startsWith("new Dictionary<") && value.endsWith("}")) {
-            return parseCSharpDictionaryInitializer(value);
+            return parseCSharpDictionaryInitializer(value, offset, depth, stack);
         }
         
         // Handle C# Array initialization
         if (value.startsWith("new ") && value.contains("[") && value.endsWith("]")) {
-            return parseCSharpArrayInitializer(value);
+            return parseCSharpArrayInitializer(value, offset, depth, stack);
         }
         
         // Handle anonymous objects { prop = value }
-        if (ANONYMOUS_PATTERN.matcher(value).matches()) {
-            return parseCSharpAnonymousObject(value);
+        if (isAnonymousObject(value)) {
+            return parseCSharpAnonymousObject(value, offset, depth, stack);
         }
         
         // Handle regular arrays/lists
         if (value.startsWith("[") && value.endsWith("]")) {
-            return parseCSharpArray(value.substring(1, value.length() - 1));
+            return parseCSharpArray(value.substring(1, value.length() - 1), offset + 1, depth, stack);
         }
         
         // Handle C# class objects (ClassName { ... })
-        if (CLASS_PATTERN.matcher(value).matches()) {
-            return parseCSharpClassObject(value);
+        if (isClassObject(value)) {
+            return parseCSharpClassObject(value, offset, depth, stack);
         }
         
         // Handle enums (Enum.Value)
@@ -191,13 +269,13 @@ public class CSharpDTOParser implements LogParser {
         return value;
     }
     
-    private Map<String, Object> parseCSharpObjectInitializer(String input) throws Exception {
+    private Map<String, Object> parseCSharpObjectInitializer(String input, int offset, int depth, ParseStack stack) throws ParseException {
         // Parse "new ClassName { prop1 = value1, prop2 = value2 }"
         int newIndex = input.indexOf("new ");
         int braceIndex = input.indexOf("{");
         
         if (newIndex == -1 || braceIndex == -1) {
-            throw new Exception("Invalid C# object initializer format: " + input);
+            throw new ParseException("Invalid C# object initializer format", offset);
         }
         
         String className = input.substring(4, braceIndex).trim();
@@ -208,13 +286,13 @@ public class CSharpDTOParser implements LogParser {
         result.put("__type", "object_initializer");
         
         if (!content.trim().isEmpty()) {
-            parseCSharpProperties(content, result);
+            parseCSharpProperties(content, offset + braceIndex + 1, depth, stack, result);
         }
         
         return result;
     }
     
-    private Map<String, Object> parseCSharpListInitializer(String input) throws Exception {
+    private Map<String, Object> parseCSharpListInitializer(String input, int offset, int depth, ParseStack stack) throws ParseException {
         // Parse "new List<T> { item1, item2, item3 }"
         int braceIndex = input.indexOf("{");
         String typeInfo = input.substring(4, braceIndex).trim(); // Remove "new "
@@ -223,12 +301,12 @@ public class CSharpDTOParser implements LogParser {
         Map<String, Object> result = new LinkedHashMap<>();
         result.put("__type", "List");
         result.put("generic_type", typeInfo);
-        result.put("items", parseCSharpArray(content));
+        result.put("items", parseCSharpArray(content, offset + braceIndex + 1, depth, stack));
         
         return result;
     }
     
-    private Map<String, Object> parseCSharpDictionaryInitializer(String input) throws Exception {
+    private Map<String, Object> parseCSharpDictionaryInitializer(String input, int offset, int depth, ParseStack stack) throws ParseException {
         // Parse "new Dictionary<K,V> { {key1, value1}, {key2, value2} }"
         int braceIndex = input.indexOf("{");
         String typeInfo = input.substring(4, braceIndex).trim(); // Remove "new "
@@ -237,12 +315,12 @@ public class CSharpDTOParser implements LogParser {
         Map<String, Object> result = new LinkedHashMap<>();
         result.put("__type", "Dictionary");
         result.put("generic_type", typeInfo);
-        result.put("entries", parseCSharpDictionary(content));
+        result.put("entries", parseCSharpDictionary(content, offset + braceIndex + 1, depth, stack));
         
         return result;
     }
     
-    private Map<String, Object> parseCSharpArrayInitializer(String input) throws Exception {
+    private Map<String, Object> parseCSharpArrayInitializer(String input, int offset, int depth, ParseStack stack) throws ParseException {
         // Parse "new int[] { 1, 2, 3 }" or "new[] { 1, 2, 3 }"
         int braceStart = input.indexOf("{");
         int braceEnd = input.lastIndexOf("}");
@@ -261,12 +339,12 @@ public class CSharpDTOParser implements LogParser {
         Map<String, Object> result = new LinkedHashMap<>();
         result.put("__type", "Array");
         result.put("array_type", typeInfo);
-        result.put("items", parseCSharpArray(content));
+        result.put("items", parseCSharpArray(content, offset + braceStart + 1, depth, stack));
         
         return result;
     }
     
-    private Map<String, Object> parseCSharpAnonymousObject(String input) throws Exception {
+    private Map<String, Object> parseCSharpAnonymousObject(String input, int offset, int depth, ParseStack stack) throws ParseException {
         // Parse "{ prop1 = value1, prop2 = value2 }"
         String content = input.substring(1, input.length() - 1);
         
@@ -274,13 +352,13 @@ public class CSharpDTOParser implements LogParser {
         result.put("__type", "anonymous");
         
         if (!content.trim().isEmpty()) {
-            parseCSharpProperties(content, result);
+            parseCSharpProperties(content, offset + 1, depth, stack, result);
         }
         
         return result;
     }
     
-    private Map<String, Object> parseCSharpClassObject(String input) throws Exception {
+    private Map<String, Object> parseCSharpClassObject(String input, int offset, int depth, ParseStack stack) throws ParseException {
         // Parse "ClassName { prop1 = value1, prop2 = value2 }"
         int braceIndex = input.indexOf("{");
         String className = input.substring(0, braceIndex).trim();
@@ -291,34 +369,37 @@ public class CSharpDTOParser implements LogParser {
         result.put("__type", "class");
         
         if (!content.trim().isEmpty()) {
-            parseCSharpProperties(content, result);
+            parseCSharpProperties(content, offset + braceIndex + 1, depth, stack, result);
         }
         
         return result;
     }
     
-    private void parseCSharpProperties(String content, Map<String, Object> result) throws Exception {
-        List<String> properties = splitTopLevelCommaSeparated(content);
+    private void parseCSharpProperties(String content, int offset, int depth, ParseStack stack, Map<String, Object> result) throws ParseException {
+        List<Segment> properties = splitTopLevelCommaSeparated(content, offset, stack.budget());
+        stack.pushAll(PROPERTY, properties, depth + 1, result);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void parseCSharpProperty(ParseStack stack) throws ParseException {
+        String property = stack.text();
+        int eqIdx = property.indexOf('=');
+        if (eqIdx == -1) {
+            throw new ParseException("Invalid C# property format", stack.offset());
+        }
         
-        for (String property : properties) {
-            String[] kv = property.split("=", 2);
-            if (kv.length != 2) {
-                throw new Exception("Invalid C# property format: " + property);
-            }
-            
-            String key = kv[0].trim();
-            String value = kv[1].trim();
-            
-            if (key.isEmpty()) {
-                throw new Exception("Empty property name in: " + property);
-            }
-            
-            result.put(key, parseValue(value));
+        String key = property.substring(0, eqIdx).trim();
+        
+        if (key.isEmpty()) {
+            throw new ParseException("Empty property name", stack.offset());
         }
+        
+        Map<String, Object> result = (Map<String, Object>) stack.target();
+        result.put(key, parseValue(property.substring(eqIdx + 1), stack.offset() + eqIdx + 1, stack.depth(), stack));
     }
 
-    private List<String> splitTopLevelCommaSeparated(String input) {
-        List<String> result = new ArrayList<>();
+    private List<Segment> splitTopLevelCommaSeparated(String input, int offset, ParseBudget budget) throws ParseException {
+        List<Segment> result = new ArrayList<>();
         if (input == null || input.trim().isEmpty()) {
             return result;
         }
@@ -331,6 +412,7 @@ public class CSharpDTOParser implements LogParser {
         
         for (int i = 0; i < input.length(); i++) {
             char ch = input.charAt(i);
+            budget.scanned(i, offset + i);
             
             // Handle verbatim strings (@"...")
             if (ch == '@' && i < input.length() - 1 && input.charAt(i + 1) == '"' && !inQuotes) {
@@ -376,8 +458,8 @@ public class CSharpDTOParser implements LogParser {
             } else if (ch == ')' || ch == ']' || ch == '}') {
                 level--;
             } else if (ch == ',' && level == 0) {
-                String segment = input.substring(start, i).trim();
-                if (!segment.isEmpty()) {
+                Segment segment = Segment.of(input.substring(start, i), offset + start);
+                if (!segment.text.isEmpty()) {
                     result.add(segment);
                 }
                 start = i + 1;
@@ -385,30 +467,28 @@ public class CSharpDTOParser implements LogParser {
         }
         
         // Add the last segment
-        String lastSegment = input.substring(start).trim();
-        if (!lastSegment.isEmpty()) {
+        Segment lastSegment = Segment.of(input.substring(start), offset + start);
+        if (!lastSegment.text.isEmpty()) {
             result.add(lastSegment);
         }
         
         return result;
     }
 
-    private List<Object> parseCSharpArray(String value) throws Exception {
+    private List<Object> parseCSharpArray(String value, int offset, int depth, ParseStack stack) throws ParseException {
         List<Object> result = new ArrayList<>();
         
         if (value.trim().isEmpty()) {
             return result;
         }
         
-        List<String> elements = splitTopLevelCommaSeparated(value);
-        for (String element : elements) {
-            result.add(parseValue(element.trim()));
-        }
+        List<Segment> elements = splitTopLevelCommaSeparated(value, offset, stack.budget());
+        stack.pushAll(ELEMENT, elements, depth + 1, result);
         
         return result;
     }
 
-    private Map<String, Object> parseCSharpDictionary(String value) throws Exception {
+    private Map<String, Object> parseCSharpDictionary(String value, int offset, int depth, ParseStack stack) throws ParseException {
         Map<String, Object> result = new LinkedHashMap<>();
         
         if (value.trim().isEmpty()) {
@@ -416,43 +496,46 @@ public class CSharpDTOParser implements LogParser {
         }
         
         // Handle different dictionary initialization formats
-        List<String> entries = splitTopLevelCommaSeparated(value);
-        for (String entry : entries) {
-            // Format: {key, value}
-            if (entry.trim().startsWith("{") && entry.trim().endsWith("}")) {
-                String content = entry.trim().substring(1, entry.trim().length() - 1);
-                String[] kv = content.split(",", 2);
-                if (kv.length == 2) {
-                    String key = parseMapKey(kv[0].trim());
-                    Object val = parseValue(kv[1].trim());
-                    result.put(key, val);
-                }
-            }
-            // Format: [key] = value
-            else if (entry.contains("] =")) {
-                int equalIndex = entry.indexOf("] =");
-                String keyPart = entry.substring(0, equalIndex + 1).trim();
-                String valuePart = entry.substring(equalIndex + 2).trim();
-                
-                // Extract key from [key] format
-                if (keyPart.startsWith("[") && keyPart.endsWith("]")) {
-                    String key = parseMapKey(keyPart.substring(1, keyPart.length() - 1));
-                    Object val = parseValue(valuePart);
-                    result.put(key, val);
-                }
+        List<Segment> entries = splitTopLevelCommaSeparated(value, offset, stack.budget());
+        stack.pushAll(DICTIONARY_ENTRY, entries, depth + 1, result);
+        
+        return result;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void parseCSharpDictionaryEntry(ParseStack stack) throws ParseException {
+        String text = stack.text();
+        int offset = stack.offset();
+        Map<String, Object> result = (Map<String, Object>) stack.target();
+        // Format: {key, value}
+        if (text.startsWith("{") && text.endsWith("}")) {
+            String content = text.substring(1, text.length() - 1);
+            int commaIdx = content.indexOf(',');
+            if (commaIdx != -1) {
+                String key = parseMapKey(content.substring(0, commaIdx).trim());
+                Object val = parseValue(content.substring(commaIdx + 1), offset + commaIdx + 2, stack.depth(), stack);
+                result.put(key, val);
             }
-            // Format: key = value
-            else if (entry.contains("=")) {
-                String[] kv = entry.split("=", 2);
-                if (kv.length == 2) {
-                    String key = parseMapKey(kv[0].trim());
-                    Object val = parseValue(kv[1].trim());
-                    result.put(key, val);
-                }
+        }
+        // Format: [key] = value
+        else if (text.contains("] =")) {
+            int equalIndex = text.indexOf("] =");
+            String keyPart = text.substring(0, equalIndex + 1).trim();
+            
+            // Extract key from [key] format
+            if (keyPart.startsWith("[") && keyPart.endsWith("]")) {
+                String key = parseMapKey(keyPart.substring(1, keyPart.length() - 1));
+                Object val = parseValue(text.substring(equalIndex + 2), offset + equalIndex + 2, stack.depth(), stack);
+                result.put(key, val);
             }
         }
-        
-        return result;
+        // Format: key = value
+        else if (text.contains("=")) {
+            int eqIdx = text.indexOf('=');
+            String key = parseMapKey(text.substring(0, eqIdx).trim());
+            Object val = parseValue(text.substring(eqIdx + 1), offset + eqIdx + 1, stack.depth(), stack);
+            result.put(key, val);
+        }
     }
     
     private String parseMapKey(String key) {
@@ -490,17 +573,21 @@ public class CSharpDTOParser implements LogParser {
         }
     }
     
-    private Object parseCSharpIntegerNumber(String value) {
-        // Handle unsigned suffix
-        if (value.endsWith("u") || value.endsWith("U")) {
-            String cleanValue = value.substring(0, value.length() - 1);
-            return Long.parseUnsignedLong(cleanValue);
-        }
-        
-        // Handle long suffix
-        if (value.endsWith("l") || value.endsWith("L")) {
-            String cleanValue = value.substring(0, value.length() - 1);
-            return Long.parseLong(cleanValue);
+    private Object parseCSharpIntegerNumber(String value, int offset) throws ParseException {
+        try {
+            // Handle unsigned suffix
+            if (value.endsWith("u") || value.endsWith("U")) {
+                String cleanValue = value.substring(0, value.length() - 1);
+                return Long.parseUnsignedLong(cleanValue);
+            }
+            
+            // Handle long suffix
+            if (value.endsWith("l") || value.endsWith("L")) {
+                String cleanValue = value.substring(0, value.length() - 1);
+                return Long.parseLong(cleanValue);
+            }
+        } catch (NumberFormatException e) {
+            throw new ParseException("Invalid number", offset);
         }
         
         // Handle float suffix (for whole numbers)
@@ -521,6 +608,14 @@ public class CSharpDTOParser implements LogParser {
         }
     }
     
+    private long parseCSharpHexNumber(String digits, int offset) throws ParseException {
+        try {
+            return Long.parseLong(digits, 16);
+        } catch (NumberFormatException e) {
+            throw new ParseException("Invalid number", offset);
+        }
+    }
+    
     private String unescapeCSharpString(String str) {
         return str.replace("\\\"", "\"")
                   .replace("\\'", "'")
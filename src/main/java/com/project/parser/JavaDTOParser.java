@@ -10,6 +10,7 @@ import java.util.regex.Pattern;
 
 import org.springframework.stereotype.Service;
 
+import com.project.config.ParserProperties;
 import com.project.util.Constant;
 
 import lombok.RequiredArgsConstructor;
@@ -18,8 +19,12 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class JavaDTOParser implements LogParser {
     
+    // Frame kinds pushed on the parse stack
+    private static final int ELEMENT = 0;
+    private static final int FIELD = 1;
+    private static final int MAP_ENTRY = 2;
+    
     // Enhanced regex patterns for better Java type detection
-    private static final Pattern DTO_PATTERN = Pattern.compile("^\\w+\\(.*\\)$");
     private static final Pattern STRING_PATTERN = Pattern.compile("^\".*\"$|^'.*'$");
     private static final Pattern CHAR_PATTERN = Pattern.compile("^'.'$");
     private static final Pattern UUID_PATTERN = Pattern.compile("^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$");
@@ -31,17 +36,15 @@ public class JavaDTOParser implements LogParser {
     private static final Pattern DATE_PATTERN = Pattern.compile("^\\d{4}-\\d{2}-\\d{2}$");
     private static final Pattern DATETIME_PATTERN = Pattern.compile("^\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}");
     
+    private final ParserProperties parserProperties;
+    
     @Override
     public boolean supports(String input) {
         if (input == null || input.trim().isEmpty()) {
             return false;
         }
         
-        String trimmed = input.trim();
-        // Enhanced pattern matching for Java DTOs
-        return DTO_PATTERN.matcher(trimmed).matches() ||
-               trimmed.startsWith("{") && trimmed.endsWith("}") ||
-               trimmed.startsWith("[") && trimmed.endsWith("]");
+        return isSupportedRoot(input.trim());
     }
 
     @Override
@@ -51,18 +54,82 @@ public class JavaDTOParser implements LogParser {
         }
         
         try {
-            return parseValue(input.trim());
-        } catch (Exception e) {
-            throw new Exception("Failed to parse Java DTO: " + e.getMessage(), e);
+            return parseRoot(input, 0, new ParseBudget(parserProperties));
+        } catch (ParseException e) {
+            throw new Exception("Failed to parse Java DTO: " + e.getMessage() + " at offset " + e.getOffset());
+        }
+    }
+
+    @Override
+    public ParseResult parse(String input) {
+        return parse(input, new ParseBudget(parserProperties));
+    }
+
+    @Override
+    public ParseResult parse(String input, ParseBudget budget) {
+        Segment root = Segment.of(input == null ? "" : input, 0);
+        if (!isSupportedRoot(root.text)) {
+            return ParseResult.unsupported();
+        }
+        
+        try {
+            return ParseResult.success(parseRoot(root.text, root.offset, budget));
+        } catch (ParseException e) {
+            return ParseResult.failure(ParseError.of(input, e.getOffset(), e.getMessage(), e.getLimit()));
         }
     }
 
-    private Object parseValue(String value) throws Exception {
+    /**
+     * Top-level shapes accepted for Java: DTO objects, lists and maps.
+     */
+    private boolean isSupportedRoot(String trimmed) {
+        return isDtoObject(trimmed) ||
+               trimmed.startsWith("{") && trimmed.endsWith("}") ||
+               trimmed.startsWith("[") && trimmed.endsWith("]");
+    }
+
+    /**
+     * Structural check for {@code Name(...)}; only the name and the last character are inspected
+     * so nested values are not rescanned at every level.
+     */
+    private boolean isDtoObject(String value) {
+        int i = 0;
+        while (i < value.length() && (Character.isLetterOrDigit(value.charAt(i)) || value.charAt(i) == '_')) {
+            i++;
+        }
+        return i > 0 && i < value.length() && value.charAt(i) == '(' && value.endsWith(")");
+    }
+
+    /**
+     * Parses the root value, then drains the frames its containers pushed for their children.
+     */
+    @SuppressWarnings("unchecked")
+    private Object parseRoot(String value, int offset, ParseBudget budget) throws ParseException {
+        ParseStack stack = ParseStack.acquire(budget);
+        try {
+            Object root = parseValue(value, offset, 0, stack);
+            while (!stack.isEmpty()) {
+                stack.pop();
+                switch (stack.kind()) {
+                case FIELD -> parseField(stack);
+                case MAP_ENTRY -> parseMapEntry(stack);
+                default -> ((List<Object>) stack.target()).add(parseValue(stack.text(), stack.offset(), stack.depth(), stack));
+                }
+            }
+            return root;
+        } finally {
+            stack.release();
+        }
+    }
+
+    private Object parseValue(String value, int offset, int depth, ParseStack stack) throws ParseException {
         if (value == null || value.trim().isEmpty()) {
             return null;
         }
         
+        offset += Segment.leadingWhitespace(value);
         value = value.trim();
+        stack.budget().node(offset);
         
         // Handle null
         if (NULL_PATTERN.matcher(value).matches()) {
@@ -76,6 +143,7 @@ public class JavaDTOParser implements LogParser {
         
         // Handle strings (quoted)
         if (STRING_PATTERN.matcher(value).matches()) {
+            stack.budget().string(value.length() - 2, offset);
             return unescapeString(value.substring(1, value.length() - 1));
         }
         
@@ -108,36 +176,38 @@ public class JavaDTOParser implements LogParser {
         }
         
         // Handle Java DTO objects
-        if (DTO_PATTERN.matcher(value).matches()) {
-            return parseObject(value);
+        if (isDtoObject(value)) {
+            return parseObject(value, offset, depth, stack);
         }
         
         // Handle arrays/lists
         if (value.startsWith("[") && value.endsWith("]")) {
-            return parseArray(value);
+            return parseArray(value, offset, depth, stack);
         }
         
         // Handle maps
         if (value.startsWith("{") && value.endsWith("}")) {
-            return parseMap(value);
+            return parseMap(value, offset, depth, stack);
         }
         
         // Handle enums (assume uppercase constants are enums)
         if (ENUM_PATTERN.matcher(value).matches()) {
+            stack.budget().string(value.length(), offset);
            //  return Map.of("__type", "enum", "value", value);
         	return value;
         }
         
         // Default: treat as unquoted string
+        stack.budget().string(value.length(), offset);
         return value;
     }
     
-    private Map<String, Object> parseObject(String input) throws Exception {
+    private Map<String, Object> parseObject(String input, int offset, int depth, ParseStack stack) throws ParseException {
         int openIdx = input.indexOf('(');
         int closeIdx = input.lastIndexOf(')');
         
         if (openIdx == -1 || closeIdx == -1) {
-            throw new Exception("Invalid object format: " + input);
+            throw new ParseException("Invalid object format", offset);
         }
         
         // String className = input.substring(0, openIdx);
@@ -150,33 +220,33 @@ public class JavaDTOParser implements LogParser {
             return result;
         }
 
-        List<String> fields = splitTopLevelCommaSeparated(inside);
-        for (String field : fields) {
-            parseField(field, result);
-        }
+        List<Segment> fields = splitTopLevelCommaSeparated(inside, offset + openIdx + 1, stack.budget());
+        stack.pushAll(FIELD, fields, depth + 1, result);
         
         return result;
     }
     
-    private void parseField(String field, Map<String, Object> result) throws Exception {
-        String[] kv = field.split("=", 2);
-        if (kv.length != 2) {
-            throw new Exception("Invalid field format: " + field);
+    @SuppressWarnings("unchecked")
+    private void parseField(ParseStack stack) throws ParseException {
+        String field = stack.text();
+        int eqIdx = field.indexOf('=');
+        if (eqIdx == -1) {
+            throw new ParseException("Invalid field format", stack.offset());
         }
         
-        String key = kv[0].trim();
-        String value = kv[1].trim();
+        String key = field.substring(0, eqIdx).trim();
         
         // Validate key
         if (key.isEmpty()) {
-            throw new Exception("Empty field name in: " + field);
+            throw new ParseException("Empty field name", stack.offset());
         }
         
-        result.put(key, parseValue(value));
+        Map<String, Object> result = (Map<String, Object>) stack.target();
+        result.put(key, parseValue(field.substring(eqIdx + 1), stack.offset() + eqIdx + 1, stack.depth(), stack));
     }
 
-    private List<String> splitTopLevelCommaSeparated(String input) {
-        List<String> result = new ArrayList<>();
+    private List<Segment> splitTopLevelCommaSeparated(String input, int offset, ParseBudget budget) throws ParseException {
+        List<Segment> result = new ArrayList<>();
         if (input == null || input.trim().isEmpty()) {
             return result;
         }
@@ -188,6 +258,7 @@ public class JavaDTOParser implements LogParser {
         
         for (int i = 0; i < input.length(); i++) {
             char ch = input.charAt(i);
+            budget.scanned(i, offset + i);
             
             // Handle quotes
             if ((ch == '"' || ch == '\'') && (i == 0 || input.charAt(i-1) != '\\')) {
@@ -210,8 +281,8 @@ public class JavaDTOParser implements LogParser {
             } else if (ch == ')' || ch == ']' || ch == '}') {
                 level--;
             } else if (ch == ',' && level == 0) {
-                String segment = input.substring(start, i).trim();
-                if (!segment.isEmpty()) {
+                Segment segment = Segment.of(input.substring(start, i), offset + start);
+                if (!segment.text.isEmpty()) {
                     result.add(segment);
                 }
                 start = i + 1;
@@ -219,53 +290,55 @@ public class JavaDTOParser implements LogParser {
         }
         
         // Add the last segment
-        String lastSegment = input.substring(start).trim();
-        if (!lastSegment.isEmpty()) {
+        Segment lastSegment = Segment.of(input.substring(start), offset + start);
+        if (!lastSegment.text.isEmpty()) {
             result.add(lastSegment);
         }
         
         return result;
     }
 
-    private List<Object> parseArray(String value) throws Exception {
-        String content = value.substring(1, value.length() - 1).trim();
+    private List<Object> parseArray(String value, int offset, int depth, ParseStack stack) throws ParseException {
+        Segment content = Segment.of(value.substring(1, value.length() - 1), offset + 1);
         List<Object> result = new ArrayList<>();
         
-        if (content.isEmpty()) {
+        if (content.text.isEmpty()) {
             return result;
         }
         
-        List<String> elements = splitTopLevelCommaSeparated(content);
-        for (String element : elements) {
-            result.add(parseValue(element.trim()));
-        }
+        List<Segment> elements = splitTopLevelCommaSeparated(content.text, content.offset, stack.budget());
+        stack.pushAll(ELEMENT, elements, depth + 1, result);
         
         return result;
     }
 
-    private Map<String, Object> parseMap(String value) throws Exception {
-        String content = value.substring(1, value.length() - 1).trim();
+    private Map<String, Object> parseMap(String value, int offset, int depth, ParseStack stack) throws ParseException {
+        Segment content = Segment.of(value.substring(1, value.length() - 1), offset + 1);
         Map<String, Object> result = new LinkedHashMap<>();
         
-        if (content.isEmpty()) {
+        if (content.text.isEmpty()) {
             return result;
         }
         
-        List<String> entries = splitTopLevelCommaSeparated(content);
-        for (String entry : entries) {
-            String[] kv = entry.split("=", 2);
-            if (kv.length != 2) {
-                throw new Exception("Invalid map entry format: " + entry);
-            }
-            
-            String key = parseMapKey(kv[0].trim());
-            Object val = parseValue(kv[1].trim());
-            result.put(key, val);
-        }
+        List<Segment> entries = splitTopLevelCommaSeparated(content.text, content.offset, stack.budget());
+        stack.pushAll(MAP_ENTRY, entries, depth + 1, result);
         
         return result;
     }
     
+    @SuppressWarnings("unchecked")
+    private void parseMapEntry(ParseStack stack) throws ParseException {
+        String entry = stack.text();
+        int eqIdx = entry.indexOf('=');
+        if (eqIdx == -1) {
+            throw new ParseException("Invalid map entry format", stack.offset());
+        }
+        
+        String key = parseMapKey(entry.substring(0, eqIdx).trim());
+        Object val = parseValue(entry.substring(eqIdx + 1), stack.offset() + eqIdx + 1, stack.depth(), stack);
+        ((Map<String, Object>) stack.target()).put(key, val);
+    }
+    
     private String parseMapKey(String key) {
         // Remove quotes if present
         if (STRING_PATTERN.matcher(key).matches()) {
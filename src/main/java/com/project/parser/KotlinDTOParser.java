@@ -10,6 +10,7 @@ import java.util.regex.Pattern;
 
 import org.springframework.stereotype.Service;
 
+import com.project.config.ParserProperties;
 import com.project.util.Constant;
 
 import lombok.RequiredArgsConstructor;
@@ -18,8 +19,13 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class KotlinDTOParser implements LogParser {
     
+    // Frame kinds pushed on the parse stack
+    private static final int ELEMENT = 0;
+    private static final int FIELD = 1;
+    private static final int MAP_ENTRY = 2;
+    private static final int KEYED = 3;
+    
     // Enhanced regex patterns for Kotlin type detection
-    private static final Pattern DATA_CLASS_PATTERN = Pattern.compile("^[a-zA-Z_][a-zA-Z0-9_]*\\(.*\\)$");
     private static final Pattern STRING_PATTERN = Pattern.compile("^\".*\"$");
     private static final Pattern CHAR_PATTERN = Pattern.compile("^'.'$");
     private static final Pattern RAW_STRING_PATTERN = Pattern.compile("^\"\"\"[\\s\\S]*\"\"\"$");
@@ -31,6 +37,8 @@ public class KotlinDTOParser implements LogParser {
     private static final Pattern UNSIGNED_PATTERN = Pattern.compile("^\\d+[uU]$");
     private static final Pattern HEX_PATTERN = Pattern.compile("^0[xX][0-9a-fA-F]+$");
     private static final Pattern BINARY_PATTERN = Pattern.compile("^0[bB][01]+$");
+    
+    private final ParserProperties parserProperties;
 
     @Override
     public boolean supports(String input) {
@@ -38,9 +46,46 @@ public class KotlinDTOParser implements LogParser {
             return false;
         }
         
-        String trimmed = input.trim();
-        // Enhanced pattern matching for Kotlin data classes
-        return DATA_CLASS_PATTERN.matcher(trimmed).matches() ||
+        return isSupportedRoot(input.trim());
+    }
+
+    @Override
+    public Object parseToJson(String input) throws Exception {
+        if (input == null || input.trim().isEmpty()) {
+            throw new IllegalArgumentException("Input cannot be null or empty");
+        }
+        
+        try {
+            return parseRoot(input, 0, new ParseBudget(parserProperties));
+        } catch (ParseException e) {
+            throw new Exception("Failed to parse Kotlin DTO: " + e.getMessage() + " at offset " + e.getOffset());
+        }
+    }
+
+    @Override
+    public ParseResult parse(String input) {
+        return parse(input, new ParseBudget(parserProperties));
+    }
+
+    @Override
+    public ParseResult parse(String input, ParseBudget budget) {
+        Segment root = Segment.of(input == null ? "" : input, 0);
+        if (!isSupportedRoot(root.text)) {
+            return ParseResult.unsupported();
+        }
+        
+        try {
+            return ParseResult.success(parseRoot(root.text, root.offset, budget));
+        } catch (ParseException e) {
+            return ParseResult.failure(ParseError.of(input, e.getOffset(), e.getMessage(), e.getLimit()));
+        }
+    }
+
+    /**
+     * Top-level shapes accepted for Kotlin: data classes, collection builders, lists and maps.
+     */
+    private boolean isSupportedRoot(String trimmed) {
+        return isDataClass(trimmed) ||
                trimmed.startsWith("listOf(") ||
                trimmed.startsWith("mapOf(") ||
                trimmed.startsWith("setOf(") ||
@@ -51,25 +96,52 @@ public class KotlinDTOParser implements LogParser {
                trimmed.startsWith("[") && trimmed.endsWith("]");
     }
 
-    @Override
-    public Object parseToJson(String input) throws Exception {
-        if (input == null || input.trim().isEmpty()) {
-            throw new IllegalArgumentException("Input cannot be null or empty");
+    /**
+     * Structural check for {@code Name(...)}; only the name and the last character are inspected
+     * so nested values are not rescanned at every level.
+     */
+    private boolean isDataClass(String value) {
+        if (value.isEmpty() || !(Character.isLetter(value.charAt(0)) || value.charAt(0) == '_')) {
+            return false;
         }
-        
+        int i = 1;
+        while (i < value.length() && (Character.isLetterOrDigit(value.charAt(i)) || value.charAt(i) == '_')) {
+            i++;
+        }
+        return i < value.length() && value.charAt(i) == '(' && value.endsWith(")");
+    }
+
+    /**
+     * Parses the root value, then drains the frames its containers pushed for their children.
+     */
+    @SuppressWarnings("unchecked")
+    private Object parseRoot(String value, int offset, ParseBudget budget) throws ParseException {
+        ParseStack stack = ParseStack.acquire(budget);
         try {
-            return parseValue(input.trim());
-        } catch (Exception e) {
-            throw new Exception("Failed to parse Kotlin DTO: " + e.getMessage(), e);
+            Object root = parseValue(value, offset, 0, stack);
+            while (!stack.isEmpty()) {
+                stack.pop();
+                switch (stack.kind()) {
+                case FIELD -> parseKotlinField(stack);
+                case MAP_ENTRY -> parseKotlinMapEntry(stack);
+                case KEYED -> ((Map<String, Object>) stack.target()).put(stack.key(), parseValue(stack.text(), stack.offset(), stack.depth(), stack));
+                default -> ((List<Object>) stack.target()).add(parseValue(stack.text(), stack.offset(), stack.depth(), stack));
+                }
+            }
+            return root;
+        } finally {
+            stack.release();
         }
     }
 
-    private Object parseValue(String value) throws Exception {
+    private Object parseValue(String value, int offset, int depth, ParseStack stack) throws ParseException {
         if (value == null || value.trim().isEmpty()) {
             return null;
         }
         
+        offset += Segment.leadingWhitespace(value);
         value = value.trim();
+        stack.budget().node(offset);
         
         // Handle null
         if (NULL_PATTERN.matcher(value).matches()) {
@@ -83,11 +155,13 @@ public class KotlinDTOParser implements LogParser {
         
         // Handle Kotlin raw strings (triple quotes)
         if (RAW_STRING_PATTERN.matcher(value).matches()) {
+            stack.budget().string(value.length() - 6, offset);
             return value.substring(3, value.length() - 3);
         }
         
         // Handle regular strings (quoted)
         if (STRING_PATTERN.matcher(value).matches()) {
+            stack.budget().string(value.length() - 2, offset);
             return unescapeKotlinString(value.substring(1, value.length() - 1));
         }
         
@@ -98,18 +172,18 @@ public class KotlinDTOParser implements LogParser {
         
         // Handle hexadecimal numbers
         if (HEX_PATTERN.matcher(value).matches()) {
-            return Long.parseLong(value.substring(2), 16);
+            return parseKotlinLong(value.substring(2), 16, false, offset);
         }
         
         // Handle binary numbers
         if (BINARY_PATTERN.matcher(value).matches()) {
-            return Long.parseLong(value.substring(2), 2);
+            return parseKotlinLong(value.substring(2), 2, false, offset);
         }
         
         // Handle unsigned numbers
         if (UNSIGNED_PATTERN.matcher(value).matches()) {
             String numPart = value.substring(0, value.length() - 1);
-            return Long.parseUnsignedLong(numPart);
+            return parseKotlinLong(numPart, 10, true, offset);
         }
         
         // Handle decimal numbers
@@ -119,7 +193,7 @@ public class KotlinDTOParser implements LogParser {
         
         // Handle integer numbers
         if (INTEGER_PATTERN.matcher(value).matches()) {
-            return parseKotlinIntegerNumber(value);
+            return parseKotlinIntegerNumber(value, offset);
         }
         
         // Handle Kotlin collection functions
@@ -128,7 +202,7 @@ public class KotlinDTOParser implements LogParser {
 //            Map<String, Object> result = new LinkedHashMap<>();
 //            result.put("__type", "List");
 //            result.put("items", parseKotlinList(content));
-            return parseKotlinList(content);
+            return parseKotlinList(content, offset + 7, depth, stack);
         }
         
         if (value.startsWith("mutableListOf(") && value.endsWith(")")) {
@@ -136,7 +210,7 @@ public class KotlinDTOParser implements LogParser {
 //            Map<String, Object> result = new LinkedHashMap<>();
 //            result.put("__type", "MutableList");
 //            result.put("items", parseKotlinList(content));
-            return parseKotlinList(content);
+            return parseKotlinList(content, offset + 14, depth, stack);
         }
         
         if (value.startsWith("setOf(") && value.endsWith(")")) {
@@ -144,7 +218,7 @@ public class KotlinDTOParser implements LogParser {
 //            Map<String, Object> result = new LinkedHashMap<>();
 //            result.put("__type", "Set");
 //            result.put("items", parseKotlinList(content));
-            return parseKotlinList(content);
+            return parseKotlinList(content, offset + 6, depth, stack);
         }
         
         if (value.startsWith("mapOf(") && value.endsWith(")")) {
@@ -152,7 +226,7 @@ public class KotlinDTOParser implements LogParser {
 //            Map<String, Object> result = new LinkedHashMap<>();
 //            result.put("__type", "Map");
 //            result.put("entries", parseKotlinMap(content));
-            return parseKotlinMap(content);
+            return parseKotlinMap(content, offset + 6, depth, stack);
         }
         
         if (value.startsWith("mutableMapOf(") && value.endsWith(")")) {
@@ -160,7 +234,7 @@ public class KotlinDTOParser implements LogParser {
 //            Map<String, Object> result = new LinkedHashMap<>();
 //            result.put("__type", "MutableMap");
 //            result.put("entries", parseKotlinMap(content));
-            return parseKotlinMap(content);
+            return parseKotlinMap(content, offset + 13, depth, stack);
         }
         
         if (value.startsWith("arrayOf(") && value.endsWith(")")) {
@@ -168,31 +242,32 @@ public class KotlinDTOParser implements LogParser {
 //            Map<String, Object> result = new LinkedHashMap<>();
 //            result.put("__type", "Array");
 //            result.put("items", parseKotlinList(content));
-            return parseKotlinList(content);
+            return parseKotlinList(content, offset + 8, depth, stack);
         }
         
         // Handle Kotlin data class objects
-        if (DATA_CLASS_PATTERN.matcher(value).matches()) {
-            return parseKotlinDataClass(value);
+        if (isDataClass(value)) {
+            return parseKotlinDataClass(value, offset, depth, stack);
         }
         
         // Handle regular arrays/lists
         if (value.startsWith("[") && value.endsWith("]")) {
-            return parseKotlinList(value.substring(1, value.length() - 1));
+            return parseKotlinList(value.substring(1, value.length() - 1), offset + 1, depth, stack);
         }
         
         // Handle maps
         if (value.startsWith("{") && value.endsWith("}")) {
-            return parseKotlinMap(value.substring(1, value.length() - 1));
+            return parseKotlinMap(value.substring(1, value.length() - 1), offset + 1, depth, stack);
         }
         
         // Handle Kotlin ranges
         if (value.contains("..")) {
-            return parseKotlinRange(value);
+            return parseKotlinRange(value, offset, depth, stack);
         }
         
         // Handle enums (assume uppercase constants are enums)
         if (ENUM_PATTERN.matcher(value).matches()) {
+            stack.budget().string(value.length(), offset);
 //            Map<String, Object> result = new LinkedHashMap<>();
 //            result.put("__type", "enum");
 //            result.put("value", value);
@@ -201,6 +276,7 @@ public class KotlinDTOParser implements LogParser {
         
         // Handle Kotlin lambda expressions (basic detection)
         if (value.startsWith("{") && value.contains("->")) {
+            stack.budget().string(value.length(), offset);
 //            Map<String, Object> result = new LinkedHashMap<>();
 //            result.put("__type", "lambda");
 //            result.put("expression", value);
@@ -208,15 +284,16 @@ public class KotlinDTOParser implements LogParser {
         }
         
         // Default: treat as unquoted string
+        stack.budget().string(value.length(), offset);
         return value;
     }
     
-    private Map<String, Object> parseKotlinDataClass(String input) throws Exception {
+    private Map<String, Object> parseKotlinDataClass(String input, int offset, int depth, ParseStack stack) throws ParseException {
         int openIdx = input.indexOf('(');
         int closeIdx = input.lastIndexOf(')');
         
         if (openIdx == -1 || closeIdx == -1) {
-            throw new Exception("Invalid Kotlin data class format: " + input);
+            throw new ParseException("Invalid Kotlin data class format", offset);
         }
         
 //        String className = input.substring(0, openIdx);
@@ -230,33 +307,33 @@ public class KotlinDTOParser implements LogParser {
             return result;
         }
 
-        List<String> fields = splitTopLevelCommaSeparated(inside);
-        for (String field : fields) {
-            parseKotlinField(field, result);
-        }
+        List<Segment> fields = splitTopLevelCommaSeparated(inside, offset + openIdx + 1, stack.budget());
+        stack.pushAll(FIELD, fields, depth + 1, result);
         
         return result;
     }
     
-    private void parseKotlinField(String field, Map<String, Object> result) throws Exception {
-        String[] kv = field.split("=", 2);
-        if (kv.length != 2) {
-            throw new Exception("Invalid Kotlin field format: " + field);
+    @SuppressWarnings("unchecked")
+    private void parseKotlinField(ParseStack stack) throws ParseException {
+        String field = stack.text();
+        int eqIdx = field.indexOf('=');
+        if (eqIdx == -1) {
+            throw new ParseException("Invalid Kotlin field format", stack.offset());
         }
         
-        String key = kv[0].trim();
-        String value = kv[1].trim();
+        String key = field.substring(0, eqIdx).trim();
         
         // Validate key
         if (key.isEmpty()) {
-            throw new Exception("Empty field name in: " + field);
+            throw new ParseException("Empty field name", stack.offset());
         }
         
-        result.put(key, parseValue(value));
+        Map<String, Object> result = (Map<String, Object>) stack.target();
+        result.put(key, parseValue(field.substring(eqIdx + 1), stack.offset() + eqIdx + 1, stack.depth(), stack));
     }
 
-    private List<String> splitTopLevelCommaSeparated(String input) {
-        List<String> result = new ArrayList<>();
+    private List<Segment> splitTopLevelCommaSeparated(String input, int offset, ParseBudget budget) throws ParseException {
+        List<Segment> result = new ArrayList<>();
         if (input == null || input.trim().isEmpty()) {
             return result;
         }
@@ -269,6 +346,7 @@ public class KotlinDTOParser implements LogParser {
         
         for (int i = 0; i < input.length(); i++) {
             char ch = input.charAt(i);
+            budget.scanned(i, offset + i);
             
             // Handle raw strings (triple quotes)
             if (i <= input.length() - 3 && input.substring(i, i + 3).equals("\"\"\"")) {
@@ -308,8 +386,8 @@ public class KotlinDTOParser implements LogParser {
             } else if (ch == ')' || ch == ']' || ch == '}') {
                 level--;
             } else if (ch == ',' && level == 0) {
-                String segment = input.substring(start, i).trim();
-                if (!segment.isEmpty()) {
+                Segment segment = Segment.of(input.substring(start, i), offset + start);
+                if (!segment.text.isEmpty()) {
                     result.add(segment);
                 }
                 start = i + 1;
@@ -317,64 +395,63 @@ public class KotlinDTOParser implements LogParser {
         }
         
         // Add the last segment
-        String lastSegment = input.substring(start).trim();
-        if (!lastSegment.isEmpty()) {
+        Segment lastSegment = Segment.of(input.substring(start), offset + start);
+        if (!lastSegment.text.isEmpty()) {
             result.add(lastSegment);
         }
         
         return result;
     }
 
-    private List<Object> parseKotlinList(String value) throws Exception {
+    private List<Object> parseKotlinList(String value, int offset, int depth, ParseStack stack) throws ParseException {
         List<Object> result = new ArrayList<>();
         
         if (value.trim().isEmpty()) {
             return result;
         }
         
-        List<String> elements = splitTopLevelCommaSeparated(value);
-        for (String element : elements) {
-            result.add(parseValue(element.trim()));
-        }
+        List<Segment> elements = splitTopLevelCommaSeparated(value, offset, stack.budget());
+        stack.pushAll(ELEMENT, elements, depth + 1, result);
         
         return result;
     }
 
-    private Map<String, Object> parseKotlinMap(String value) throws Exception {
+    private Map<String, Object> parseKotlinMap(String value, int offset, int depth, ParseStack stack) throws ParseException {
         Map<String, Object> result = new LinkedHashMap<>();
         
         if (value.trim().isEmpty()) {
             return result;
         }
         
-        List<String> entries = splitTopLevelCommaSeparated(value);
-        for (String entry : entries) {
-            // Handle Kotlin's "to" syntax: key to value
-            if (entry.contains(" to ")) {
-                String[] kv = entry.split(" to ", 2);
-                if (kv.length == 2) {
-                    String key = parseMapKey(kv[0].trim());
-                    Object val = parseValue(kv[1].trim());
-                    result.put(key, val);
-                }
-            } 
-            // Handle regular key=value syntax
-            else if (entry.contains("=")) {
-                String[] kv = entry.split("=", 2);
-                if (kv.length == 2) {
-                    String key = parseMapKey(kv[0].trim());
-                    Object val = parseValue(kv[1].trim());
-                    result.put(key, val);
-                }
-            }
-            else {
-                throw new Exception("Invalid Kotlin map entry format: " + entry);
-            }
-        }
+        List<Segment> entries = splitTopLevelCommaSeparated(value, offset, stack.budget());
+        stack.pushAll(MAP_ENTRY, entries, depth + 1, result);
         
         return result;
     }
     
+    @SuppressWarnings("unchecked")
+    private void parseKotlinMapEntry(ParseStack stack) throws ParseException {
+        String entry = stack.text();
+        Map<String, Object> result = (Map<String, Object>) stack.target();
+        int toIdx = entry.indexOf(" to ");
+        int eqIdx = entry.indexOf('=');
+        // Handle Kotlin's "to" syntax: key to value
+        if (toIdx != -1) {
+            String key = parseMapKey(entry.substring(0, toIdx).trim());
+            Object val = parseValue(entry.substring(toIdx + 4), stack.offset() + toIdx + 4, stack.depth(), stack);
+            result.put(key, val);
+        } 
+        // Handle regular key=value syntax
+        else if (eqIdx != -1) {
+            String key = parseMapKey(entry.substring(0, eqIdx).trim());
+            Object val = parseValue(entry.substring(eqIdx + 1), stack.offset() + eqIdx + 1, stack.depth(), stack);
+            result.put(key, val);
+        }
+        else {
+            throw new ParseException("Invalid Kotlin map entry format", stack.offset());
+        }
+    }
+    
     private String parseMapKey(String key) {
         // Remove quotes if present
         if (STRING_PATTERN.matcher(key).matches()) {
@@ -383,16 +460,15 @@ public class KotlinDTOParser implements LogParser {
         return key;
     }
     
-    private Object parseKotlinRange(String value) throws Exception {
+    private Object parseKotlinRange(String value, int offset, int depth, ParseStack stack) throws ParseException {
         Map<String, Object> result = new LinkedHashMap<>();
 //        result.put("__type", "range");
         
-        if (value.contains("..")) {
-            String[] parts = value.split("\\.\\.", 2);
-            if (parts.length == 2) {
-                result.put("start", parseValue(parts[0].trim()));
-                result.put("end", parseValue(parts[1].trim()));
-            }
+        int rangeIdx = value.indexOf("..");
+        if (rangeIdx != -1) {
+            // Pushed in reverse so that start is parsed first
+            stack.push(KEYED, value.substring(rangeIdx + 2), offset + rangeIdx + 2, depth + 1, result, "end");
+            stack.push(KEYED, value.substring(0, rangeIdx), offset, depth + 1, result, "start");
         }
         
         return result;
@@ -416,11 +492,11 @@ public class KotlinDTOParser implements LogParser {
         }
     }
     
-    private Object parseKotlinIntegerNumber(String value) {
+    private Object parseKotlinIntegerNumber(String value, int offset) throws ParseException {
         // Handle unsigned suffix
         if (value.endsWith("u") || value.endsWith("U")) {
             String cleanValue = value.substring(0, value.length() - 1);
-            return Long.parseUnsignedLong(cleanValue);
+            return parseKotlinLong(cleanValue, 10, true, offset);
         }
         
         // Remove long suffix if present
@@ -442,6 +518,14 @@ public class KotlinDTOParser implements LogParser {
         }
     }
     
+    private long parseKotlinLong(String digits, int radix, boolean unsigned, int offset) throws ParseException {
+        try {
+            return unsigned ? Long.parseUnsignedLong(digits, radix) : Long.parseLong(digits, radix);
+        } catch (NumberFormatException e) {
+            throw new ParseException("Invalid number", offset);
+        }
+    }
+    
     private String unescapeKotlinString(String str) {
         return str.replace("\\\"", "\"")
                   .replace("\\'", "'")
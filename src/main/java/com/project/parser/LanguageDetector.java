@@ -0,0 +1,146 @@
+package com.project.parser;
+
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+import com.project.constant.InputLanguage;
+
+/**
+ * Cheap classifier used for {@link InputLanguage#AUTO}. It looks at a bounded prefix of the input
+ * and its structural hints so that exactly one parser is run:
+ * <ul>
+ * <li>{@code ClassName { Prop = value }}, {@code new ...}, {@code @"..."} or {@code $"..."} is C#</li>
+ * <li>{@code listOf(...)}-style calls, {@code key to value} pairs or {@code """raw"""} strings are Kotlin</li>
+ * <li>anything else, including {@code ClassName(field=value)}, is Java</li>
+ * </ul>
+ * Kotlin data classes print exactly like Lombok DTOs, so without a Kotlin-only hint they are sent
+ * to the Java parser, which produces the same result for that shape.
+ * <p>
+ * Its accuracy is checked by {@code LanguageDetectorTest} against the mixed-language corpus in
+ * {@code src/test/resources/parser/language-detection.tsv}, and its cost is measured by
+ * {@code LanguageDetectorBenchmark}.
+ */
+@Component
+public class LanguageDetector {
+
+    /**
+     * Number of characters inspected; the hints all show up near the start of a DTO
+     */
+    public static final int PREFIX_LENGTH = 2048;
+
+    private static final Set<String> COLLECTION_FUNCTIONS = Set.of("listOf", "mutableListOf", "setOf", "mapOf", "mutableMapOf", "arrayOf");
+
+    public InputLanguage detect(String input) {
+        if (input == null) {
+            return InputLanguage.JAVA;
+        }
+
+        int length = Math.min(input.length(), PREFIX_LENGTH);
+        int pos = 0;
+        while (pos < length && Character.isWhitespace(input.charAt(pos))) {
+            pos++;
+        }
+        if (input.startsWith("new ", pos) || input.startsWith("new[", pos)) {
+            return InputLanguage.CSHARP;
+        }
+
+        int kotlinHints = 0;
+        int csharpHints = 0;
+        // First bracket that opens the top-level value: '(' after a name, '{' after a name, or a bare bracket
+        char firstStructure = 0;
+
+        int identStart = -1;
+        int identEnd = -1;
+        char quote = 0;
+
+        for (int i = pos; i < length; i++) {
+            char ch = input.charAt(i);
+
+            if (quote != 0) {
+                if (ch == '\\') {
+                    i++;
+                } else if (ch == quote) {
+                    quote = 0;
+                }
+                continue;
+            }
+
+            if (Character.isLetterOrDigit(ch) || ch == '_') {
+                if (identStart == -1 || identEnd != -1) {
+                    identStart = i;
+                    identEnd = -1;
+                }
+                continue;
+            }
+            if (identStart != -1 && identEnd == -1) {
+                identEnd = i;
+            }
+
+            switch (ch) {
+            case '"':
+                if (input.startsWith("\"\"\"", i)) {
+                    kotlinHints++;
+                    int close = input.indexOf("\"\"\"", i + 3);
+                    i = close == -1 || close >= length ? length : close + 2;
+                    break;
+                }
+                if (i > pos && (input.charAt(i - 1) == '@' || input.charAt(i - 1) == '$')) {
+                    csharpHints++;
+                }
+                quote = ch;
+                break;
+            case '\'':
+                quote = ch;
+                break;
+            case '(':
+                if (identStart != -1 && identEnd == i
+                        && COLLECTION_FUNCTIONS.contains(input.substring(identStart, identEnd))) {
+                    kotlinHints++;
+                }
+                if (firstStructure == 0) {
+                    firstStructure = '(';
+                }
+                break;
+            case '{':
+                if (firstStructure == 0) {
+                    firstStructure = identStart != -1 ? 'C' : '{';
+                }
+                break;
+            case '[':
+                if (firstStructure == 0) {
+                    firstStructure = '[';
+                }
+                break;
+            case '=':
+                // C# initializers pad '=' with spaces, toString() output does not
+                if (i > 0 && i + 1 < length && input.charAt(i - 1) == ' ' && input.charAt(i + 1) == ' ') {
+                    csharpHints++;
+                }
+                break;
+            case ' ':
+                if (identStart != -1 && identEnd - identStart == 2 && input.startsWith("to", identStart)
+                        && identStart > 0 && input.charAt(identStart - 1) == ' ') {
+                    kotlinHints++;
+                }
+                // A space between a class name and '{' keeps the name attached
+                continue;
+            default:
+                break;
+            }
+            identStart = -1;
+            identEnd = -1;
+        }
+
+        if (firstStructure == 'C') {
+            return InputLanguage.CSHARP;
+        }
+        if (kotlinHints > 0) {
+            return InputLanguage.KOTLIN;
+        }
+        if (csharpHints > 0 && firstStructure != '(') {
+            return InputLanguage.CSHARP;
+        }
+        return InputLanguage.JAVA;
+    }
+}
@@ -0,0 +1,18 @@
+package com.project.parser;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * DTO fragment found inside a raw log line, with its 1-based line and column.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class LogFragment {
+
+    private final int lineNumber;
+    private final int column;
+    private final String text;
+}
@@ -0,0 +1,245 @@
+package com.project.parser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Pulls DTO fragments such as {@code OrderDTO(id=1, ...)}, {@code Order { Id = 1 }} or
+ * {@code listOf(...)} out of raw application log lines.
+ * <p>
+ * The leading timestamp, level, thread name and logger name are skipped, then the rest of the
+ * line is scanned once with a bracket stack. No regular expressions are involved, so there is no
+ * backtracking and the cost is linear in the line length.
+ */
+@Component
+public class LogFragmentExtractor {
+
+    private static final Set<String> LEVELS = Set.of("TRACE", "DEBUG", "INFO", "WARN", "WARNING", "ERROR", "FATAL", "SEVERE");
+    private static final Set<String> COLLECTION_FUNCTIONS = Set.of("listOf", "mutableListOf", "setOf", "mapOf", "mutableMapOf", "arrayOf");
+    /**
+     * Longest character literal, {@code '\uFFFF'}
+     */
+    private static final int MAX_CHAR_LITERAL_LENGTH = 8;
+
+    /**
+     * Extracts the fragments of a single line, outermost first in order of appearance.
+     */
+    public List<LogFragment> extractLine(String line, int lineNumber) {
+        List<LogFragment> out = new ArrayList<>();
+        if (line == null) {
+            return out;
+        }
+
+        int to = line.length();
+        int pos = skipHeader(line, to);
+
+        // Open brackets: kind, candidate start (or -1) and whether it may hold a DTO
+        char[] kinds = new char[16];
+        int[] starts = new int[16];
+        boolean[] accepted = new boolean[16];
+        int depth = 0;
+
+        int identStart = -1;
+        int braceCandidate = -1;
+
+        for (int i = pos; i < to; i++) {
+            char ch = line.charAt(i);
+
+            if (depth > 0 && (ch == '"' || ch == '\'' && mayStartCharLiteral(line, i, pos))) {
+                int close = skipQuoted(line, i, ch == '"' ? to : Math.min(to, i + MAX_CHAR_LITERAL_LENGTH));
+                if (close != -1) {
+                    i = close;
+                    identStart = -1;
+                    braceCandidate = -1;
+                    continue;
+                }
+                // Unterminated, e.g. an apostrophe in an unquoted value: an ordinary character
+            }
+
+            if (Character.isLetterOrDigit(ch) || ch == '_' || ch == '$') {
+                if (identStart == -1 && !Character.isDigit(ch)) {
+                    identStart = i;
+                }
+                braceCandidate = -1;
+                continue;
+            }
+
+            if (ch == '(' || ch == '{' || ch == '[') {
+                int candidate = -1;
+                boolean collection = false;
+                if (ch == '(' && identStart != -1) {
+                    candidate = identStart;
+                    collection = COLLECTION_FUNCTIONS.contains(line.substring(identStart, i));
+                } else if (ch == '{') {
+                    int start = identStart != -1 ? identStart : braceCandidate;
+                    if (start != -1 && Character.isUpperCase(line.charAt(start))) {
+                        candidate = start;
+                    }
+                }
+                if (candidate != -1 && candidate >= 4 && line.startsWith("new ", candidate - 4)) {
+                    candidate -= 4;
+                }
+
+                if (depth == kinds.length) {
+                    kinds = Arrays.copyOf(kinds, depth * 2);
+                    starts = Arrays.copyOf(starts, depth * 2);
+                    accepted = Arrays.copyOf(accepted, depth * 2);
+                }
+                kinds[depth] = ch;
+                starts[depth] = candidate;
+                accepted[depth] = collection;
+                depth++;
+            } else if (ch == ')' || ch == '}' || ch == ']') {
+                if (depth == 0 || kinds[depth - 1] != opening(ch)) {
+                    // Mismatched bracket: drop everything that is still open
+                    depth = 0;
+                } else {
+                    depth--;
+                    int start = starts[depth];
+                    if (start != -1 && accepted[depth]) {
+                        // An enclosing fragment replaces the fragments nested inside it
+                        while (!out.isEmpty() && out.get(out.size() - 1).getColumn() - 1 > start) {
+                            out.remove(out.size() - 1);
+                        }
+                        out.add(new LogFragment(lineNumber, start + 1, line.substring(start, i + 1)));
+                    }
+                }
+            } else if (ch == '=' && depth > 0) {
+                accepted[depth - 1] = true;
+            }
+
+            if (ch == ' ' && identStart != -1) {
+                braceCandidate = identStart;
+            } else if (ch != ' ') {
+                braceCandidate = -1;
+            }
+            identStart = -1;
+        }
+        return out;
+    }
+
+    /**
+     * Skips the timestamp, level, thread name and logger name tokens at the start of a line and
+     * returns the index where the message begins.
+     */
+    private int skipHeader(String text, int to) {
+        int pos = 0;
+        while (true) {
+            while (pos < to && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+            if (pos >= to) {
+                return pos;
+            }
+
+            if (text.charAt(pos) == '[') {
+                int close = pos + 1;
+                while (close < to && text.charAt(close) != ']') {
+                    char ch = text.charAt(close);
+                    if (ch == '=' || ch == '(' || ch == '[' || ch == '{') {
+                        // Looks like data rather than a thread name
+                        return pos;
+                    }
+                    close++;
+                }
+                if (close >= to) {
+                    return pos;
+                }
+                pos = close + 1;
+                continue;
+            }
+
+            int tokenEnd = pos;
+            while (tokenEnd < to && !Character.isWhitespace(text.charAt(tokenEnd))) {
+                tokenEnd++;
+            }
+
+            if (isTimestamp(text, pos, tokenEnd) || isLevel(text, pos, tokenEnd) || isSeparator(text, pos, tokenEnd)
+                    || isLoggerName(text, pos, tokenEnd, to)) {
+                pos = tokenEnd;
+                continue;
+            }
+            return pos;
+        }
+    }
+
+    private boolean isTimestamp(String text, int from, int to) {
+        boolean digit = false;
+        for (int i = from; i < to; i++) {
+            char ch = text.charAt(i);
+            if (ch >= '0' && ch <= '9') {
+                digit = true;
+            } else if ("-:.,/TZ+".indexOf(ch) == -1) {
+                return false;
+            }
+        }
+        return digit;
+    }
+
+    private boolean isLevel(String text, int from, int to) {
+        int end = to > from && text.charAt(to - 1) == ':' ? to - 1 : to;
+        return end - from <= 7 && LEVELS.contains(text.substring(from, end));
+    }
+
+    private boolean isSeparator(String text, int from, int to) {
+        return to - from == 1 && "-:|".indexOf(text.charAt(from)) != -1;
+    }
+
+    /**
+     * A logger name is a dotted identifier followed by a {@code -} separator or ending in a colon.
+     */
+    private boolean isLoggerName(String text, int from, int to, int lineEnd) {
+        boolean colon = text.charAt(to - 1) == ':';
+        int end = colon ? to - 1 : to;
+        if (end == from || !Character.isJavaIdentifierStart(text.charAt(from))) {
+            return false;
+        }
+        for (int i = from; i < end; i++) {
+            char ch = text.charAt(i);
+            if (ch != '.' && !Character.isJavaIdentifierPart(ch)) {
+                return false;
+            }
+        }
+        if (colon) {
+            return true;
+        }
+        int next = to;
+        while (next < lineEnd && text.charAt(next) == ' ') {
+            next++;
+        }
+        return next < lineEnd && text.charAt(next) == '-' && (next + 1 == lineEnd || text.charAt(next + 1) == ' ');
+    }
+
+    /**
+     * Whether a {@code '} at the index stands where a value starts, so it may open a character
+     * literal rather than be an apostrophe in an unquoted value such as {@code O'Brien}.
+     */
+    private boolean mayStartCharLiteral(String text, int index, int from) {
+        int i = index - 1;
+        while (i >= from && text.charAt(i) == ' ') {
+            i--;
+        }
+        return i >= from && "=:,([{".indexOf(text.charAt(i)) != -1;
+    }
+
+    private int skipQuoted(String text, int open, int to) {
+        char quote = text.charAt(open);
+        for (int i = open + 1; i < to; i++) {
+            char ch = text.charAt(i);
+            if (ch == '\\') {
+                i++;
+            } else if (ch == quote) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private char opening(char closing) {
+        return closing == ')' ? '(' : closing == '}' ? '{' : '[';
+    }
+}
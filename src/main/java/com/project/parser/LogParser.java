@@ -3,4 +3,18 @@ package com.project.parser;
 public interface LogParser {
     boolean supports(String input);
     Object parseToJson(String input) throws Exception;
+
+    /**
+     * Validates and parses the input in a single pass. Input whose top-level shape is not
+     * recognised is reported as {@link ParseResult.Status#UNSUPPORTED} instead of being
+     * pre-screened with {@link #supports(String)}, and malformed input as
+     * {@link ParseResult.Status#FAILED} with a {@link ParseError}; nothing is thrown.
+     */
+    ParseResult parse(String input);
+
+    /**
+     * Same as {@link #parse(String)}, aborting with a {@link ParseError} that names the exceeded
+     * {@link ParseLimit} as soon as the input crosses one of the budget's limits.
+     */
+    ParseResult parse(String input, ParseBudget budget);
 }
@@ -0,0 +1,145 @@
+package com.project.parser;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.util.unit.DataSize;
+
+import com.project.config.ParserProperties;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Limits for a single parse, checked incrementally so that an oversized or pathological input is
+ * abandoned as soon as it crosses one instead of after it has been fully parsed. Values, nesting
+ * and string literals are counted by the parsers; the clock is only read every
+ * {@value #CLOCK_CHECK_INTERVAL} values or {@value #SCAN_CHECK_INTERVAL} scanned characters.
+ * <p>
+ * A budget can be {@link #cancel() cancelled} from another thread, for example when the client
+ * goes away; the parse notices it at the same points where the clock is read. Apart from that a
+ * budget is meant to be used by one parse at a time.
+ */
+@Getter
+public class ParseBudget {
+
+    private static final int CLOCK_CHECK_INTERVAL = 64;
+    private static final int SCAN_CHECK_INTERVAL = 4096;
+
+    private final DataSize maxInputSize;
+    private final int maxDepth;
+    private final int maxNodes;
+    private final int maxStringLength;
+    @Getter(AccessLevel.NONE)
+    private final Clock clock;
+    private int nodes;
+
+    public ParseBudget(ParserProperties parserProperties) {
+        this(parserProperties, parserProperties.getMaxInputSize(), parserProperties.getMaxParseTime());
+    }
+
+    /**
+     * Budget with a different input size and time limit, for work that is not tied to an
+     * interactive request.
+     */
+    public ParseBudget(ParserProperties parserProperties, DataSize maxInputSize, Duration maxParseTime) {
+        this.maxInputSize = maxInputSize;
+        this.maxDepth = parserProperties.getMaxDepth();
+        this.maxNodes = parserProperties.getMaxNodes();
+        this.maxStringLength = parserProperties.getMaxStringLength();
+        this.clock = new Clock(maxParseTime.toNanos());
+    }
+
+    private ParseBudget(ParseBudget parent) {
+        this.maxInputSize = parent.maxInputSize;
+        this.maxDepth = parent.maxDepth;
+        this.maxNodes = parent.maxNodes;
+        this.maxStringLength = parent.maxStringLength;
+        this.clock = parent.clock;
+    }
+
+    /**
+     * Budget with a fresh node count that shares this budget's deadline, cancellation and check
+     * interval, used for each fragment of a log so that the whole request stays within one time
+     * limit even when every fragment is small.
+     */
+    public ParseBudget fork() {
+        return new ParseBudget(this);
+    }
+
+    /**
+     * Starts the time limit over from now, for work that waited in a queue before it could run.
+     */
+    public void startClock() {
+        clock.deadlineNanos = System.nanoTime() + clock.timeLimitNanos;
+    }
+
+    /**
+     * Makes parses using this budget, or any budget forked from it, stop at their next check.
+     */
+    public void cancel() {
+        clock.cancelled.set(true);
+    }
+
+    public boolean isCancelled() {
+        return clock.cancelled.get();
+    }
+
+    /**
+     * Counts one parsed value.
+     */
+    void node(int offset) throws ParseException {
+        nodes++;
+        if (nodes > maxNodes) {
+            throw new ParseException("Maximum of " + maxNodes + " values exceeded", offset, ParseLimit.NODES);
+        }
+        if ((++clock.ticks & (CLOCK_CHECK_INTERVAL - 1)) == 0) {
+            checkpoint(offset);
+        }
+    }
+
+    /**
+     * Checks the clock while a long stretch of input is scanned without producing values;
+     * {@code index} is the position within that stretch.
+     */
+    void scanned(int index, int offset) throws ParseException {
+        if (index > 0 && (index & (SCAN_CHECK_INTERVAL - 1)) == 0) {
+            checkpoint(offset);
+        }
+    }
+
+    private void checkpoint(int offset) throws ParseException {
+        if (clock.cancelled.get()) {
+            throw new ParseException("Parse cancelled", offset, ParseLimit.CANCELLED);
+        }
+        if (System.nanoTime() - clock.deadlineNanos > 0) {
+            throw new ParseException("Parse time limit exceeded", offset, ParseLimit.TIME);
+        }
+    }
+
+    /**
+     * Checks the length of a string literal's content.
+     */
+    void string(int length, int offset) throws ParseException {
+        if (length > maxStringLength) {
+            throw new ParseException("String longer than " + maxStringLength + " characters", offset, ParseLimit.STRING_LENGTH);
+        }
+    }
+
+    /**
+     * Deadline and cancellation shared by a budget and its forks, with the count of values
+     * parsed since the clock was last read
+     */
+    private static final class Clock {
+
+        private final long timeLimitNanos;
+        private volatile long deadlineNanos;
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private int ticks;
+
+        private Clock(long timeLimitNanos) {
+            this.timeLimitNanos = timeLimitNanos;
+            this.deadlineNanos = System.nanoTime() + timeLimitNanos;
+        }
+    }
+}
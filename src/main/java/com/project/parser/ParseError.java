@@ -0,0 +1,58 @@
+package com.project.parser;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Position and context of a parse failure. Line and column are 1-based, the offset is 0-based
+ * and all of them refer to the input passed to the parser.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class ParseError {
+
+    private static final int SNIPPET_BEFORE = 20;
+    private static final int SNIPPET_AFTER = 40;
+
+    private final String message;
+    private final int line;
+    private final int column;
+    private final int offset;
+    /**
+     * Up to 60 characters around the offset, with "..." marking truncated ends
+     */
+    private final String snippet;
+    /**
+     * Budget that aborted the parse, or null when the input is malformed
+     */
+    private final ParseLimit limit;
+
+    public static ParseError of(String input, int offset, String message, ParseLimit limit) {
+        int position = Math.max(0, Math.min(offset, input.length()));
+
+        int line = 1;
+        int lineStart = 0;
+        for (int i = 0; i < position; i++) {
+            if (input.charAt(i) == '\n') {
+                line++;
+                lineStart = i + 1;
+            }
+        }
+
+        int from = Math.max(0, position - SNIPPET_BEFORE);
+        int to = Math.min(input.length(), position + SNIPPET_AFTER);
+        StringBuilder snippet = new StringBuilder(to - from + 6);
+        if (from > 0) {
+            snippet.append("...");
+        }
+        snippet.append(input, from, to);
+        if (to < input.length()) {
+            snippet.append("...");
+        }
+
+        return new ParseError(message, line, position - lineStart + 1, position, snippet.toString(), limit);
+    }
+}
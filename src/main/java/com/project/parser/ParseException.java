@@ -0,0 +1,33 @@
+package com.project.parser;
+
+import lombok.Getter;
+
+/**
+ * Raised inside the parsers to unwind to {@link LogParser#parse(String)}, where it becomes a
+ * {@link ParseError}. It never fills in a stack trace and its message is a short constant, so
+ * rejecting a bad input costs no more than parsing it.
+ */
+@Getter
+public class ParseException extends Exception {
+
+    private static final long serialVersionUID = -2915405227312734361L;
+
+    /**
+     * Offset of the offending value in the input passed to the parser
+     */
+    private final int offset;
+    /**
+     * Budget that was exceeded, or null for a syntax error
+     */
+    private final ParseLimit limit;
+
+    public ParseException(String message, int offset) {
+        this(message, offset, null);
+    }
+
+    public ParseException(String message, int offset, ParseLimit limit) {
+        super(message, null, false, false);
+        this.offset = offset;
+        this.limit = limit;
+    }
+}
@@ -0,0 +1,22 @@
+package com.project.parser;
+
+/**
+ * Per-request budgets enforced by {@link ParseBudget}; a {@link ParseError} names the one that
+ * aborted the parse. {@link #CANCELLED} is not a budget but is reported the same way when the
+ * request is abandoned before the parse finishes.
+ */
+public enum ParseLimit {
+
+    INPUT_SIZE("input_size"), DEPTH("depth"), NODES("nodes"), STRING_LENGTH("string_length"), TIME("time"),
+    CANCELLED("cancelled");
+
+    private final String value;
+
+    ParseLimit(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,47 @@
+package com.project.parser;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Outcome of {@link LogParser#parse(String)}: the parsed value, a report that the input is not in
+ * a shape the parser understands, or the position of the first error.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class ParseResult {
+
+    public enum Status {
+        SUCCESS, UNSUPPORTED, FAILED
+    }
+
+    private static final ParseResult UNSUPPORTED = new ParseResult(Status.UNSUPPORTED, null, null);
+
+    private final Status status;
+    private final Object value;
+    private final ParseError error;
+
+    public static ParseResult success(Object value) {
+        return new ParseResult(Status.SUCCESS, value, null);
+    }
+
+    public static ParseResult unsupported() {
+        return UNSUPPORTED;
+    }
+
+    public static ParseResult failure(ParseError error) {
+        return new ParseResult(Status.FAILED, null, error);
+    }
+
+    public boolean isSuccess() {
+        return status == Status.SUCCESS;
+    }
+
+    /**
+     * Whether parsing was aborted by a {@link ParseBudget} rather than by malformed input.
+     */
+    public boolean isLimitExceeded() {
+        return error != null && error.getLimit() != null;
+    }
+}
@@ -0,0 +1,161 @@
+package com.project.parser;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Explicit work stack that replaces recursion in the parsers. A composite value pushes one frame
+ * per child, in reverse order so that children are popped in input order, and the parser's driver
+ * loop pops and parses them. Nesting depth therefore costs heap slots instead of thread stack.
+ * <p>
+ * One instance is cached per thread and reused, so shallow inputs parse without allocating it.
+ */
+final class ParseStack {
+
+    private static final int INITIAL_CAPACITY = 32;
+    /**
+     * Arrays grown past this size are dropped on release instead of being kept by the thread
+     */
+    private static final int RETAINED_CAPACITY = 4096;
+
+    private static final ThreadLocal<ParseStack> CACHE = ThreadLocal.withInitial(ParseStack::new);
+
+    private int[] kinds = new int[INITIAL_CAPACITY];
+    private String[] texts = new String[INITIAL_CAPACITY];
+    private int[] offsets = new int[INITIAL_CAPACITY];
+    private int[] depths = new int[INITIAL_CAPACITY];
+    private Object[] targets = new Object[INITIAL_CAPACITY];
+    private String[] keys = new String[INITIAL_CAPACITY];
+    private int size;
+    private ParseBudget budget;
+    private boolean inUse;
+
+    // Frame most recently popped
+    private int kind;
+    private String text;
+    private int offset;
+    private int depth;
+    private Object target;
+    private String key;
+
+    private ParseStack() {
+    }
+
+    /**
+     * Returns this thread's stack, or a fresh one if it is already in use.
+     */
+    static ParseStack acquire(ParseBudget budget) {
+        ParseStack stack = CACHE.get();
+        if (stack.inUse) {
+            stack = new ParseStack();
+        }
+        stack.inUse = true;
+        stack.budget = budget;
+        return stack;
+    }
+
+    void release() {
+        if (texts.length > RETAINED_CAPACITY) {
+            kinds = new int[INITIAL_CAPACITY];
+            texts = new String[INITIAL_CAPACITY];
+            offsets = new int[INITIAL_CAPACITY];
+            depths = new int[INITIAL_CAPACITY];
+            targets = new Object[INITIAL_CAPACITY];
+            keys = new String[INITIAL_CAPACITY];
+        } else {
+            Arrays.fill(texts, 0, size, null);
+            Arrays.fill(targets, 0, size, null);
+            Arrays.fill(keys, 0, size, null);
+        }
+        size = 0;
+        budget = null;
+        text = null;
+        target = null;
+        key = null;
+        inUse = false;
+    }
+
+    /**
+     * Pushes a child frame. {@code depth} is the depth of the child, which must not exceed the
+     * budget's maximum.
+     */
+    void push(int kind, String text, int offset, int depth, Object target, String key) throws ParseException {
+        if (depth > budget.getMaxDepth()) {
+            throw new ParseException("Maximum nesting depth of " + budget.getMaxDepth() + " exceeded", offset, ParseLimit.DEPTH);
+        }
+        if (size == texts.length) {
+            int capacity = size * 2;
+            kinds = Arrays.copyOf(kinds, capacity);
+            texts = Arrays.copyOf(texts, capacity);
+            offsets = Arrays.copyOf(offsets, capacity);
+            depths = Arrays.copyOf(depths, capacity);
+            targets = Arrays.copyOf(targets, capacity);
+            keys = Arrays.copyOf(keys, capacity);
+        }
+        kinds[size] = kind;
+        texts[size] = text;
+        offsets[size] = offset;
+        depths[size] = depth;
+        targets[size] = target;
+        keys[size] = key;
+        size++;
+    }
+
+    /**
+     * Pushes one frame per segment so that they are popped in their original order.
+     */
+    void pushAll(int kind, List<Segment> segments, int depth, Object target) throws ParseException {
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            Segment segment = segments.get(i);
+            push(kind, segment.text, segment.offset, depth, target, null);
+        }
+    }
+
+    ParseBudget budget() {
+        return budget;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Pops the top frame; its fields are then available through the accessors until the next pop.
+     */
+    void pop() {
+        size--;
+        kind = kinds[size];
+        text = texts[size];
+        offset = offsets[size];
+        depth = depths[size];
+        target = targets[size];
+        key = keys[size];
+        texts[size] = null;
+        targets[size] = null;
+        keys[size] = null;
+    }
+
+    int kind() {
+        return kind;
+    }
+
+    String text() {
+        return text;
+    }
+
+    int offset() {
+        return offset;
+    }
+
+    int depth() {
+        return depth;
+    }
+
+    Object target() {
+        return target;
+    }
+
+    String key() {
+        return key;
+    }
+}
@@ -0,0 +1,35 @@
+package com.project.parser;
+
+/**
+ * Trimmed piece of the input together with the offset of its first character, so that errors
+ * can point back into the original text.
+ */
+final class Segment {
+
+    final String text;
+    final int offset;
+
+    private Segment(String text, int offset) {
+        this.text = text;
+        this.offset = offset;
+    }
+
+    /**
+     * Trims {@code raw}, which starts at {@code offset}, and moves the offset past the leading
+     * whitespace that was removed.
+     */
+    static Segment of(String raw, int offset) {
+        return new Segment(raw.trim(), offset + leadingWhitespace(raw));
+    }
+
+    /**
+     * Number of characters {@link String#trim()} removes from the start of the value.
+     */
+    static int leadingWhitespace(String value) {
+        int i = 0;
+        while (i < value.length() && value.charAt(i) <= ' ') {
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,246 @@
+package com.project.peer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.project.config.ParserProperties;
+import com.project.constant.InputLanguage;
+import com.project.store.DiskResultStore;
+import com.project.store.ResultStore;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Result cache tier shared by the instances listed in {@code parser.peers.urls}. The instance
+ * that owns an input on the {@link PeerRing} keeps its result in its {@link ResultStore}; the
+ * others ask it over HTTP before parsing, and send it the results they had to parse themselves.
+ * <p>
+ * A peer that fails or does not answer in time is treated as a miss and skipped for
+ * {@code parser.peers.retry-after}, so requests fall back to parsing locally. Results are sent to
+ * their owner by a small pool in the background, and dropped when it falls behind.
+ * <p>
+ * Peers authenticate with the shared {@code parser.peers.token}, without which the instance does
+ * not start: anyone else could read stored results by their hash, or plant their own.
+ */
+@Component
+@ConditionalOnProperty(prefix = "parser.peers", name = "enabled", havingValue = "true")
+@Slf4j
+public class PeerResultCache implements DisposableBean {
+
+	public static final String TOKEN_HEADER = "X-Peer-Token";
+	static final String RESULTS_PATH = "/internal/results/";
+
+	private static final int OFFER_THREADS = 2;
+	private static final int OFFER_QUEUE_CAPACITY = 1_024;
+
+	private final ParserProperties.Peers properties;
+	private final ResultStore resultStore;
+	private final ObjectMapper objectMapper;
+	private final String self;
+	private final PeerRing ring;
+	private final HttpClient httpClient;
+	private final ThreadPoolExecutor offers;
+	/**
+	 * Peers that failed, with the time in nanos until which they are skipped
+	 */
+	private final Map<String, Long> failedPeers = new ConcurrentHashMap<>();
+	private final Counter hits;
+	private final Counter misses;
+	private final Counter failed;
+	private final Counter offered;
+	private final Timer lookups;
+
+	public PeerResultCache(final ParserProperties parserProperties, final ObjectProvider<ResultStore> resultStore,
+			final ObjectMapper objectMapper, final MeterRegistry meterRegistry) {
+		this.properties = parserProperties.getPeers();
+		this.resultStore = resultStore.getIfAvailable();
+		if (this.resultStore == null) {
+			throw new IllegalStateException("parser.peers.enabled requires parser.store.enabled");
+		}
+		if (properties.getToken() == null || properties.getToken().isBlank()) {
+			throw new IllegalStateException("parser.peers.enabled requires parser.peers.token");
+		}
+		List<String> urls = properties.getUrls().stream().map(PeerResultCache::normalize).toList();
+		this.self = properties.getSelf() != null ? normalize(properties.getSelf()) : null;
+		if (!urls.contains(self)) {
+			throw new IllegalStateException("parser.peers.self must be one of parser.peers.urls");
+		}
+		this.objectMapper = objectMapper;
+		this.ring = new PeerRing(urls, properties.getVirtualNodes());
+		this.httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(properties.getConnectTimeout()).build();
+		this.offers = new ThreadPoolExecutor(OFFER_THREADS, OFFER_THREADS, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(OFFER_QUEUE_CAPACITY), runnable -> {
+					Thread thread = new Thread(runnable, "project-peer-offer");
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.DiscardPolicy());
+		this.hits = meterRegistry.counter("parser.peers.hits");
+		this.misses = meterRegistry.counter("parser.peers.misses");
+		this.failed = meterRegistry.counter("parser.peers.failed");
+		this.offered = meterRegistry.counter("parser.peers.offered");
+		this.lookups = Timer.builder("parser.peers.lookup").description("Time to look up a result at its owner")
+				.publishPercentiles(0.5, 0.99).register(meterRegistry);
+		log.info("Sharing results with {} peers as {}", urls.size() - 1, self);
+	}
+
+	/**
+	 * Whether results of the input are looked up at and sent to their owner
+	 */
+	public boolean isShared(final String input) {
+		return input.length() >= properties.getMinInputLength();
+	}
+
+	/**
+	 * Result held by the peer that owns the key, or null if this instance owns it, the peer does
+	 * not have it or does not answer in time
+	 */
+	public Object get(final DiskResultStore.Key key) {
+		String owner = ring.owner(key.hash0());
+		if (owner.equals(self) || isFailed(owner)) {
+			return null;
+		}
+		HttpRequest request = request(owner, key).GET().build();
+		long start = System.nanoTime();
+		try {
+			HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+			lookups.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			if (response.statusCode() == HttpStatus.OK.value()) {
+				hits.increment();
+				return new RawValue(new String(response.body(), StandardCharsets.UTF_8));
+			}
+			if (response.statusCode() == HttpStatus.NOT_FOUND.value()) {
+				misses.increment();
+				return null;
+			}
+			fail(owner, "status " + response.statusCode());
+		} catch (IOException e) {
+			fail(owner, e.toString());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return null;
+	}
+
+	/**
+	 * Sends a result parsed here to the peer that owns it, unless that is this instance
+	 */
+	public void offer(final DiskResultStore.Key key, final Object value) {
+		String owner = ring.owner(key.hash0());
+		if (owner.equals(self) || isFailed(owner)) {
+			return;
+		}
+		offers.execute(() -> {
+			try {
+				HttpRequest request = request(owner, key)
+						.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+						.PUT(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(value))).build();
+				HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+				if (response.statusCode() == HttpStatus.NO_CONTENT.value()) {
+					offered.increment();
+				} else {
+					fail(owner, "status " + response.statusCode());
+				}
+			} catch (IOException e) {
+				fail(owner, e.toString());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+	}
+
+	/**
+	 * Whether the request carries the configured token
+	 */
+	public boolean isAuthorized(final String token) {
+		return token != null && MessageDigest.isEqual(properties.getToken().getBytes(StandardCharsets.UTF_8),
+				token.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Result stored here for a peer's lookup, or null
+	 */
+	public byte[] serve(final InputLanguage language, final String hash) {
+		return resultStore.getJson(resultStore.key(language, HexFormat.of().parseHex(hash)));
+	}
+
+	/**
+	 * Stores a result sent by a peer
+	 *
+	 * @return false if the result is not well-formed JSON
+	 */
+	public boolean accept(final InputLanguage language, final String hash, final byte[] json) {
+		try (JsonParser parser = objectMapper.createParser(json)) {
+			while (parser.nextToken() != null) {
+				// Only checks that the whole result is well-formed
+			}
+		} catch (IOException e) {
+			return false;
+		}
+		resultStore.putJson(resultStore.key(language, HexFormat.of().parseHex(hash)), json);
+		return true;
+	}
+
+	@Override
+	public void destroy() throws InterruptedException {
+		offers.shutdown();
+		offers.awaitTermination(properties.getTimeout().toMillis() * 2, TimeUnit.MILLISECONDS);
+	}
+
+	private HttpRequest.Builder request(final String owner, final DiskResultStore.Key key) {
+		return HttpRequest
+				.newBuilder(URI.create(owner + RESULTS_PATH + resultStore.language(key).getValue() + "/"
+						+ key.hashHex()))
+				.timeout(properties.getTimeout()).header(TOKEN_HEADER, properties.getToken());
+	}
+
+	private boolean isFailed(final String peer) {
+		Long until = failedPeers.get(peer);
+		if (until == null) {
+			return false;
+		}
+		if (System.nanoTime() - until < 0) {
+			return true;
+		}
+		failedPeers.remove(peer, until);
+		return false;
+	}
+
+	private void fail(final String peer, final String reason) {
+		failed.increment();
+		if (failedPeers.put(peer, System.nanoTime() + properties.getRetryAfter().toNanos()) == null) {
+			log.warn("Peer {} failed ({}), parsing locally for {}", peer, reason, properties.getRetryAfter());
+		}
+	}
+
+	private static String normalize(final String url) {
+		return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+	}
+
+}
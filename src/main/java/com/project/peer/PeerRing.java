@@ -0,0 +1,37 @@
+package com.project.peer;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.project.util.CommonUtility;
+
+/**
+ * Consistent hash ring of the peers. Every peer is placed at several points so that the keys are
+ * spread evenly, and adding or removing a peer moves only the keys of the neighbouring points.
+ */
+final class PeerRing {
+
+	private final TreeMap<Long, String> points = new TreeMap<>();
+
+	PeerRing(final List<String> peers, final int virtualNodes) {
+		if (peers.isEmpty()) {
+			throw new IllegalArgumentException("The ring needs at least one peer");
+		}
+		for (String peer : peers) {
+			for (int i = 0; i < virtualNodes; i++) {
+				points.put(ByteBuffer.wrap(CommonUtility.sha256(peer + "#" + i)).getLong(), peer);
+			}
+		}
+	}
+
+	/**
+	 * Peer at the first point at or after the hash, going around the ring
+	 */
+	String owner(final long hash) {
+		Map.Entry<Long, String> point = points.ceilingEntry(hash);
+		return (point != null ? point : points.firstEntry()).getValue();
+	}
+
+}
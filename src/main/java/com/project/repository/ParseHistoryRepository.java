@@ -0,0 +1,10 @@
+package com.project.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.project.entity.ParseHistory;
+
+@Repository
+public interface ParseHistoryRepository extends JpaRepository<ParseHistory, Long>, ParseHistoryRepositoryCustom {
+}
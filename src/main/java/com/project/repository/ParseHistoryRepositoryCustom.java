@@ -0,0 +1,22 @@
+package com.project.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.project.dto.ParseHistoryDTO;
+import com.project.dto.ParseHistorySearchDTO;
+
+public interface ParseHistoryRepositoryCustom {
+
+	/**
+	 * Newest first, starting strictly after the given position
+	 *
+	 * @param resultContains JSON documents of which the result must contain at least one, or null
+	 * @param afterCreatedAt position to continue from, or null for the first page
+	 */
+	List<ParseHistoryDTO> search(ParseHistorySearchDTO search, List<String> resultContains,
+			LocalDateTime afterCreatedAt, Long afterId, int limit);
+
+	long count(ParseHistorySearchDTO search, List<String> resultContains);
+
+}
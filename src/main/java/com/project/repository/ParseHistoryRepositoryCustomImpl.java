@@ -0,0 +1,98 @@
+package com.project.repository;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.project.dto.ParseHistoryDTO;
+import com.project.dto.ParseHistorySearchDTO;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * History search with keyset pagination: a page continues from the (created_at, id) of the last
+ * row of the previous one, which the {@code (created_at, id)} indexes seek to directly, instead of
+ * skipping an OFFSET of rows that grows with every page.
+ */
+public class ParseHistoryRepositoryCustomImpl implements ParseHistoryRepositoryCustom {
+
+	private static final String SELECT = "select new com.project.dto.ParseHistoryDTO(h.id, h.inputHash, "
+			+ "h.inputLength, h.language, h.logs, h.success, %s, h.requestedAt, h.parseMicros, h.createdAt) "
+			+ "from ParseHistory h where h.active = true";
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public List<ParseHistoryDTO> search(final ParseHistorySearchDTO search, final List<String> resultContains,
+			final LocalDateTime afterCreatedAt, final Long afterId, final int limit) {
+		StringBuilder jpql = new StringBuilder(
+				String.format(SELECT, search.isIncludeResult() ? "h.result" : "cast(null as String)"));
+		Map<String, Object> parameters = new HashMap<>();
+		appendFilters(search, resultContains, jpql, parameters);
+		if (afterCreatedAt != null) {
+			// A row value comparison, so that the database seeks the index to the position
+			jpql.append(" and (h.createdAt, h.id) < (:afterCreatedAt, :afterId)");
+			parameters.put("afterCreatedAt", afterCreatedAt);
+			parameters.put("afterId", afterId);
+		}
+		jpql.append(" order by h.createdAt desc, h.id desc");
+
+		TypedQuery<ParseHistoryDTO> query = entityManager.createQuery(jpql.toString(), ParseHistoryDTO.class);
+		parameters.forEach(query::setParameter);
+		return query.setMaxResults(limit).getResultList();
+	}
+
+	@Override
+	public long count(final ParseHistorySearchDTO search, final List<String> resultContains) {
+		StringBuilder jpql = new StringBuilder("select count(h) from ParseHistory h where h.active = true");
+		Map<String, Object> parameters = new HashMap<>();
+		appendFilters(search, resultContains, jpql, parameters);
+		TypedQuery<Long> query = entityManager.createQuery(jpql.toString(), Long.class);
+		parameters.forEach(query::setParameter);
+		return query.getSingleResult();
+	}
+
+	private void appendFilters(final ParseHistorySearchDTO search, final List<String> resultContains,
+			final StringBuilder jpql, final Map<String, Object> parameters) {
+		if (search.getLanguage() != null) {
+			jpql.append(" and h.language = :language");
+			parameters.put("language", search.getLanguage());
+		}
+		if (search.getLogs() != null) {
+			jpql.append(" and h.logs = :logs");
+			parameters.put("logs", search.getLogs());
+		}
+		if (search.getSuccess() != null) {
+			jpql.append(" and h.success = :success");
+			parameters.put("success", search.getSuccess());
+		}
+		if (search.getInputHash() != null) {
+			jpql.append(" and h.inputHash = :inputHash");
+			parameters.put("inputHash", search.getInputHash());
+		}
+		if (search.getFrom() != null) {
+			jpql.append(" and h.createdAt >= :from");
+			parameters.put("from", search.getFrom());
+		}
+		if (search.getTo() != null) {
+			jpql.append(" and h.createdAt < :to");
+			parameters.put("to", search.getTo());
+		}
+		if (resultContains != null) {
+			// Each alternative is a containment the GIN index on result answers; the database ORs
+			// the index scans
+			jpql.append(" and (");
+			for (int i = 0; i < resultContains.size(); i++) {
+				jpql.append(i == 0 ? "" : " or ").append("jsonb_contains(h.result, :resultContains").append(i)
+						.append(") = true");
+				parameters.put("resultContains" + i, resultContains.get(i));
+			}
+			jpql.append(')');
+		}
+	}
+
+}
@@ -0,0 +1,116 @@
+package com.project.scheduling;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.stereotype.Component;
+
+import com.project.config.ParserProperties;
+import com.project.constant.InputLanguage;
+import com.project.dto.RequestDTO;
+import com.project.exception.TooManyRequestsException;
+import com.project.locale.MessageByLocaleService;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reserves the heap a parse is expected to need before it starts. The estimate is the input
+ * length times a per-language factor, and reservations come out of a budget of
+ * {@code parser.admission.heap-fraction} of the maximum heap, counted in kilobytes. A request that
+ * does not fit waits up to {@code max-wait} for other parses to release memory and is then
+ * rejected with {@link TooManyRequestsException}, so a burst of large inputs degrades into 429s
+ * rather than an {@link OutOfMemoryError}.
+ * <p>
+ * The budget is not fair: a request that fits is admitted at once, even while a larger one is
+ * waiting for memory, so that small parses are never queued behind large ones.
+ */
+@Component
+@Slf4j
+public class AdmissionController {
+
+	private static final int KILOBYTE = 1024;
+
+	private final ParserProperties parserProperties;
+	private final MessageByLocaleService messageByLocaleService;
+	private final MeterRegistry meterRegistry;
+
+	private final int totalKilobytes;
+	private final Semaphore kilobytes;
+	private final int autoBytesPerChar;
+
+	public AdmissionController(final ParserProperties parserProperties,
+			final MessageByLocaleService messageByLocaleService, final MeterRegistry meterRegistry) {
+		this.parserProperties = parserProperties;
+		this.messageByLocaleService = messageByLocaleService;
+		this.meterRegistry = meterRegistry;
+
+		ParserProperties.Admission admission = parserProperties.getAdmission();
+		long budget = (long) (Runtime.getRuntime().maxMemory() * admission.getHeapFraction());
+		this.totalKilobytes = (int) Math.min(Integer.MAX_VALUE, budget / KILOBYTE);
+		this.kilobytes = new Semaphore(totalKilobytes);
+		// AUTO may resolve to any language, so it is charged the most expensive one
+		this.autoBytesPerChar = admission.getBytesPerChar().values().stream().mapToInt(Integer::intValue).max().orElse(1);
+
+		Gauge.builder("parser.admission.available", kilobytes, Semaphore::availablePermits).baseUnit("kilobytes")
+				.register(meterRegistry);
+		log.info("Parse admission budget: {} KB", totalKilobytes);
+	}
+
+	/**
+	 * Reserves memory for parsing the request, waiting for it if necessary. The reservation must
+	 * be closed once the parse is over.
+	 */
+	public Reservation admit(final RequestDTO requestDTO) {
+		int reserved = estimateKilobytes(requestDTO);
+		boolean acquired = kilobytes.tryAcquire(reserved);
+		if (!acquired) {
+			try {
+				acquired = kilobytes.tryAcquire(reserved, parserProperties.getAdmission().getMaxWait().toMillis(),
+						TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		if (!acquired) {
+			log.warn("Rejected parse needing {} KB, {} KB available", reserved, kilobytes.availablePermits());
+			meterRegistry.counter("parser.admission.rejections").increment();
+			throw new TooManyRequestsException(messageByLocaleService.getMessage("parse.memory.exhausted", null),
+					parserProperties.getBulkhead().getRetryAfter());
+		}
+		return new Reservation(reserved);
+	}
+
+	private int estimateKilobytes(final RequestDTO requestDTO) {
+		InputLanguage language = InputLanguage.getByValue(requestDTO.getLanguage());
+		int bytesPerChar = language == null || language == InputLanguage.AUTO ? autoBytesPerChar
+				: parserProperties.getAdmission().getBytesPerChar().getOrDefault(language, autoBytesPerChar);
+		long length = requestDTO.getInputTxt() == null ? 0 : requestDTO.getInputTxt().length();
+		long estimate = (length * bytesPerChar + KILOBYTE - 1) / KILOBYTE;
+		// A single request larger than the whole budget waits until it can run alone
+		return (int) Math.max(1, Math.min(estimate, totalKilobytes));
+	}
+
+	/**
+	 * Memory held for one parse; closing it more than once releases it only once.
+	 */
+	public class Reservation implements AutoCloseable {
+
+		private final int reserved;
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		private Reservation(final int reserved) {
+			this.reserved = reserved;
+		}
+
+		@Override
+		public void close() {
+			if (released.compareAndSet(false, true)) {
+				kilobytes.release(reserved);
+			}
+		}
+	}
+
+}
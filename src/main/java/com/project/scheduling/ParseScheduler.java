@@ -0,0 +1,121 @@
+package com.project.scheduling;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import com.project.config.AsyncConfig;
+import com.project.config.ParserProperties;
+import com.project.exception.TooManyRequestsException;
+import com.project.locale.MessageByLocaleService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Routes each parse to an executor by input size so that a few multi-megabyte inputs cannot hold
+ * up the small interactive ones. Each size class has its own concurrency limit and queue:
+ * <ul>
+ * <li>small inputs run on the {@link AsyncConfig#SMALL_PARSE_EXECUTOR} pool, at most
+ * {@code small.concurrency} at a time, with up to {@code small.queue-capacity} more waiting
+ * briefly on the request thread for a slot</li>
+ * <li>large inputs run on the {@link AsyncConfig#LARGE_PARSE_EXECUTOR} pool</li>
+ * </ul>
+ * Both run off the request thread, so that the request timeout and client aborts reach the parse.
+ * A request that finds its class full is rejected with {@link TooManyRequestsException}.
+ */
+@Component
+@Slf4j
+public class ParseScheduler {
+
+	private static final String SMALL = "small";
+	private static final String LARGE = "large";
+
+	private final ParserProperties.Bulkhead bulkhead;
+	private final MessageByLocaleService messageByLocaleService;
+	private final MeterRegistry meterRegistry;
+	private final ThreadPoolTaskExecutor smallParseExecutor;
+	private final ThreadPoolTaskExecutor largeParseExecutor;
+
+	private final Semaphore smallSlots;
+	private final AtomicInteger smallWaiting = new AtomicInteger();
+
+	private final AsyncTaskExecutor smallExecutor = this::submitSmall;
+	private final AsyncTaskExecutor largeExecutor = this::submitLarge;
+
+	public ParseScheduler(final ParserProperties parserProperties, final MessageByLocaleService messageByLocaleService,
+			final MeterRegistry meterRegistry,
+			@Qualifier(AsyncConfig.SMALL_PARSE_EXECUTOR) final ThreadPoolTaskExecutor smallParseExecutor,
+			@Qualifier(AsyncConfig.LARGE_PARSE_EXECUTOR) final ThreadPoolTaskExecutor largeParseExecutor) {
+		this.bulkhead = parserProperties.getBulkhead();
+		this.messageByLocaleService = messageByLocaleService;
+		this.meterRegistry = meterRegistry;
+		this.smallParseExecutor = smallParseExecutor;
+		this.largeParseExecutor = largeParseExecutor;
+		this.smallSlots = new Semaphore(bulkhead.getSmall().getConcurrency());
+	}
+
+	/**
+	 * Executor for a parse of the given input; passing it to a {@code WebAsyncTask} makes the
+	 * request wait in that size class.
+	 */
+	public AsyncTaskExecutor executorFor(final String input) {
+		return input != null && input.length() >= bulkhead.getLargeInputThreshold().toBytes() ? largeExecutor
+				: smallExecutor;
+	}
+
+	private void submitSmall(final Runnable task) {
+		if (!smallSlots.tryAcquire()) {
+			if (smallWaiting.incrementAndGet() > bulkhead.getSmall().getQueueCapacity()) {
+				smallWaiting.decrementAndGet();
+				throw rejected(SMALL);
+			}
+			boolean acquired;
+			try {
+				acquired = smallSlots.tryAcquire(bulkhead.getQueueTimeout().toMillis(), TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				acquired = false;
+			} finally {
+				smallWaiting.decrementAndGet();
+			}
+			if (!acquired) {
+				throw rejected(SMALL);
+			}
+		}
+		try {
+			smallParseExecutor.execute(() -> {
+				try {
+					task.run();
+				} finally {
+					smallSlots.release();
+				}
+			});
+		} catch (TaskRejectedException e) {
+			smallSlots.release();
+			throw rejected(SMALL);
+		}
+	}
+
+	private void submitLarge(final Runnable task) {
+		try {
+			largeParseExecutor.execute(task);
+		} catch (TaskRejectedException e) {
+			throw rejected(LARGE);
+		}
+	}
+
+	private TooManyRequestsException rejected(final String sizeClass) {
+		log.warn("Rejected {} parse, size class is full", sizeClass);
+		meterRegistry.counter("parser.bulkhead.rejections", "class", sizeClass).increment();
+		return new TooManyRequestsException(messageByLocaleService.getMessage("too.many.requests", null),
+				bulkhead.getRetryAfter());
+	}
+
+}
@@ -0,0 +1,28 @@
+package com.project.service;
+
+import java.io.InputStream;
+import java.util.Map;
+
+import org.springframework.core.io.InputStreamSource;
+
+import com.project.dto.LogIngestResultDTO;
+
+public interface LogIngestService {
+
+	/**
+	 * Converts every DTO fragment of a log read as a stream of UTF-8 lines, plain or
+	 * gzip-compressed, and loads them into {@code parsed_log_fragment}, all or nothing
+	 *
+	 * @param source name recorded with the rows, e.g. the log file name; may be null
+	 */
+	LogIngestResultDTO ingest(InputStream input, String language, String source) throws Exception;
+
+	/**
+	 * Same for several logs at once, e.g. rotated archives, converted in parallel under one ingest
+	 * id; the rows of each carry its name as source and their line in it
+	 *
+	 * @param logs each log by name, in the order they are reported
+	 */
+	LogIngestResultDTO ingestAll(Map<String, InputStreamSource> logs, String language) throws Exception;
+
+}
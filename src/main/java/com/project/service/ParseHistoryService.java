@@ -0,0 +1,22 @@
+package com.project.service;
+
+import com.project.dto.ParseHistoryPageDTO;
+import com.project.dto.ParseHistorySearchDTO;
+import com.project.dto.RequestDTO;
+
+public interface ParseHistoryService {
+
+	/**
+	 * Queues the request for the history without waiting for it to be written
+	 *
+	 * @param logs   whether the input is a raw log, as for /parser/logs
+	 * @param result converted value, ignored when the parse failed
+	 */
+	void record(RequestDTO requestDTO, boolean logs, boolean success, Object result, long parseNanos);
+
+	/**
+	 * One page of matching history, newest first
+	 */
+	ParseHistoryPageDTO search(ParseHistorySearchDTO search) throws Exception;
+
+}
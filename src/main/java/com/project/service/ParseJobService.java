@@ -0,0 +1,19 @@
+package com.project.service;
+
+import com.project.dto.ParseJobDTO;
+import com.project.dto.RequestDTO;
+
+public interface ParseJobService {
+
+	/**
+	 * Queues the parse and returns at once with the job's id
+	 *
+	 * @param logs whether the input is a raw log to extract fragments from, as for /parser/logs
+	 */
+	ParseJobDTO submitJob(RequestDTO requestDTO, boolean logs) throws Exception;
+
+	ParseJobDTO getJob(String id) throws Exception;
+
+	ParseJobDTO cancelJob(String id) throws Exception;
+
+}
@@ -1,9 +1,33 @@
 package com.project.service;
 
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+import com.project.dto.LogParseResultDTO;
 import com.project.dto.RequestDTO;
+import com.project.parser.ParseBudget;
+import com.project.stream.LogStreamContext;
 
 public interface ParserService {
 
-	Object parseService(RequestDTO requestDTO) throws Exception;
+	/**
+	 * @param budget limits of the request; cancelling it from another thread stops the parse
+	 */
+	Object parseService(RequestDTO requestDTO, ParseBudget budget) throws Exception;
+
+	LogParseResultDTO parseLogService(RequestDTO requestDTO, ParseBudget budget) throws Exception;
+
+	/**
+	 * @param lineProgress called with the number of lines processed so far after each line
+	 */
+	LogParseResultDTO parseLogService(RequestDTO requestDTO, ParseBudget budget, IntConsumer lineProgress)
+			throws Exception;
+
+	/**
+	 * Converts the fragments of one streamed log line, reusing the connection's warm state
+	 */
+	List<Map<String, Object>> parseLogLine(String line, LogStreamContext context, ParseBudget budget)
+			throws Exception;
 
 }
@@ -0,0 +1,280 @@
+package com.project.service.impl;
+
+import java.io.EOFException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.ZipException;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.config.AsyncConfig;
+import com.project.config.ParserProperties;
+import com.project.constant.InputLanguage;
+import com.project.dto.LogIngestResultDTO;
+import com.project.dto.LogIngestSourceDTO;
+import com.project.exception.BaseException;
+import com.project.exception.InflatedBodyTooLargeException;
+import com.project.exception.TooManyRequestsException;
+import com.project.exception.ValidationException;
+import com.project.ingest.BoundedLineReader;
+import com.project.ingest.CopyBatchWriter;
+import com.project.ingest.CopyRowBuffer;
+import com.project.ingest.LogArchive;
+import com.project.locale.MessageByLocaleService;
+import com.project.parser.ParseBudget;
+import com.project.service.LogIngestService;
+import com.project.service.ParserService;
+import com.project.stream.LogStreamContext;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Parses on the request thread and loads through a {@link CopyBatchWriter} on a thread of its
+ * own, so that parsing and the database work in parallel; lines are converted with the warm
+ * per-connection state of log streams. The logs of a multi-log ingest are parsed in parallel on
+ * the {@link AsyncConfig#ARCHIVE_INGEST_EXECUTOR} pool and all feed the same COPY.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "parser.ingest", name = "enabled", havingValue = "true")
+public class LogIngestServiceImpl implements LogIngestService {
+
+	private static final String COPY_SQL = "COPY parsed_log_fragment "
+			+ "(ingest_id, source, line_number, column_number, data) FROM STDIN";
+	/**
+	 * Length of {@code parsed_log_fragment.source}
+	 */
+	private static final int MAX_SOURCE_LENGTH = 255;
+
+	private final MessageByLocaleService messageByLocaleService;
+	private final ParserService parserService;
+	private final ParserProperties parserProperties;
+	private final ObjectMapper objectMapper;
+	private final DataSource dataSource;
+	private final ThreadPoolTaskExecutor archiveIngestExecutor;
+	private final Semaphore ingests;
+	private final Counter rowsCounter;
+
+	public LogIngestServiceImpl(final MessageByLocaleService messageByLocaleService,
+			final ParserService parserService, final ParserProperties parserProperties,
+			final ObjectMapper objectMapper, final DataSource dataSource, final MeterRegistry meterRegistry,
+			@Qualifier(AsyncConfig.ARCHIVE_INGEST_EXECUTOR) final ThreadPoolTaskExecutor archiveIngestExecutor) {
+		this.messageByLocaleService = messageByLocaleService;
+		this.parserService = parserService;
+		this.parserProperties = parserProperties;
+		this.objectMapper = objectMapper;
+		this.dataSource = dataSource;
+		this.archiveIngestExecutor = archiveIngestExecutor;
+		this.ingests = new Semaphore(parserProperties.getIngest().getMaxConcurrentIngests());
+		this.rowsCounter = meterRegistry.counter("parser.ingest.rows");
+	}
+
+	@Override
+	public LogIngestResultDTO ingest(final InputStream input, final String language, final String source)
+			throws Exception {
+		log.info("Inside LogIngestServiceImpl::ingest, language: {}, source: {}", language, source);
+		Map<String, InputStreamSource> logs = new LinkedHashMap<>();
+		logs.put(source, () -> input);
+		return ingest(logs, language, false);
+	}
+
+	@Override
+	public LogIngestResultDTO ingestAll(final Map<String, InputStreamSource> logs, final String language)
+			throws Exception {
+		log.info("Inside LogIngestServiceImpl::ingestAll, language: {}, logs: {}", language, logs.keySet());
+		if (logs.isEmpty()) {
+			throw new ValidationException(messageByLocaleService.getMessage("ingest.logs.missing", null));
+		}
+		return ingest(logs, language, true);
+	}
+
+	private LogIngestResultDTO ingest(final Map<String, InputStreamSource> logs, final String language,
+			final boolean multiple) throws Exception {
+		InputLanguage inputLanguage = InputLanguage.getByValue(language);
+		if (inputLanguage == null) {
+			throw new ValidationException(messageByLocaleService.getMessage("invalid.language", null));
+		}
+		for (String source : logs.keySet()) {
+			// A longer one would fail the whole COPY
+			if (source != null && source.length() > MAX_SOURCE_LENGTH) {
+				throw new ValidationException(messageByLocaleService.getMessage("ingest.source.too.long",
+						new Object[] { MAX_SOURCE_LENGTH }));
+			}
+		}
+		if (!ingests.tryAcquire()) {
+			throw new TooManyRequestsException(messageByLocaleService.getMessage("ingest.busy", null),
+					parserProperties.getBulkhead().getRetryAfter());
+		}
+		try {
+			return load(logs, inputLanguage, multiple);
+		} finally {
+			ingests.release();
+		}
+	}
+
+	private LogIngestResultDTO load(final Map<String, InputStreamSource> logs, final InputLanguage language,
+			final boolean multiple) throws Exception {
+		String ingestId = UUID.randomUUID().toString();
+		CopyBatchWriter writer = new CopyBatchWriter(dataSource, COPY_SQL,
+				new ArrayBlockingQueue<>(parserProperties.getIngest().getQueueCapacity()));
+		Thread thread = new Thread(writer, "project-copy-ingest");
+		thread.setDaemon(true);
+		thread.start();
+
+		long startNanos = System.nanoTime();
+		AtomicBoolean stopped = new AtomicBoolean();
+		List<LogIngestSourceDTO> sources;
+		boolean complete = false;
+		try {
+			if (logs.size() == 1) {
+				Map.Entry<String, InputStreamSource> entry = logs.entrySet().iterator().next();
+				sources = List.of(convert(ingestId, language, entry.getKey(), entry.getValue(), writer, stopped));
+			} else {
+				sources = convertAll(ingestId, language, logs, writer, stopped);
+			}
+			writer.end();
+			complete = true;
+		} finally {
+			if (!complete) {
+				stopped.set(true);
+				writer.cancel();
+			}
+			thread.join();
+		}
+		if (writer.getFailure() != null) {
+			throw writer.getFailure();
+		}
+
+		long elapsedNanos = System.nanoTime() - startNanos;
+		rowsCounter.increment(writer.getRowsCopied());
+		LogIngestResultDTO response = new LogIngestResultDTO();
+		response.setIngestId(ingestId);
+		response.setTotalLines(sources.stream().mapToLong(LogIngestSourceDTO::getTotalLines).sum());
+		response.setRows(writer.getRowsCopied());
+		response.setFailed(sources.stream().mapToLong(LogIngestSourceDTO::getFailed).sum());
+		response.setBatches(writer.getBatchCount());
+		response.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+		response.setRowsPerSecond(writer.getRowsCopied() * 1_000_000_000L / Math.max(elapsedNanos, 1));
+		response.setBackpressureMillis(TimeUnit.NANOSECONDS.toMillis(writer.getWaitNanos()));
+		if (multiple) {
+			response.setSources(sources);
+		}
+		log.info("Ingested {} rows from {} lines of {} logs in {} ms, {} rows/s, {} ms waiting for the database",
+				response.getRows(), response.getTotalLines(), sources.size(), response.getElapsedMillis(),
+				response.getRowsPerSecond(), response.getBackpressureMillis());
+		return response;
+	}
+
+	/**
+	 * Converts every log on its own thread of the archive pool. The first failure stops the others
+	 * and is thrown, so that the whole ingest is cancelled.
+	 */
+	private List<LogIngestSourceDTO> convertAll(final String ingestId, final InputLanguage language,
+			final Map<String, InputStreamSource> logs, final CopyBatchWriter writer, final AtomicBoolean stopped)
+			throws Exception {
+		List<Future<LogIngestSourceDTO>> futures = new ArrayList<>(logs.size());
+		try {
+			for (Map.Entry<String, InputStreamSource> entry : logs.entrySet()) {
+				futures.add(archiveIngestExecutor
+						.submit(() -> convert(ingestId, language, entry.getKey(), entry.getValue(), writer, stopped)));
+			}
+			List<LogIngestSourceDTO> sources = new ArrayList<>(logs.size());
+			for (Future<LogIngestSourceDTO> future : futures) {
+				sources.add(future.get());
+			}
+			return sources;
+		} catch (ExecutionException e) {
+			throw e.getCause() instanceof Exception cause ? cause : e;
+		} finally {
+			for (Future<LogIngestSourceDTO> future : futures) {
+				// Those not started yet never start; the running ones stop at their next line
+				future.cancel(false);
+			}
+		}
+	}
+
+	/**
+	 * Converts the lines of one log, inflating it as it is read if it is gzip-compressed, and sends
+	 * its rows to the writer
+	 */
+	private LogIngestSourceDTO convert(final String ingestId, final InputLanguage language, final String source,
+			final InputStreamSource input, final CopyBatchWriter writer, final AtomicBoolean stopped)
+			throws Exception {
+		ParserProperties.Ingest ingest = parserProperties.getIngest();
+		long batchBytes = ingest.getBatchSize().toBytes();
+		CopyRowBuffer rows = new CopyRowBuffer(ingestId, source);
+		LogStreamContext context = new LogStreamContext(language, parserProperties.getStream());
+		long rowCount = 0;
+		long failed = 0;
+		try (BoundedLineReader lines = LogArchive.lines(input.getInputStream(),
+				(int) Math.min(parserProperties.getMaxInputSize().toBytes(), Integer.MAX_VALUE),
+				parserProperties.getDecompression().getMaxInflatedSize().toBytes())) {
+			while (!stopped.get() && lines.next()) {
+				String line = lines.line();
+				if (line == null) {
+					// Longer than the input limit, never held whole
+					context.nextLineNumber();
+					failed++;
+					continue;
+				}
+				List<Map<String, Object>> results;
+				try {
+					results = parserService.parseLogLine(line, context, new ParseBudget(parserProperties));
+				} catch (BaseException e) {
+					// The line is over the input limit or ran out of parse time
+					failed++;
+					continue;
+				}
+				for (Map<String, Object> result : results) {
+					if (!result.containsKey("data")) {
+						failed++;
+						continue;
+					}
+					rows.add((Integer) result.get("line"), (Integer) result.get("column"),
+							objectMapper.writeValueAsString(result.get("data")));
+					rowCount++;
+					if (rows.getRowCount() >= ingest.getBatchRows() || rows.length() >= batchBytes) {
+						writer.send(rows.drain());
+					}
+				}
+			}
+		} catch (LogArchive.InflatedSizeExceededException e) {
+			throw new InflatedBodyTooLargeException(messageByLocaleService.getMessage("ingest.archive.too.large",
+					new Object[] { source, parserProperties.getDecompression().getMaxInflatedSize() }));
+		} catch (ZipException | EOFException e) {
+			// A corrupt or truncated archive, e.g. one still being written when it was sent
+			throw new ValidationException(messageByLocaleService.getMessage("ingest.archive.invalid",
+					new Object[] { source, e.getMessage() }));
+		}
+		if (rows.getRowCount() > 0) {
+			writer.send(rows.drain());
+		}
+
+		LogIngestSourceDTO result = new LogIngestSourceDTO();
+		result.setSource(source);
+		result.setTotalLines((long) context.getLineNumber());
+		result.setRows(rowCount);
+		result.setFailed(failed);
+		return result;
+	}
+
+}
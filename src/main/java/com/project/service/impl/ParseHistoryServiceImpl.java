@@ -0,0 +1,200 @@
+package com.project.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.project.config.ParserProperties;
+import com.project.dto.ParseHistoryDTO;
+import com.project.dto.ParseHistoryPageDTO;
+import com.project.dto.ParseHistorySearchDTO;
+import com.project.dto.RequestDTO;
+import com.project.exception.ValidationException;
+import com.project.history.ParseHistoryWriter;
+import com.project.locale.MessageByLocaleService;
+import com.project.repository.ParseHistoryRepository;
+import com.project.service.ParseHistoryService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RequiredArgsConstructor
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "parser.history", name = "enabled", havingValue = "true")
+public class ParseHistoryServiceImpl implements ParseHistoryService {
+
+	private static final char CURSOR_SEPARATOR = '|';
+	private static final String ARRAY_SUFFIX = "[]";
+
+	private final MessageByLocaleService messageByLocaleService;
+	private final ParseHistoryWriter parseHistoryWriter;
+	private final ParseHistoryRepository parseHistoryRepository;
+	private final ParserProperties parserProperties;
+	private final ObjectMapper objectMapper;
+
+	@Override
+	public void record(final RequestDTO requestDTO, final boolean logs, final boolean success, final Object result,
+			final long parseNanos) {
+		// Hashing and serializing the result are left to the writer thread
+		parseHistoryWriter.offer(requestDTO.getInputTxt(), requestDTO.getLanguage(), logs, success, result, parseNanos,
+				LocalDateTime.now());
+	}
+
+	@Override
+	public ParseHistoryPageDTO search(final ParseHistorySearchDTO search) throws Exception {
+		log.info("Inside ParseHistoryServiceImpl::search, {}", search);
+
+		ParserProperties.History history = parserProperties.getHistory();
+		int limit = search.getLimit() == null ? history.getDefaultPageSize() : search.getLimit();
+		if (limit < 1 || limit > history.getMaxPageSize()) {
+			throw new ValidationException(messageByLocaleService.getMessage("history.limit.invalid",
+					new Object[] { history.getMaxPageSize() }));
+		}
+
+		LocalDateTime afterCreatedAt = null;
+		Long afterId = null;
+		if (search.getCursor() != null) {
+			String position = decodeCursor(search.getCursor());
+			int separator = position.indexOf(CURSOR_SEPARATOR);
+			try {
+				afterCreatedAt = LocalDateTime.parse(position.substring(0, separator));
+				afterId = Long.valueOf(position.substring(separator + 1));
+			} catch (RuntimeException e) {
+				throw new ValidationException(messageByLocaleService.getMessage("history.cursor.invalid", null));
+			}
+		}
+
+		List<String> resultContains = toContainments(search.getWhere());
+
+		// One row more than the page tells whether there is a next page without counting
+		List<ParseHistoryDTO> rows = parseHistoryRepository.search(search, resultContains, afterCreatedAt, afterId,
+				limit + 1);
+		ParseHistoryPageDTO page = new ParseHistoryPageDTO();
+		if (rows.size() > limit) {
+			rows = rows.subList(0, limit);
+			ParseHistoryDTO last = rows.get(limit - 1);
+			page.setNextCursor(encodeCursor(last.getCreatedAt() + String.valueOf(CURSOR_SEPARATOR) + last.getId()));
+		}
+		page.setItems(rows);
+		if (search.isIncludeTotal()) {
+			page.setTotalCount(parseHistoryRepository.count(search, resultContains));
+		}
+		return page;
+	}
+
+	/**
+	 * Merges the field predicates into one document, then returns it in the three shapes a
+	 * matching result can take: a DTO, a log result holding the DTO, or a list holding it.
+	 *
+	 * @return null when there are no predicates
+	 */
+	private List<String> toContainments(final List<String> where) throws Exception {
+		if (where == null || where.isEmpty()) {
+			return null;
+		}
+		ObjectNode fields = objectMapper.createObjectNode();
+		for (String predicate : where) {
+			int equals = predicate.indexOf('=');
+			if (equals <= 0) {
+				throw invalidPredicate(predicate);
+			}
+			JsonNode node = toValue(predicate.substring(equals + 1));
+			String[] segments = predicate.substring(0, equals).split("\\.", -1);
+			for (int i = segments.length - 1; i >= 0; i--) {
+				boolean array = segments[i].endsWith(ARRAY_SUFFIX);
+				String name = array ? segments[i].substring(0, segments[i].length() - ARRAY_SUFFIX.length())
+						: segments[i];
+				if (name.isBlank()) {
+					throw invalidPredicate(predicate);
+				}
+				ObjectNode parent = objectMapper.createObjectNode();
+				parent.set(name, array ? objectMapper.createArrayNode().add(node) : node);
+				node = parent;
+			}
+			if (!merge(fields, (ObjectNode) node)) {
+				throw invalidPredicate(predicate);
+			}
+		}
+
+		ObjectNode fragment = objectMapper.createObjectNode().set("data", fields);
+		ObjectNode logResult = objectMapper.createObjectNode();
+		logResult.putArray("results").add(fragment);
+		ArrayNode list = objectMapper.createArrayNode().add(fields);
+		return List.of(objectMapper.writeValueAsString(fields), objectMapper.writeValueAsString(logResult),
+				objectMapper.writeValueAsString(list));
+	}
+
+	/**
+	 * A value that is valid JSON as a whole is taken as JSON, anything else as a string
+	 */
+	private JsonNode toValue(final String value) {
+		try {
+			JsonNode node = objectMapper.reader().with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS)
+					.readTree(value);
+			return node == null || node.isMissingNode() ? TextNode.valueOf(value) : node;
+		} catch (JsonProcessingException e) {
+			return TextNode.valueOf(value);
+		}
+	}
+
+	/**
+	 * Adds the fields of the source to the target, merging objects and appending array elements
+	 *
+	 * @return false when a field would need two different values
+	 */
+	private boolean merge(final ObjectNode target, final ObjectNode source) {
+		Iterator<Map.Entry<String, JsonNode>> fields = source.fields();
+		while (fields.hasNext()) {
+			Map.Entry<String, JsonNode> field = fields.next();
+			JsonNode existing = target.get(field.getKey());
+			JsonNode value = field.getValue();
+			if (existing == null) {
+				target.set(field.getKey(), value);
+			} else if (existing instanceof ObjectNode existingObject && value instanceof ObjectNode object) {
+				if (!merge(existingObject, object)) {
+					return false;
+				}
+			} else if (existing instanceof ArrayNode existingArray && value instanceof ArrayNode array) {
+				existingArray.addAll(array);
+			} else if (!existing.equals(value)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private ValidationException invalidPredicate(final String predicate) {
+		return new ValidationException(
+				messageByLocaleService.getMessage("history.where.invalid", new Object[] { predicate }));
+	}
+
+	/**
+	 * Cursors are opaque to clients, so that the position they encode can change
+	 */
+	private String encodeCursor(final String position) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private String decodeCursor(final String cursor) throws ValidationException {
+		try {
+			return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+		} catch (IllegalArgumentException e) {
+			throw new ValidationException(messageByLocaleService.getMessage("history.cursor.invalid", null));
+		}
+	}
+
+}
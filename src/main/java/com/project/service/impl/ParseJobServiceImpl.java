@@ -0,0 +1,174 @@
+package com.project.service.impl;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import com.project.config.AsyncConfig;
+import com.project.config.ParserProperties;
+import com.project.constant.JobStatus;
+import com.project.dto.ParseJobDTO;
+import com.project.dto.RequestDTO;
+import com.project.exception.BaseException;
+import com.project.exception.NotFoundException;
+import com.project.exception.ParseFailedException;
+import com.project.exception.PayloadTooLargeException;
+import com.project.exception.TooManyRequestsException;
+import com.project.job.ParseJob;
+import com.project.job.ParseJobStore;
+import com.project.locale.MessageByLocaleService;
+import com.project.parser.ParseBudget;
+import com.project.scheduling.AdmissionController;
+import com.project.service.ParseHistoryService;
+import com.project.service.ParseJobService;
+import com.project.service.ParserService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class ParseJobServiceImpl implements ParseJobService {
+
+	private final MessageByLocaleService messageByLocaleService;
+	private final ParserService parserService;
+	private final ParseJobStore parseJobStore;
+	private final AdmissionController admissionController;
+	private final ParserProperties parserProperties;
+	private final MeterRegistry meterRegistry;
+	private final ThreadPoolTaskExecutor asyncExecutor;
+	private final ObjectProvider<ParseHistoryService> parseHistoryService;
+
+	public ParseJobServiceImpl(final MessageByLocaleService messageByLocaleService, final ParserService parserService,
+			final ParseJobStore parseJobStore, final AdmissionController admissionController,
+			final ParserProperties parserProperties, final MeterRegistry meterRegistry,
+			@Qualifier(AsyncConfig.ASYNC_EXECUTOR) final ThreadPoolTaskExecutor asyncExecutor,
+			final ObjectProvider<ParseHistoryService> parseHistoryService) {
+		this.messageByLocaleService = messageByLocaleService;
+		this.parserService = parserService;
+		this.parseJobStore = parseJobStore;
+		this.admissionController = admissionController;
+		this.parserProperties = parserProperties;
+		this.meterRegistry = meterRegistry;
+		this.asyncExecutor = asyncExecutor;
+		this.parseHistoryService = parseHistoryService;
+	}
+
+	@Override
+	public ParseJobDTO submitJob(final RequestDTO requestDTO, final boolean logs) throws Exception {
+		log.info("Inside ParseJobServiceImpl::submitJob, language: {}, logs: {}", requestDTO.getLanguage(), logs);
+
+		ParserProperties.Jobs jobs = parserProperties.getJobs();
+		String input = requestDTO.getInputTxt();
+		if (input.length() > jobs.getMaxInputSize().toBytes()) {
+			throw new PayloadTooLargeException(
+					messageByLocaleService.getMessage("input.too.large", new Object[] { jobs.getMaxInputSize() }));
+		}
+
+		AdmissionController.Reservation reservation = admissionController.admit(requestDTO);
+		ParseJob job = new ParseJob(countLines(input),
+				new ParseBudget(parserProperties, jobs.getMaxInputSize(), jobs.getMaxParseTime()), reservation);
+		if (!parseJobStore.add(job)) {
+			job.release();
+			throw rejected();
+		}
+		try {
+			asyncExecutor.execute(() -> runJob(job, requestDTO, logs));
+		} catch (TaskRejectedException e) {
+			parseJobStore.remove(job.getId());
+			throw rejected();
+		}
+		return toDTO(job);
+	}
+
+	@Override
+	public ParseJobDTO getJob(final String id) throws Exception {
+		return toDTO(findJob(id));
+	}
+
+	@Override
+	public ParseJobDTO cancelJob(final String id) throws Exception {
+		log.info("Inside ParseJobServiceImpl::cancelJob, id: {}", id);
+		ParseJob job = findJob(id);
+		job.cancel();
+		return toDTO(job);
+	}
+
+	private ParseJob findJob(final String id) throws NotFoundException {
+		return parseJobStore.get(id)
+				.orElseThrow(() -> new NotFoundException(messageByLocaleService.getMessage("job.not.found", null)));
+	}
+
+	/**
+	 * Runs the job; a succeeded job keeps its admission reservation for its result until it is
+	 * dropped from the store
+	 */
+	private void runJob(final ParseJob job, final RequestDTO requestDTO, final boolean logs) {
+		job.start();
+		long startNanos = System.nanoTime();
+		try {
+			if (job.getBudget().isCancelled()) {
+				// Cancelled while still queued
+				job.fail(messageByLocaleService.getMessage("job.cancelled", null), null);
+				return;
+			}
+			Object result = logs ? parserService.parseLogService(requestDTO, job.getBudget(), job::setProcessedLines)
+					: parserService.parseService(requestDTO, job.getBudget());
+			job.succeed(result);
+		} catch (ParseFailedException e) {
+			job.fail(e.getMessage(), e.getError());
+		} catch (BaseException e) {
+			job.fail(e.getMessage(), null);
+		} catch (Exception e) {
+			log.error("Parse job {} failed", job.getId(), e);
+			job.fail(messageByLocaleService.getMessage("common.error", null), null);
+		} finally {
+			boolean success = job.getStatus() == JobStatus.SUCCEEDED;
+			if (!success) {
+				job.release();
+			}
+			long parseNanos = System.nanoTime() - startNanos;
+			parseHistoryService.ifAvailable(
+					history -> history.record(requestDTO, logs, success, job.getResult(), parseNanos));
+			meterRegistry.counter("parser.jobs.finished", "status", job.getStatus().name().toLowerCase()).increment();
+		}
+	}
+
+	private TooManyRequestsException rejected() {
+		meterRegistry.counter("parser.jobs.rejections").increment();
+		return new TooManyRequestsException(messageByLocaleService.getMessage("too.many.requests", null),
+				parserProperties.getBulkhead().getRetryAfter());
+	}
+
+	private int countLines(final String input) {
+		int lines = 1;
+		for (int i = 0; i < input.length(); i++) {
+			if (input.charAt(i) == '\n') {
+				lines++;
+			}
+		}
+		return lines;
+	}
+
+	private ParseJobDTO toDTO(final ParseJob job) {
+		JobStatus status = job.getStatus();
+		ParseJobDTO dto = new ParseJobDTO();
+		dto.setId(job.getId());
+		dto.setStatus(status);
+		if (status == JobStatus.SUCCEEDED) {
+			dto.setProgress(100);
+		} else if (job.getProcessedLines() > 0) {
+			dto.setProgress((int) (job.getProcessedLines() * 100L / job.getTotalLines()));
+		}
+		dto.setSubmittedAt(job.getSubmittedAt());
+		dto.setStartedAt(job.getStartedAt());
+		dto.setFinishedAt(job.getFinishedAt());
+		dto.setResult(job.getResult());
+		dto.setMessage(job.getMessage());
+		dto.setError(job.getError());
+		return dto;
+	}
+
+}
@@ -1,21 +1,43 @@
 package com.project.service.impl;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.IntConsumer;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import com.project.constant.InputLanguage;
+import com.project.dto.LogParseResultDTO;
 import com.project.dto.RequestDTO;
+import com.project.exception.ParseFailedException;
+import com.project.exception.ParseLimitExceededException;
+import com.project.exception.PayloadTooLargeException;
 import com.project.exception.ValidationException;
 import com.project.locale.MessageByLocaleService;
+import com.project.parser.LanguageDetector;
+import com.project.parser.LogFragment;
+import com.project.parser.LogFragmentExtractor;
 import com.project.parser.LogParser;
+import com.project.parser.ParseBudget;
+import com.project.parser.ParseError;
+import com.project.parser.ParseLimit;
+import com.project.parser.ParseResult;
+import com.project.peer.PeerResultCache;
 import com.project.service.ParserService;
+import com.project.store.DiskResultStore;
+import com.project.store.ResultStore;
+import com.project.stream.LogStreamContext;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-@Transactional(rollbackFor = Throwable.class)
 @RequiredArgsConstructor
 @Slf4j
 @Service
@@ -23,24 +45,242 @@ public class ParserServiceImpl implements ParserService {
 
 	private final MessageByLocaleService messageByLocaleService;
 	private final Map<String, LogParser> logParsers;
+	private final LogFragmentExtractor logFragmentExtractor;
+	private final LanguageDetector languageDetector;
+	private final MeterRegistry meterRegistry;
+	private final ObjectProvider<ResultStore> resultStore;
+	private final ObjectProvider<PeerResultCache> peerResultCache;
 
 	@Override
-	public Object parseService(final RequestDTO requestDTO) throws Exception {
+	public Object parseService(final RequestDTO requestDTO, final ParseBudget budget) throws Exception {
 		log.info("Inside ParserServiceImpl::parseService, {}", requestDTO);
 
+		String input = requestDTO.getInputTxt();
+		checkInputSize(input, budget);
+		ResultStore store = resultStore.getIfAvailable();
+		DiskResultStore.Key key = storeKey(store, InputLanguage.getByValue(requestDTO.getLanguage()), input);
+		PeerResultCache peers = key != null ? peerResultCache.getIfAvailable() : null;
+		boolean shared = peers != null && peers.isShared(input);
+		Object stored = store != null ? store.get(key) : null;
+		if (stored == null && shared && (stored = peers.get(key)) != null) {
+			store.put(key, stored);
+		}
+		if (stored != null) {
+			return stored;
+		}
+		LogParser parser = getParser(requestDTO.getLanguage(), input);
+
+		ParseResult result = parser.parse(input, budget);
+		if (result.getStatus() == ParseResult.Status.UNSUPPORTED) {
+			throw new ValidationException(messageByLocaleService.getMessage("can.not.parse.selected.language", null));
+		}
+		if (result.isLimitExceeded()) {
+			throw limitExceeded(result.getError());
+		}
+		if (result.getStatus() == ParseResult.Status.FAILED) {
+			ParseError error = result.getError();
+			throw new ParseFailedException(messageByLocaleService.getMessage("parse.failed",
+					new Object[] { error.getMessage(), error.getLine(), error.getColumn() }), error);
+		}
+		if (store != null) {
+			store.put(key, result.getValue());
+		}
+		if (shared) {
+			peers.offer(key, result.getValue());
+		}
+		return result.getValue();
+	}
+
+	@Override
+	public LogParseResultDTO parseLogService(final RequestDTO requestDTO, final ParseBudget budget) throws Exception {
+		return parseLogService(requestDTO, budget, line -> {
+		});
+	}
+
+	@Override
+	public LogParseResultDTO parseLogService(final RequestDTO requestDTO, final ParseBudget budget,
+			final IntConsumer lineProgress) throws Exception {
+		log.info("Inside ParserServiceImpl::parseLogService, language: {}", requestDTO.getLanguage());
+		checkInputSize(requestDTO.getInputTxt(), budget);
+
+		// Fragments of one log can come from different services, so AUTO is resolved per fragment
+		boolean autoDetect = InputLanguage.AUTO.getValue().equals(requestDTO.getLanguage());
+		LogParser parser = autoDetect ? null : getParser(requestDTO.getLanguage(), null);
 		InputLanguage language = InputLanguage.getByValue(requestDTO.getLanguage());
+		ResultStore store = resultStore.getIfAvailable();
+
+		ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+		long startNanos = System.nanoTime();
+		long startCpuNanos = threadMXBean.getCurrentThreadCpuTime();
+
+		List<Map<String, Object>> results = new ArrayList<>();
+		int totalLines = 0;
+		Iterator<String> lines = requestDTO.getInputTxt().lines().iterator();
+		while (lines.hasNext()) {
+			for (LogFragment fragment : logFragmentExtractor.extractLine(lines.next(), ++totalLines)) {
+				DiskResultStore.Key key = storeKey(store, language, fragment.getText());
+				Object stored = store != null ? store.get(key) : null;
+				if (stored != null) {
+					results.add(toFragmentResult(fragment, ParseResult.success(stored)));
+					continue;
+				}
+				LogParser fragmentParser = autoDetect ? getParser(requestDTO.getLanguage(), fragment.getText()) : parser;
+				ParseResult parsed = parseFragment(fragment, fragmentParser, budget);
+				if (parsed.isSuccess() && store != null) {
+					store.put(key, parsed.getValue());
+				}
+				results.add(toFragmentResult(fragment, parsed));
+			}
+			lineProgress.accept(totalLines);
+		}
+
+		long elapsedNanos = System.nanoTime() - startNanos;
+		long cpuNanos = threadMXBean.isCurrentThreadCpuTimeSupported()
+				? threadMXBean.getCurrentThreadCpuTime() - startCpuNanos
+				: elapsedNanos;
+
+		LogParseResultDTO response = new LogParseResultDTO();
+		response.setTotalLines(totalLines);
+		response.setFragmentCount(results.size());
+		response.setElapsedMillis(elapsedNanos / 1_000_000);
+		response.setLinesPerSecond(totalLines * 1_000_000_000L / Math.max(cpuNanos, 1));
+		response.setResults(results);
+		log.info("Parsed {} fragments from {} lines in {} ms, {} lines/s per core", results.size(), totalLines,
+				response.getElapsedMillis(), response.getLinesPerSecond());
+		return response;
+	}
+
+	@Override
+	public List<Map<String, Object>> parseLogLine(final String line, final LogStreamContext context,
+			final ParseBudget budget) throws Exception {
+		int lineNumber = context.nextLineNumber();
+		checkInputSize(line, budget);
+		List<Map<String, Object>> results = new ArrayList<>();
+		ResultStore store = resultStore.getIfAvailable();
+		for (LogFragment fragment : logFragmentExtractor.extractLine(line, lineNumber)) {
+			String text = fragment.getText();
+			Object cached = context.getCachedValue(text);
+			if (cached != null) {
+				results.add(toFragmentResult(fragment, ParseResult.success(cached)));
+				continue;
+			}
+			DiskResultStore.Key key = storeKey(store, context.getLanguage(), text);
+			Object stored = store != null ? store.get(key) : null;
+			if (stored != null) {
+				context.putCachedValue(text, stored);
+				results.add(toFragmentResult(fragment, ParseResult.success(stored)));
+				continue;
+			}
 
+			ParseResult parsed;
+			if (context.getLanguage() != InputLanguage.AUTO) {
+				parsed = parseFragment(fragment, getParser(context.getLanguage()), budget);
+			} else {
+				// Reuse the language of earlier fragments of the same class, detecting again if it does not parse
+				InputLanguage known = context.getShapeLanguage(text);
+				InputLanguage language = known != null ? known : languageDetector.detect(text);
+				parsed = parseFragment(fragment, getParser(language), budget);
+				if (known != null && !parsed.isSuccess() && !parsed.isLimitExceeded()) {
+					InputLanguage detected = languageDetector.detect(text);
+					if (detected != known) {
+						language = detected;
+						parsed = parseFragment(fragment, getParser(language), budget);
+					}
+				}
+				// Only a language that parsed the shape is kept for it
+				if (parsed.isSuccess()) {
+					context.putShapeLanguage(text, language);
+				} else {
+					context.removeShapeLanguage(text);
+				}
+			}
+			if (parsed.isSuccess()) {
+				context.putCachedValue(text, parsed.getValue());
+				if (store != null) {
+					store.put(key, parsed.getValue());
+				}
+			}
+			results.add(toFragmentResult(fragment, parsed));
+		}
+		return results;
+	}
+
+	/**
+	 * Key of the text's result in the result store, or null if it is not looked up there. Results
+	 * are stored under the requested language, so AUTO requests skip the detection on a hit.
+	 */
+	private DiskResultStore.Key storeKey(final ResultStore store, final InputLanguage language, final String text) {
+		return store != null ? store.key(language, text) : null;
+	}
+
+	/**
+	 * Parses one log fragment. Each fragment gets its own node count but shares the request's
+	 * deadline and cancellation, which abort the whole request when they run out.
+	 */
+	private ParseResult parseFragment(final LogFragment fragment, final LogParser parser, final ParseBudget budget)
+			throws ParseLimitExceededException {
+		ParseResult parsed = parser.parse(fragment.getText(), budget.fork());
+		if (parsed.isLimitExceeded()) {
+			ParseLimit limit = parsed.getError().getLimit();
+			if (limit == ParseLimit.TIME || limit == ParseLimit.CANCELLED) {
+				throw limitExceeded(parsed.getError());
+			}
+			countViolation(limit);
+		}
+		return parsed;
+	}
+
+	private Map<String, Object> toFragmentResult(final LogFragment fragment, final ParseResult parsed) {
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("line", fragment.getLineNumber());
+		result.put("column", fragment.getColumn());
+		if (parsed.isSuccess()) {
+			result.put("data", parsed.getValue());
+		} else if (parsed.getStatus() == ParseResult.Status.FAILED) {
+			// Positions are relative to the fragment, which starts at the reported column
+			result.put("error", parsed.getError());
+		} else {
+			result.put("error", messageByLocaleService.getMessage("can.not.parse.selected.language", null));
+		}
+		return result;
+	}
+
+	private void checkInputSize(final String input, final ParseBudget budget) throws PayloadTooLargeException {
+		if (input != null && input.length() > budget.getMaxInputSize().toBytes()) {
+			countViolation(ParseLimit.INPUT_SIZE);
+			throw new PayloadTooLargeException(messageByLocaleService.getMessage("input.too.large",
+					new Object[] { budget.getMaxInputSize() }));
+		}
+	}
+
+	private ParseLimitExceededException limitExceeded(final ParseError error) {
+		countViolation(error.getLimit());
+		return new ParseLimitExceededException(messageByLocaleService.getMessage("parse.failed",
+				new Object[] { error.getMessage(), error.getLine(), error.getColumn() }), error);
+	}
+
+	private void countViolation(final ParseLimit limit) {
+		meterRegistry.counter("parser.budget.violations", "limit", limit.getValue()).increment();
+	}
+
+	/**
+	 * Resolves the parser for the requested language, classifying the input when the language is AUTO
+	 */
+	private LogParser getParser(final String requestedLanguage, final String input) throws ValidationException {
+		InputLanguage language = InputLanguage.getByValue(requestedLanguage);
+		if (language == InputLanguage.AUTO) {
+			language = languageDetector.detect(input);
+			log.debug("Detected language {}", language);
+		}
+		return getParser(language);
+	}
+
+	private LogParser getParser(final InputLanguage language) throws ValidationException {
 		LogParser parser = logParsers.get(language.getValue().toUpperCase());
 		if (parser == null) {
 			throw new ValidationException(messageByLocaleService.getMessage("invalid.language", null));
 		}
-		
-		String input = requestDTO.getInputTxt().trim();
-		if (!parser.supports(input)) {
-			throw new ValidationException(messageByLocaleService.getMessage("can.not.parse.selected.language", null));
-        }
-
-		return parser.parseToJson(input);
+		return parser;
 	}
 
 }
@@ -0,0 +1,667 @@
+package com.project.store;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Content-addressed store of values on local disk. Values are appended to a data file and found
+ * through an open-addressing hash table in a memory-mapped index file, so a lookup costs a probe
+ * of mapped memory and one positional read.
+ * <p>
+ * Records are never rewritten in place. {@link #compact} copies the records worth keeping to new
+ * files while lookups and writes go on, and holds them up only to copy what was appended
+ * meanwhile and swap the files. An index that does not match its data file, e.g. after a crash,
+ * is rebuilt from the data file when the store is opened.
+ */
+@Slf4j
+public class DiskResultStore implements Closeable {
+
+	static final String DATA_FILE = "results.dat";
+	static final String INDEX_FILE = "results.idx";
+	private static final String COMPACT_SUFFIX = ".compact";
+	/**
+	 * Distinct from the compaction's, which may be writing its copy of the index meanwhile
+	 */
+	private static final String GROW_SUFFIX = ".grow";
+
+	private static final int MAGIC = 0x444a5253;
+	/**
+	 * Raised whenever the stored values would no longer be what the parsers produce, which drops
+	 * existing stores
+	 */
+	private static final int VERSION = 1;
+
+	// Data file: magic, version and generation, then records
+	private static final int DATA_HEADER = 16;
+	// Record: value length, language, SHA-256 of the input, CRC-32 of the value, then the value
+	private static final int RECORD_LANGUAGE = 4;
+	private static final int RECORD_CRC = 40;
+	private static final int RECORD_HEADER = 44;
+
+	private static final double MAX_LOAD = 0.75;
+
+	private final Path directory;
+	private final int initialCapacity;
+	/**
+	 * Held shared by lookups and exclusively by writes and by the file swap of a compaction
+	 */
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private FileChannel data;
+	private volatile long dataLength;
+	private long generation;
+	private Index index;
+	private boolean closed;
+
+	private DiskResultStore(final Path directory, final int initialCapacity) {
+		this.directory = directory;
+		this.initialCapacity = Integer.highestOneBit(Math.max(initialCapacity, 16) - 1) << 1;
+	}
+
+	/**
+	 * Opens the store in the directory, creating it if needed
+	 *
+	 * @param initialCapacity index slots of a new store; the index doubles whenever three quarters
+	 *                        of its slots are used
+	 */
+	public static DiskResultStore open(final Path directory, final int initialCapacity) throws IOException {
+		DiskResultStore store = new DiskResultStore(directory, initialCapacity);
+		store.open();
+		return store;
+	}
+
+	private void open() throws IOException {
+		Files.createDirectories(directory);
+		data = FileChannel.open(directory.resolve(DATA_FILE), StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		ByteBuffer header = ByteBuffer.allocate(DATA_HEADER);
+		if (data.size() >= DATA_HEADER) {
+			readFully(data, header, 0);
+		}
+		if (!isCurrent(header)) {
+			if (data.size() > 0) {
+				log.info("Discarding result store {} written by another version", directory);
+			}
+			data.truncate(0);
+			generation = ThreadLocalRandom.current().nextLong();
+			writeFully(data, dataHeader(generation), 0);
+			dataLength = DATA_HEADER;
+			index = Index.create(directory.resolve(INDEX_FILE), initialCapacity, generation, dataLength);
+			return;
+		}
+
+		generation = header.getLong(8);
+		index = Index.open(directory.resolve(INDEX_FILE));
+		long indexed = index != null && index.generation() == generation ? index.dataLength() : -1;
+		if (indexed < DATA_HEADER || indexed > data.size()) {
+			log.info("Rebuilding the index of result store {}", directory);
+			index = Index.create(directory.resolve(INDEX_FILE), initialCapacity, generation, DATA_HEADER);
+			indexed = DATA_HEADER;
+		}
+		dataLength = recover(indexed);
+	}
+
+	/**
+	 * Indexes the records from the given offset to the end of the data file, cutting off a
+	 * partly written last record
+	 *
+	 * @return the new length of the data file
+	 */
+	private long recover(final long from) throws IOException {
+		int now = currentMinute();
+		long offset = from;
+		long end = data.size();
+		ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER);
+		while (offset + RECORD_HEADER <= end) {
+			header.clear();
+			readFully(data, header, offset);
+			int length = header.getInt(0);
+			if (length < 0 || offset + RECORD_HEADER + length > end) {
+				break;
+			}
+			Key key = Key.read(header, RECORD_LANGUAGE);
+			if (readValue(data, offset, length, key) == null) {
+				break;
+			}
+			int slot = index.find(key);
+			if (slot < 0 && (index.count() + 1 <= index.capacity() * MAX_LOAD || grow())) {
+				index.insert(index.find(key), key, length, now, offset);
+			}
+			offset += RECORD_HEADER + length;
+		}
+		if (offset < end) {
+			log.warn("Cutting off {} bytes of incomplete records from result store {}", end - offset, directory);
+			data.truncate(offset);
+		}
+		index.setDataLength(offset);
+		return offset;
+	}
+
+	/**
+	 * Stored value for the key, or null. Marks the value as accessed in the given minute.
+	 */
+	public byte[] get(final Key key, final int accessMinute) throws IOException {
+		FileChannel channel = null;
+		ClosedChannelException failure;
+		lock.readLock().lock();
+		try {
+			channel = data;
+			int slot = index.find(key);
+			if (slot < 0) {
+				return null;
+			}
+			if (index.access(slot) != accessMinute) {
+				// Racing lookups write the same minute, and unchanged pages of the index stay clean
+				index.setAccess(slot, accessMinute);
+			}
+			return readValue(channel, index.offset(slot), index.length(slot), key);
+		} catch (ClosedChannelException e) {
+			failure = e;
+		} finally {
+			lock.readLock().unlock();
+		}
+		reopen(channel);
+		throw failure;
+	}
+
+	/**
+	 * Appends the value unless the key is already stored, the data file would grow beyond the
+	 * given length or the index cannot grow any further
+	 *
+	 * @return whether the value was added
+	 */
+	public boolean put(final Key key, final byte[] value, final int accessMinute, final long maxDataLength)
+			throws IOException {
+		lock.writeLock().lock();
+		try {
+			if (index.find(key) >= 0 || dataLength + RECORD_HEADER + value.length > maxDataLength) {
+				return false;
+			}
+			if (index.count() + 1 > index.capacity() * MAX_LOAD && !grow()) {
+				return false;
+			}
+			long offset = dataLength;
+			writeFully(data, record(key, value), offset);
+			index.insert(index.find(key), key, value.length, accessMinute, offset);
+			dataLength = offset + RECORD_HEADER + value.length;
+			index.setDataLength(dataLength);
+			return true;
+		} catch (ClosedChannelException e) {
+			// A partly written record is overwritten by the next one
+			reopen(data);
+			throw e;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Opens the data file again if it is still the given channel and that is closed. A thread
+	 * interrupted while it reads or writes closes the channel for every thread.
+	 */
+	private void reopen(final FileChannel channel) throws IOException {
+		lock.writeLock().lock();
+		try {
+			if (data == channel && !channel.isOpen() && !closed) {
+				data = FileChannel.open(directory.resolve(DATA_FILE), StandardOpenOption.READ,
+						StandardOpenOption.WRITE);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Rewrites the store without the values last accessed before {@code expireBefore}, also
+	 * dropping the least recently accessed ones that do not fit in {@code targetLength} bytes of
+	 * data. Does nothing when no value would be dropped.
+	 *
+	 * @return the number of values dropped
+	 */
+	public synchronized int compact(final int expireBefore, final long targetLength) throws IOException {
+		List<Live> live = new ArrayList<>();
+		long snapshotLength;
+		lock.readLock().lock();
+		try {
+			snapshotLength = dataLength;
+			for (int slot = 0; slot < index.capacity(); slot++) {
+				if (index.isOccupied(slot)) {
+					live.add(new Live(index.offset(slot), index.length(slot), index.access(slot)));
+				}
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+
+		live.sort(Comparator.comparingInt(Live::access).reversed());
+		List<Live> kept = new ArrayList<>();
+		long keptLength = DATA_HEADER;
+		for (Live entry : live) {
+			long length = RECORD_HEADER + entry.length();
+			if (entry.access() < expireBefore || keptLength + length > targetLength) {
+				break;
+			}
+			kept.add(entry);
+			keptLength += length;
+		}
+		if (kept.size() == live.size()) {
+			return 0;
+		}
+		// Copied in file order, so that the copy reads the old file sequentially
+		kept.sort(Comparator.comparingLong(Live::offset));
+
+		Path dataCopy = directory.resolve(DATA_FILE + COMPACT_SUFFIX);
+		Path indexCopy = directory.resolve(INDEX_FILE + COMPACT_SUFFIX);
+		long copyGeneration = ThreadLocalRandom.current().nextLong();
+		FileChannel copy = FileChannel.open(dataCopy, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		boolean swapped = false;
+		try {
+			writeFully(copy, dataHeader(copyGeneration), 0);
+			// Room for twice the kept values, so that the index does not have to grow right away
+			int capacity = Math.min(index.capacity(),
+					Math.max(initialCapacity, Integer.highestOneBit((int) (kept.size() / MAX_LOAD)) << 2));
+			Index copyIndex = Index.create(indexCopy, capacity, copyGeneration, DATA_HEADER);
+			ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER);
+			long copyLength = DATA_HEADER;
+			for (Live entry : kept) {
+				copyLength = copyRecord(header, entry.offset(), entry.access(), copy, copyLength, copyIndex);
+			}
+			copy.force(false);
+
+			lock.writeLock().lock();
+			try {
+				// Values written since the snapshot
+				int now = currentMinute();
+				for (long offset = snapshotLength; offset < dataLength;) {
+					header.clear();
+					readFully(data, header, offset);
+					if (copyIndex.count() + 1 > copyIndex.capacity() * MAX_LOAD) {
+						Index grown = grow(copyIndex, indexCopy);
+						copyIndex = grown != null ? grown : copyIndex;
+					}
+					if (copyIndex.count() + 1 <= copyIndex.capacity() * MAX_LOAD) {
+						copyLength = copyRecord(header, offset, now, copy, copyLength, copyIndex);
+					}
+					offset += RECORD_HEADER + header.getInt(0);
+				}
+				copy.force(true);
+				copyIndex.setDataLength(copyLength);
+				copyIndex.force();
+				// The data file goes first: an index that does not match its data file is rebuilt.
+				// Once it is moved, the store is the copy, whether or not its index follows.
+				Files.move(dataCopy, directory.resolve(DATA_FILE), StandardCopyOption.ATOMIC_MOVE,
+						StandardCopyOption.REPLACE_EXISTING);
+				FileChannel old = data;
+				data = copy;
+				dataLength = copyLength;
+				generation = copyGeneration;
+				index = copyIndex;
+				swapped = true;
+				old.close();
+				try {
+					Files.move(indexCopy, directory.resolve(INDEX_FILE), StandardCopyOption.ATOMIC_MOVE,
+							StandardCopyOption.REPLACE_EXISTING);
+				} catch (IOException e) {
+					log.warn("Could not replace the index of result store {}, it is rebuilt when the store is opened",
+							directory, e);
+				}
+			} finally {
+				lock.writeLock().unlock();
+			}
+		} catch (IOException | RuntimeException e) {
+			if (!swapped) {
+				copy.close();
+				Files.deleteIfExists(dataCopy);
+				Files.deleteIfExists(indexCopy);
+			}
+			throw e;
+		}
+		return live.size() - kept.size();
+	}
+
+	/**
+	 * Copies the record at the offset of the data file to the end of the copy and indexes it
+	 *
+	 * @return the new length of the copy
+	 */
+	private long copyRecord(final ByteBuffer header, final long offset, final int access, final FileChannel copy,
+			final long copyLength, final Index copyIndex) throws IOException {
+		header.clear();
+		readFully(data, header, offset);
+		int length = header.getInt(0);
+		Key key = Key.read(header, RECORD_LANGUAGE);
+		long size = RECORD_HEADER + length;
+		for (long copied = 0; copied < size;) {
+			copied += data.transferTo(offset + copied, size - copied, copy.position(copyLength + copied));
+		}
+		copyIndex.insert(copyIndex.find(key), key, length, access, copyLength);
+		return copyLength + size;
+	}
+
+	/**
+	 * Replaces the index with one of twice the capacity, unless it would no longer fit in a
+	 * mapped buffer
+	 */
+	private boolean grow() throws IOException {
+		Index grown = grow(index, directory.resolve(INDEX_FILE));
+		if (grown == null) {
+			return false;
+		}
+		index = grown;
+		return true;
+	}
+
+	/**
+	 * Copies the index to one of twice the capacity, built beside the file and then moved over it
+	 *
+	 * @return the new index, or null if it would no longer fit in a mapped buffer
+	 */
+	private Index grow(final Index from, final Path file) throws IOException {
+		long capacity = (long) from.capacity() * 2;
+		if (Index.size(capacity) > Integer.MAX_VALUE) {
+			return null;
+		}
+		Path grownFile = file.resolveSibling(file.getFileName() + GROW_SUFFIX);
+		Index grown = Index.create(grownFile, (int) capacity, from.generation(), from.dataLength());
+		for (int slot = 0; slot < from.capacity(); slot++) {
+			if (from.isOccupied(slot)) {
+				Key key = from.key(slot);
+				grown.insert(grown.find(key), key, from.length(slot), from.access(slot), from.offset(slot));
+			}
+		}
+		Files.move(grownFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		return grown;
+	}
+
+	/**
+	 * Bytes in the data file, including the records that the next compaction drops
+	 */
+	public long getDataLength() {
+		return dataLength;
+	}
+
+	public int getCount() {
+		lock.readLock().lock();
+		try {
+			return index.count();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		lock.writeLock().lock();
+		try {
+			closed = true;
+			index.force();
+			data.close();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Minutes since the epoch, the unit of the access times
+	 */
+	public static int currentMinute() {
+		return (int) (System.currentTimeMillis() / 60_000);
+	}
+
+	private static boolean isCurrent(final ByteBuffer header) {
+		return header.getInt(0) == MAGIC && header.getInt(4) == VERSION;
+	}
+
+	private static ByteBuffer dataHeader(final long generation) {
+		return ByteBuffer.allocate(DATA_HEADER).putInt(MAGIC).putInt(VERSION).putLong(generation).flip();
+	}
+
+	private static ByteBuffer record(final Key key, final byte[] value) {
+		CRC32 crc = new CRC32();
+		crc.update(value);
+		ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER + value.length);
+		record.putInt(value.length);
+		key.write(record);
+		record.putInt((int) crc.getValue());
+		return record.put(value).flip();
+	}
+
+	/**
+	 * Value of the record at the offset, or null if the record is not the key's or is damaged
+	 */
+	private static byte[] readValue(final FileChannel channel, final long offset, final int length, final Key key)
+			throws IOException {
+		ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER + length);
+		readFully(channel, record, offset);
+		CRC32 crc = new CRC32();
+		crc.update(record.array(), RECORD_HEADER, length);
+		if (record.getInt(0) != length || !key.equals(Key.read(record, RECORD_LANGUAGE))
+				|| record.getInt(RECORD_CRC) != (int) crc.getValue()) {
+			return null;
+		}
+		byte[] value = new byte[length];
+		record.get(RECORD_HEADER, value);
+		return value;
+	}
+
+	private static void readFully(final FileChannel channel, final ByteBuffer buffer, final long offset)
+			throws IOException {
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, offset + buffer.position()) < 0) {
+				throw new EOFException("Result store ends at " + (offset + buffer.position()));
+			}
+		}
+	}
+
+	private static void writeFully(final FileChannel channel, final ByteBuffer buffer, final long offset)
+			throws IOException {
+		while (buffer.hasRemaining()) {
+			channel.write(buffer, offset + buffer.position());
+		}
+	}
+
+	private record Live(long offset, int length, int access) {
+	}
+
+	/**
+	 * Language, or any other nonzero namespace, and SHA-256 of a stored input
+	 */
+	public record Key(int language, long hash0, long hash1, long hash2, long hash3) {
+
+		public static Key of(final int language, final byte[] sha256) {
+			if (language == 0) {
+				throw new IllegalArgumentException("Language 0 marks free index slots");
+			}
+			ByteBuffer hash = ByteBuffer.wrap(sha256);
+			return new Key(language, hash.getLong(0), hash.getLong(8), hash.getLong(16), hash.getLong(24));
+		}
+
+		/**
+		 * The SHA-256 in lowercase hex
+		 */
+		public String hashHex() {
+			HexFormat hex = HexFormat.of();
+			return hex.toHexDigits(hash0) + hex.toHexDigits(hash1) + hex.toHexDigits(hash2) + hex.toHexDigits(hash3);
+		}
+
+		private static Key read(final ByteBuffer buffer, final int position) {
+			return new Key(buffer.getInt(position), buffer.getLong(position + 4), buffer.getLong(position + 12),
+					buffer.getLong(position + 20), buffer.getLong(position + 28));
+		}
+
+		private void write(final ByteBuffer buffer) {
+			buffer.putInt(language).putLong(hash0).putLong(hash1).putLong(hash2).putLong(hash3);
+		}
+	}
+
+	/**
+	 * Open-addressing hash table with linear probing in a mapped file. Slots are never freed;
+	 * compaction builds a new index instead.
+	 */
+	private static final class Index {
+
+		// Header: magic, version, generation, capacity, count and the indexed length of the data file
+		private static final int HEADER = 32;
+		private static final int HEADER_GENERATION = 8;
+		private static final int HEADER_CAPACITY = 16;
+		private static final int HEADER_COUNT = 20;
+		private static final int HEADER_DATA_LENGTH = 24;
+		// Slot: SHA-256 of the input, language (0 when free), value length, last access and record offset
+		private static final int SLOT = 56;
+		private static final int SLOT_LANGUAGE = 32;
+		private static final int SLOT_LENGTH = 36;
+		private static final int SLOT_ACCESS = 40;
+		private static final int SLOT_OFFSET = 48;
+
+		private final MappedByteBuffer buffer;
+		private final int capacity;
+		private int count;
+
+		private Index(final MappedByteBuffer buffer) {
+			this.buffer = buffer;
+			this.capacity = buffer.getInt(HEADER_CAPACITY);
+			this.count = buffer.getInt(HEADER_COUNT);
+		}
+
+		static long size(final long capacity) {
+			return HEADER + capacity * SLOT;
+		}
+
+		static Index create(final Path file, final int capacity, final long generation, final long dataLength)
+				throws IOException {
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+					StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+				MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size(capacity));
+				buffer.putInt(0, MAGIC).putInt(4, VERSION).putLong(HEADER_GENERATION, generation)
+						.putInt(HEADER_CAPACITY, capacity).putInt(HEADER_COUNT, 0)
+						.putLong(HEADER_DATA_LENGTH, dataLength);
+				return new Index(buffer);
+			}
+		}
+
+		/**
+		 * The index in the file, or null if there is none or it is not usable
+		 */
+		static Index open(final Path file) throws IOException {
+			if (!Files.exists(file)) {
+				return null;
+			}
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+				if (channel.size() < HEADER) {
+					return null;
+				}
+				MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+				int capacity = buffer.getInt(HEADER_CAPACITY);
+				if (!isCurrent(buffer) || Integer.bitCount(capacity) != 1 || size(capacity) != channel.size()) {
+					return null;
+				}
+				return new Index(buffer);
+			}
+		}
+
+		/**
+		 * Slot holding the key, or {@code -slot - 1} for the free slot where it belongs
+		 */
+		int find(final Key key) {
+			int mask = capacity - 1;
+			for (int slot = (int) (key.hash0() ^ key.language() * 0x9e3779b97f4a7c15L) & mask;; slot = slot + 1
+					& mask) {
+				int position = HEADER + slot * SLOT;
+				int language = buffer.getInt(position + SLOT_LANGUAGE);
+				if (language == 0) {
+					return -slot - 1;
+				}
+				if (language == key.language() && buffer.getLong(position) == key.hash0()
+						&& buffer.getLong(position + 8) == key.hash1() && buffer.getLong(position + 16) == key.hash2()
+						&& buffer.getLong(position + 24) == key.hash3()) {
+					return slot;
+				}
+			}
+		}
+
+		/**
+		 * Fills the free slot returned by {@link #find}
+		 */
+		void insert(final int free, final Key key, final int length, final int access, final long offset) {
+			int position = HEADER + (-free - 1) * SLOT;
+			buffer.putLong(position, key.hash0()).putLong(position + 8, key.hash1())
+					.putLong(position + 16, key.hash2()).putLong(position + 24, key.hash3())
+					.putInt(position + SLOT_LENGTH, length).putInt(position + SLOT_ACCESS, access)
+					.putLong(position + SLOT_OFFSET, offset);
+			// Written last, as it marks the slot used
+			buffer.putInt(position + SLOT_LANGUAGE, key.language());
+			buffer.putInt(HEADER_COUNT, ++count);
+		}
+
+		boolean isOccupied(final int slot) {
+			return buffer.getInt(HEADER + slot * SLOT + SLOT_LANGUAGE) != 0;
+		}
+
+		Key key(final int slot) {
+			int position = HEADER + slot * SLOT;
+			return new Key(buffer.getInt(position + SLOT_LANGUAGE), buffer.getLong(position),
+					buffer.getLong(position + 8), buffer.getLong(position + 16), buffer.getLong(position + 24));
+		}
+
+		int length(final int slot) {
+			return buffer.getInt(HEADER + slot * SLOT + SLOT_LENGTH);
+		}
+
+		int access(final int slot) {
+			return buffer.getInt(HEADER + slot * SLOT + SLOT_ACCESS);
+		}
+
+		void setAccess(final int slot, final int access) {
+			buffer.putInt(HEADER + slot * SLOT + SLOT_ACCESS, access);
+		}
+
+		long offset(final int slot) {
+			return buffer.getLong(HEADER + slot * SLOT + SLOT_OFFSET);
+		}
+
+		int capacity() {
+			return capacity;
+		}
+
+		int count() {
+			return count;
+		}
+
+		long generation() {
+			return buffer.getLong(HEADER_GENERATION);
+		}
+
+		long dataLength() {
+			return buffer.getLong(HEADER_DATA_LENGTH);
+		}
+
+		void setDataLength(final long dataLength) {
+			buffer.putLong(HEADER_DATA_LENGTH, dataLength);
+		}
+
+		void force() {
+			buffer.force();
+		}
+	}
+
+}
@@ -0,0 +1,246 @@
+package com.project.store;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.project.config.ParserProperties;
+import com.project.constant.InputLanguage;
+import com.project.util.CommonUtility;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Parse results kept in a {@link DiskResultStore}, so that reprocessing the same inputs after a
+ * restart or redeploy skips the parsers. Results are stored as the JSON they are written as and
+ * returned as a {@link RawValue}, which Jackson copies to the output unparsed.
+ * <p>
+ * A compaction runs every {@code parser.store.compaction-interval} to drop the results that have
+ * expired, and as soon as the store is full, leaving it three quarters full.
+ */
+@Component
+@ConditionalOnProperty(prefix = "parser.store", name = "enabled", havingValue = "true")
+@Slf4j
+public class ResultStore implements SmartLifecycle {
+
+	private final ParserProperties.Store properties;
+	private final ObjectMapper objectMapper;
+	private final MeterRegistry meterRegistry;
+	private final Counter hits;
+	private final Counter misses;
+	private final Counter written;
+	private final Counter failed;
+	private final Timer lookups;
+	private final Timer compactions;
+	private final AtomicBoolean compactionQueued = new AtomicBoolean();
+
+	private volatile DiskResultStore store;
+	private ScheduledExecutorService compactor;
+
+	public ResultStore(final ParserProperties parserProperties, final ObjectMapper objectMapper,
+			final MeterRegistry meterRegistry) {
+		this.properties = parserProperties.getStore();
+		this.objectMapper = objectMapper;
+		this.meterRegistry = meterRegistry;
+		this.hits = meterRegistry.counter("parser.store.hits");
+		this.misses = meterRegistry.counter("parser.store.misses");
+		this.written = meterRegistry.counter("parser.store.written");
+		this.failed = meterRegistry.counter("parser.store.failed");
+		this.lookups = Timer.builder("parser.store.lookup").description("Time to look up a stored result")
+				.publishPercentiles(0.5, 0.99).register(meterRegistry);
+		this.compactions = Timer.builder("parser.store.compaction")
+				.description("Time to compact the result store, whether or not anything was dropped")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Key of the input's result, or null when results of such input are not stored
+	 */
+	public DiskResultStore.Key key(final InputLanguage language, final String input) {
+		if (store == null || language == null || input == null
+				|| input.length() < properties.getMinInputLength()) {
+			return null;
+		}
+		return key(language, CommonUtility.sha256(input));
+	}
+
+	/**
+	 * Key of the result of an input with the given SHA-256, whatever the input's length
+	 */
+	public DiskResultStore.Key key(final InputLanguage language, final byte[] sha256) {
+		return DiskResultStore.Key.of(language.ordinal() + 1, sha256);
+	}
+
+	public InputLanguage language(final DiskResultStore.Key key) {
+		return InputLanguage.values()[key.language() - 1];
+	}
+
+	/**
+	 * Stored result for the key, or null
+	 */
+	public Object get(final DiskResultStore.Key key) {
+		byte[] json = getJson(key);
+		return json != null ? new RawValue(new String(json, StandardCharsets.UTF_8)) : null;
+	}
+
+	/**
+	 * Stored result for the key as JSON, or null
+	 */
+	public byte[] getJson(final DiskResultStore.Key key) {
+		DiskResultStore current = store;
+		if (key == null || current == null) {
+			return null;
+		}
+		long start = System.nanoTime();
+		byte[] json;
+		try {
+			json = current.get(key, DiskResultStore.currentMinute());
+		} catch (IOException e) {
+			failed.increment();
+			log.warn("Could not read from the result store", e);
+			return null;
+		}
+		lookups.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		(json != null ? hits : misses).increment();
+		return json;
+	}
+
+	/**
+	 * Stores the result under the key unless it is too large or the store is full
+	 */
+	public void put(final DiskResultStore.Key key, final Object value) {
+		if (key == null || store == null) {
+			return;
+		}
+		try {
+			putJson(key, objectMapper.writeValueAsBytes(value));
+		} catch (JsonProcessingException e) {
+			log.warn("Could not serialize a result to store", e);
+		}
+	}
+
+	/**
+	 * Stores the result, given as JSON, under the key unless it is too large or the store is full
+	 */
+	public void putJson(final DiskResultStore.Key key, final byte[] json) {
+		DiskResultStore current = store;
+		if (key == null || current == null || json.length > properties.getMaxResultSize().toBytes()) {
+			return;
+		}
+		long maxSize = properties.getMaxSize().toBytes();
+		try {
+			if (current.put(key, json, DiskResultStore.currentMinute(), maxSize)) {
+				written.increment();
+			} else if (current.getDataLength() + json.length >= maxSize) {
+				compactSoon();
+			}
+		} catch (IOException e) {
+			failed.increment();
+			log.warn("Could not write to the result store", e);
+		}
+	}
+
+	private void compactSoon() {
+		if (compactionQueued.compareAndSet(false, true)) {
+			try {
+				compactor.execute(this::compact);
+			} catch (RejectedExecutionException e) {
+				// Stopping
+			}
+		}
+	}
+
+	private void compact() {
+		compactionQueued.set(false);
+		DiskResultStore current = store;
+		if (current == null) {
+			return;
+		}
+		long maxSize = properties.getMaxSize().toBytes();
+		long before = current.getDataLength();
+		int expireBefore = DiskResultStore.currentMinute() - (int) properties.getExpireAfter().toMinutes();
+		long start = System.nanoTime();
+		try {
+			int dropped = current.compact(expireBefore, before >= maxSize ? maxSize / 4 * 3 : maxSize);
+			long nanos = System.nanoTime() - start;
+			compactions.record(nanos, TimeUnit.NANOSECONDS);
+			if (dropped > 0) {
+				log.info("Compacted the result store from {} to {} bytes in {} ms, dropping {} results", before,
+						current.getDataLength(), TimeUnit.NANOSECONDS.toMillis(nanos), dropped);
+			}
+		} catch (IOException e) {
+			failed.increment();
+			log.warn("Could not compact the result store", e);
+		}
+	}
+
+	@Override
+	public void start() {
+		try {
+			store = DiskResultStore.open(properties.getDirectory(), properties.getInitialCapacity());
+		} catch (IOException e) {
+			throw new UncheckedIOException("Could not open the result store in " + properties.getDirectory(), e);
+		}
+		log.info("Opened result store {} with {} results", properties.getDirectory(), store.getCount());
+		Gauge.builder("parser.store.size", store, DiskResultStore::getDataLength).baseUnit("bytes")
+				.description("Bytes in the result store's data file").register(meterRegistry);
+		Gauge.builder("parser.store.results", store, DiskResultStore::getCount)
+				.description("Results in the result store").register(meterRegistry);
+
+		compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "project-result-store-compactor");
+			thread.setDaemon(true);
+			return thread;
+		});
+		long interval = properties.getCompactionInterval().toMillis();
+		compactor.scheduleWithFixedDelay(this::compact, interval, interval, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public void stop() {
+		// Not interrupted, as that would close the store's files under it
+		compactor.shutdown();
+		try {
+			compactor.awaitTermination(1, TimeUnit.MINUTES);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		DiskResultStore closing = store;
+		store = null;
+		try {
+			closing.close();
+		} catch (IOException e) {
+			log.warn("Could not close the result store", e);
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return store != null;
+	}
+
+	/**
+	 * Opened before and closed after the web server, which is stopped in the default phase
+	 */
+	@Override
+	public int getPhase() {
+		return DEFAULT_PHASE - 4096;
+	}
+
+}
@@ -0,0 +1,106 @@
+package com.project.stream;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.project.config.ParserProperties;
+import com.project.constant.InputLanguage;
+
+import lombok.Getter;
+
+/**
+ * State kept warm for one log stream connection. Consecutive log lines tend to repeat the same few
+ * DTO classes, so the language detected for each class name is remembered, and small fragments
+ * that repeat verbatim, such as heartbeats, reuse their earlier result.
+ * <p>
+ * A connection delivers its messages one at a time, so the context is not shared between threads.
+ */
+public class LogStreamContext {
+
+	@Getter
+	private final InputLanguage language;
+	private final int maxCachedFragmentLength;
+	private final Map<String, InputLanguage> shapeLanguages;
+	private final Map<String, Object> fragmentValues;
+	private int lineNumber;
+
+	public LogStreamContext(final InputLanguage language, final ParserProperties.Stream stream) {
+		this.language = language;
+		this.maxCachedFragmentLength = stream.getMaxCachedFragmentLength();
+		this.shapeLanguages = lruMap(stream.getShapeCacheSize());
+		this.fragmentValues = lruMap(stream.getResultCacheSize());
+	}
+
+	/**
+	 * Numbers lines across all messages of the connection, starting at 1
+	 */
+	public int nextLineNumber() {
+		return ++lineNumber;
+	}
+
+	/**
+	 * Number of the last line read
+	 */
+	public int getLineNumber() {
+		return lineNumber;
+	}
+
+	public void setLineNumber(final int lineNumber) {
+		this.lineNumber = lineNumber;
+	}
+
+	/**
+	 * Language that last parsed fragments of the same class, or null
+	 */
+	public InputLanguage getShapeLanguage(final String fragment) {
+		return shapeLanguages.get(shapeOf(fragment));
+	}
+
+	public void putShapeLanguage(final String fragment, final InputLanguage detected) {
+		shapeLanguages.put(shapeOf(fragment), detected);
+	}
+
+	public void removeShapeLanguage(final String fragment) {
+		shapeLanguages.remove(shapeOf(fragment));
+	}
+
+	/**
+	 * Parsed value of an identical earlier fragment, or null
+	 */
+	public Object getCachedValue(final String fragment) {
+		return fragment.length() > maxCachedFragmentLength ? null : fragmentValues.get(fragment);
+	}
+
+	public void putCachedValue(final String fragment, final Object value) {
+		if (fragment.length() <= maxCachedFragmentLength) {
+			fragmentValues.put(fragment, value);
+		}
+	}
+
+	/**
+	 * Class or function name in front of the fragment's first bracket, e.g. {@code OrderDTO} or
+	 * {@code new Order}
+	 */
+	private String shapeOf(final String fragment) {
+		for (int i = 0; i < fragment.length(); i++) {
+			char ch = fragment.charAt(i);
+			if (ch == '(' || ch == '{' || ch == '[') {
+				return fragment.substring(0, i).trim();
+			}
+		}
+		return fragment;
+	}
+
+	private static <V> Map<String, V> lruMap(final int capacity) {
+		return new LinkedHashMap<>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<String, V> eldest) {
+				return size() > capacity;
+			}
+		};
+	}
+
+}
@@ -0,0 +1,163 @@
+package com.project.stream;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.config.ParserProperties;
+import com.project.constant.InputLanguage;
+import com.project.dto.RequestDTO;
+import com.project.exception.BaseException;
+import com.project.exception.BaseRuntimeException;
+import com.project.exception.ParseFailedException;
+import com.project.locale.MessageByLocaleService;
+import com.project.parser.ParseBudget;
+import com.project.scheduling.AdmissionController;
+import com.project.service.ParserService;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Converts log lines streamed over a WebSocket. The client picks the language with the
+ * {@code language} query parameter ({@code AUTO} by default) and sends text messages holding one or
+ * more whole lines; every line with DTO fragments is answered with its own message as soon as it is
+ * converted, shaped like the {@code /parser/logs} results.
+ * <p>
+ * Backpressure is per connection: a message is converted and answered on the thread that read it,
+ * so the connection is not read again until then, and a client that sends faster than it is served
+ * is held back by TCP flow control. A client that stops reading its answers fails the blocking send
+ * after {@code send-time-limit} and is disconnected.
+ */
+@Component
+@Slf4j
+public class LogStreamHandler extends TextWebSocketHandler {
+
+	private static final String CONTEXT_ATTRIBUTE = LogStreamContext.class.getName();
+	/**
+	 * Tomcat's per-session timeout for blocking sends
+	 */
+	private static final String BLOCKING_SEND_TIMEOUT = "org.apache.tomcat.websocket.BLOCKING_SEND_TIMEOUT";
+
+	private final ParserService parserService;
+	private final AdmissionController admissionController;
+	private final ParserProperties parserProperties;
+	private final MessageByLocaleService messageByLocaleService;
+	private final ObjectMapper objectMapper;
+	private final MeterRegistry meterRegistry;
+
+	private final AtomicInteger sessions = new AtomicInteger();
+
+	public LogStreamHandler(final ParserService parserService, final AdmissionController admissionController,
+			final ParserProperties parserProperties, final MessageByLocaleService messageByLocaleService,
+			final ObjectMapper objectMapper, final MeterRegistry meterRegistry) {
+		this.parserService = parserService;
+		this.admissionController = admissionController;
+		this.parserProperties = parserProperties;
+		this.messageByLocaleService = messageByLocaleService;
+		this.objectMapper = objectMapper;
+		this.meterRegistry = meterRegistry;
+
+		Gauge.builder("parser.stream.sessions", sessions, AtomicInteger::get).register(meterRegistry);
+	}
+
+	@Override
+	public void afterConnectionEstablished(final WebSocketSession session) throws Exception {
+		ParserProperties.Stream stream = parserProperties.getStream();
+		// Every connection is counted until afterConnectionClosed, including the ones turned away here
+		if (sessions.incrementAndGet() > stream.getMaxSessions()) {
+			meterRegistry.counter("parser.stream.rejections").increment();
+			session.close(CloseStatus.SERVICE_OVERLOAD.withReason(messageByLocaleService.getMessage("stream.busy", null)));
+			return;
+		}
+
+		String requested = session.getUri() == null ? null
+				: UriComponentsBuilder.fromUri(session.getUri()).build().getQueryParams().getFirst("language");
+		InputLanguage language = requested == null ? InputLanguage.AUTO : InputLanguage.getByValue(requested);
+		if (language == null) {
+			session.close(CloseStatus.POLICY_VIOLATION
+					.withReason(messageByLocaleService.getMessage("invalid.language", null)));
+			return;
+		}
+
+		session.setTextMessageSizeLimit((int) stream.getMaxMessageSize().toBytes());
+		if (session instanceof NativeWebSocketSession nativeSession) {
+			jakarta.websocket.Session container = nativeSession.getNativeSession(jakarta.websocket.Session.class);
+			if (container != null) {
+				container.setMaxIdleTimeout(stream.getIdleTimeout().toMillis());
+				container.getUserProperties().put(BLOCKING_SEND_TIMEOUT, stream.getSendTimeLimit().toMillis());
+			}
+		}
+		session.getAttributes().put(CONTEXT_ATTRIBUTE, new LogStreamContext(language, stream));
+		log.info("Log stream {} opened, language: {}", session.getId(), language);
+	}
+
+	@Override
+	protected void handleTextMessage(final WebSocketSession session, final TextMessage message) throws Exception {
+		LogStreamContext context = (LogStreamContext) session.getAttributes().get(CONTEXT_ATTRIBUTE);
+		if (context == null) {
+			return;
+		}
+
+		ParserProperties.Stream stream = parserProperties.getStream();
+		RequestDTO requestDTO = new RequestDTO();
+		requestDTO.setLanguage(context.getLanguage().getValue());
+		requestDTO.setInputTxt(message.getPayload());
+		ParseBudget budget = new ParseBudget(parserProperties, stream.getMaxMessageSize(),
+				stream.getMaxMessageParseTime());
+
+		try (AdmissionController.Reservation reservation = admissionController.admit(requestDTO)) {
+			Iterator<String> lines = message.getPayload().lines().iterator();
+			while (lines.hasNext()) {
+				List<Map<String, Object>> results = parserService.parseLogLine(lines.next(), context, budget);
+				if (!results.isEmpty()) {
+					send(session, HttpStatus.OK, null, results);
+				}
+			}
+		} catch (ParseFailedException e) {
+			// The message ran out of time; the connection stays open for the next one
+			send(session, e.getStatus(), e.getMessage(), e.getError());
+		} catch (BaseException e) {
+			send(session, e.getStatus(), e.getMessage(), null);
+		} catch (BaseRuntimeException e) {
+			send(session, e.getStatus(), e.getMessage(), null);
+		}
+	}
+
+	@Override
+	public void afterConnectionClosed(final WebSocketSession session, final CloseStatus status) throws Exception {
+		sessions.decrementAndGet();
+		log.info("Log stream {} closed, {}", session.getId(), status);
+	}
+
+	private void send(final WebSocketSession session, final HttpStatus status, final String message,
+			final Object data) throws IOException {
+		Map<String, Object> frame = new LinkedHashMap<>();
+		frame.put("status", status.value());
+		frame.put("message", message);
+		if (data != null) {
+			frame.put("data", data);
+		}
+		try {
+			session.sendMessage(new TextMessage(objectMapper.writeValueAsString(frame)));
+		} catch (IOException e) {
+			meterRegistry.counter("parser.stream.send.failures").increment();
+			throw e;
+		}
+	}
+
+}
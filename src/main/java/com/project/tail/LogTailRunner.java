@@ -0,0 +1,96 @@
+package com.project.tail;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.config.ParserProperties;
+import com.project.service.ParserService;
+import com.project.stream.LogStreamContext;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs a {@link LogTailer} on its own thread while the application is up, when
+ * {@code parser.tail.enabled} is set.
+ */
+@Component
+@ConditionalOnProperty(prefix = "parser.tail", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class LogTailRunner implements SmartLifecycle {
+
+	private static final long STOP_TIMEOUT_MILLIS = 10_000;
+
+	private final ParserProperties parserProperties;
+	private final ParserService parserService;
+	private final ObjectMapper objectMapper;
+	private final MeterRegistry meterRegistry;
+
+	private LogTailer tailer;
+	private Thread thread;
+	private Writer out;
+
+	@Override
+	public void start() {
+		ParserProperties.Tail tail = parserProperties.getTail();
+		if (tail.getFile() == null) {
+			throw new IllegalStateException("parser.tail.file is required when parser.tail.enabled is set");
+		}
+		if (tail.getOutput() == null) {
+			// Standard output carries the application's logging, which would corrupt the NDJSON
+			throw new IllegalStateException("parser.tail.output is required when parser.tail.enabled is set");
+		}
+
+		Path checkpoint = tail.getCheckpoint() != null ? tail.getCheckpoint()
+				: tail.getOutput().resolveSibling(tail.getOutput().getFileName() + ".offset");
+		try {
+			out = Files.newBufferedWriter(tail.getOutput(), StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+					StandardOpenOption.APPEND);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		LogStreamContext context = new LogStreamContext(tail.getLanguage(), parserProperties.getStream());
+		tailer = new LogTailer(tail.getFile(), out, checkpoint, context, parserProperties, parserService,
+				objectMapper, meterRegistry);
+		thread = new Thread(tailer, "project-log-tail");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	@Override
+	public void stop() {
+		tailer.stop();
+		try {
+			thread.join(STOP_TIMEOUT_MILLIS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (!thread.isAlive()) {
+			try {
+				out.close();
+			} catch (IOException e) {
+				log.warn("Could not close the tail output", e);
+			}
+		}
+		thread = null;
+	}
+
+	@Override
+	public boolean isRunning() {
+		return thread != null;
+	}
+
+}
@@ -0,0 +1,398 @@
+package com.project.tail;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.config.ParserProperties;
+import com.project.exception.BaseException;
+import com.project.exception.ParseFailedException;
+import com.project.parser.ParseBudget;
+import com.project.service.ParserService;
+import com.project.stream.LogStreamContext;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Follows a log file like {@code tail -F} and writes every DTO fragment of its new lines to an
+ * NDJSON writer, one result per line.
+ * <p>
+ * A single thread reads the file through a {@link FileChannel}, splits whole lines out of the byte
+ * buffer and converts them in place, so there is no handoff per line. When it reaches the end of
+ * the file it blocks on a {@link WatchService} for the file's directory, falling back to checking
+ * every {@code pollInterval}. At the end of the file it also checks whether the path now names a
+ * different file, which is a rotation and is followed from its start, or whether the file shrank
+ * below the read position, which is a truncation and is read again from the start.
+ * <p>
+ * After each read the byte offset just past the last whole line is saved to the checkpoint file,
+ * after the output is flushed, so a restart resumes there without converting lines twice.
+ */
+@Slf4j
+public class LogTailer implements Runnable {
+
+	private static final String OFFSET = "offset";
+	private static final String LINE = "line";
+	private static final String FILE_KEY = "file-key";
+
+	private final Path file;
+	private final Writer out;
+	private final Path checkpoint;
+	private final boolean fromBeginning;
+	private final Duration pollInterval;
+	private final LogStreamContext context;
+	private final ParserService parserService;
+	private final ParserProperties parserProperties;
+	private final ObjectMapper objectMapper;
+	private final MeterRegistry meterRegistry;
+	private final Counter lines;
+
+	private final ByteBuffer buffer;
+	private final long maxLineLength;
+	private byte[] pending = new byte[256];
+	private int pendingLength;
+	private boolean skippingLine;
+
+	private volatile boolean running = true;
+	private volatile WatchService watchService;
+	private FileChannel channel;
+	private Object fileKey;
+	/**
+	 * Offset just past the last whole line of the open file
+	 */
+	private long position;
+	private Properties resume;
+
+	/**
+	 * @param checkpoint where the read position is kept, or null to always start afresh
+	 */
+	public LogTailer(final Path file, final Writer out, final Path checkpoint, final LogStreamContext context,
+			final ParserProperties parserProperties, final ParserService parserService,
+			final ObjectMapper objectMapper, final MeterRegistry meterRegistry) {
+		ParserProperties.Tail tail = parserProperties.getTail();
+		this.file = file.toAbsolutePath();
+		this.out = out;
+		this.checkpoint = checkpoint;
+		this.fromBeginning = tail.isFromBeginning();
+		this.pollInterval = tail.getPollInterval();
+		this.context = context;
+		this.parserService = parserService;
+		this.parserProperties = parserProperties;
+		this.objectMapper = objectMapper;
+		this.meterRegistry = meterRegistry;
+		this.lines = meterRegistry.counter("parser.tail.lines");
+		this.buffer = ByteBuffer.allocate((int) tail.getReadBufferSize().toBytes());
+		this.maxLineLength = parserProperties.getMaxInputSize().toBytes();
+	}
+
+	@Override
+	public void run() {
+		log.info("Following {}", file);
+		try (WatchService watcher = file.getFileSystem().newWatchService()) {
+			watchService = watcher;
+			file.getParent().register(watcher, ENTRY_CREATE, ENTRY_MODIFY);
+			resume = loadCheckpoint();
+			while (running) {
+				if (channel == null && !open()) {
+					await();
+				} else if (read() == 0 && !reopenIfReplaced()) {
+					await();
+				}
+			}
+		} catch (ClosedWatchServiceException | InterruptedException e) {
+			// Stopped
+		} catch (Exception e) {
+			log.error("Stopped following {}", file, e);
+		} finally {
+			closeChannel();
+			try {
+				out.flush();
+			} catch (IOException e) {
+				log.warn("Could not flush the tail output", e);
+			}
+		}
+		log.info("Stopped following {}", file);
+	}
+
+	/**
+	 * Stops the tailer; a conversion in progress finishes first.
+	 */
+	public void stop() {
+		running = false;
+		WatchService watcher = watchService;
+		if (watcher != null) {
+			try {
+				watcher.close();
+			} catch (IOException e) {
+				log.warn("Could not close the watch service", e);
+			}
+		}
+	}
+
+	/**
+	 * Opens the file if it exists and records it in the checkpoint. The first time, it resumes
+	 * from the checkpoint if that was taken on this same file; otherwise it starts at the end, or
+	 * at the start for a file that replaced a rotated one.
+	 */
+	private boolean open() throws IOException {
+		Object key;
+		try {
+			channel = FileChannel.open(file, StandardOpenOption.READ);
+			key = fileKeyOf(file);
+		} catch (NoSuchFileException e) {
+			closeChannel();
+			return false;
+		}
+		fileKey = key;
+
+		long start = 0;
+		int lineNumber = 0;
+		if (resume != null) {
+			long offset = Long.parseLong(resume.getProperty(OFFSET, "-1"));
+			if (offset >= 0 && offset <= channel.size()
+					&& Objects.equals(resume.getProperty(FILE_KEY), String.valueOf(key))) {
+				start = offset;
+				lineNumber = Integer.parseInt(resume.getProperty(LINE, "0"));
+				log.info("Resuming {} at offset {}, line {}", file, start, lineNumber);
+			} else if (!fromBeginning) {
+				// Like tail -F: only lines written from now on, without a line count for the old ones
+				start = channel.size();
+			}
+			resume = null;
+		}
+		channel.position(start);
+		position = start;
+		pendingLength = 0;
+		// Starting in the middle of a line, its rest is not a line of its own
+		skippingLine = start > 0 && !endsLine(start);
+		context.setLineNumber(lineNumber);
+		// Otherwise a restart before the next read would take a new file for the rotated one
+		saveCheckpoint();
+		return true;
+	}
+
+	/**
+	 * Reads what is available and converts the whole lines in it.
+	 *
+	 * @return the number of bytes read
+	 */
+	private int read() throws Exception {
+		buffer.clear();
+		int read = channel.read(buffer);
+		if (read <= 0) {
+			return 0;
+		}
+		long bufferStart = channel.position() - read;
+		byte[] bytes = buffer.array();
+		int lineStart = 0;
+		for (int i = 0; i < read; i++) {
+			if (bytes[i] != '\n') {
+				continue;
+			}
+			if (pendingLength > 0) {
+				append(bytes, lineStart, i);
+				if (!skippingLine) {
+					convert(pending, 0, pendingLength);
+				}
+			} else if (!skippingLine) {
+				convert(bytes, lineStart, i);
+			}
+			pendingLength = 0;
+			skippingLine = false;
+			lineStart = i + 1;
+			position = bufferStart + lineStart;
+		}
+		if (lineStart < read) {
+			append(bytes, lineStart, read);
+		}
+		out.flush();
+		saveCheckpoint();
+		return read;
+	}
+
+	/**
+	 * Keeps the start of a line that continues in the next read. A line longer than the input
+	 * limit is skipped up to its end.
+	 */
+	private void append(final byte[] bytes, final int from, final int to) {
+		if (skippingLine) {
+			return;
+		}
+		int length = to - from;
+		if (pendingLength + length > maxLineLength) {
+			log.warn("Skipping line {} of {}, it is longer than {}", context.getLineNumber() + 1, file,
+					parserProperties.getMaxInputSize());
+			meterRegistry.counter("parser.tail.skipped.lines").increment();
+			context.nextLineNumber();
+			pendingLength = 0;
+			skippingLine = true;
+			return;
+		}
+		if (pendingLength + length > pending.length) {
+			pending = Arrays.copyOf(pending, Math.max(pending.length * 2, pendingLength + length));
+		}
+		System.arraycopy(bytes, from, pending, pendingLength, length);
+		pendingLength += length;
+	}
+
+	private void convert(final byte[] bytes, final int from, final int to) throws Exception {
+		int end = to > from && bytes[to - 1] == '\r' ? to - 1 : to;
+		String line = new String(bytes, from, end - from, StandardCharsets.UTF_8);
+		lines.increment();
+		try {
+			List<Map<String, Object>> results = parserService.parseLogLine(line, context,
+					new ParseBudget(parserProperties));
+			for (Map<String, Object> result : results) {
+				write(result);
+			}
+		} catch (ParseFailedException e) {
+			write(errorResult(e.getError()));
+		} catch (BaseException e) {
+			write(errorResult(e.getMessage()));
+		}
+	}
+
+	private Map<String, Object> errorResult(final Object error) {
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("line", context.getLineNumber());
+		result.put("error", error);
+		return result;
+	}
+
+	private void write(final Map<String, Object> result) throws IOException {
+		out.write(objectMapper.writeValueAsString(result));
+		out.write('\n');
+	}
+
+	/**
+	 * Called at the end of the file. Follows a rotation to the new file, or starts over when the
+	 * file was truncated.
+	 *
+	 * @return whether there may be more to read right away
+	 */
+	private boolean reopenIfReplaced() throws Exception {
+		Object key;
+		try {
+			key = fileKeyOf(file);
+		} catch (NoSuchFileException e) {
+			// Rotated away and not recreated yet; keep the old file until the new one appears
+			return false;
+		}
+		if (!Objects.equals(key, fileKey)) {
+			log.info("{} was rotated, following the new file", file);
+			meterRegistry.counter("parser.tail.reopens", "reason", "rotation").increment();
+			finishPartialLine();
+			closeChannel();
+			return open();
+		}
+		if (channel.size() < channel.position()) {
+			log.info("{} was truncated, reading it from the start", file);
+			meterRegistry.counter("parser.tail.reopens", "reason", "truncation").increment();
+			channel.position(0);
+			position = 0;
+			pendingLength = 0;
+			skippingLine = false;
+			context.setLineNumber(0);
+			saveCheckpoint();
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * A rotated file may end without a line break; its last line is converted anyway.
+	 */
+	private void finishPartialLine() throws Exception {
+		if (pendingLength > 0 && !skippingLine) {
+			convert(pending, 0, pendingLength);
+			out.flush();
+		}
+		pendingLength = 0;
+		skippingLine = false;
+	}
+
+	/**
+	 * Waits for a change in the file's directory, or for the poll interval.
+	 */
+	private void await() throws InterruptedException {
+		WatchKey key = watchService.poll(pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+		if (key != null) {
+			key.pollEvents();
+			key.reset();
+		}
+	}
+
+	private boolean endsLine(final long offset) throws IOException {
+		ByteBuffer previous = ByteBuffer.allocate(1);
+		return channel.read(previous, offset - 1) == 1 && previous.get(0) == '\n';
+	}
+
+	private Object fileKeyOf(final Path path) throws IOException {
+		return Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+	}
+
+	private Properties loadCheckpoint() throws IOException {
+		Properties properties = new Properties();
+		if (checkpoint != null && Files.exists(checkpoint)) {
+			try (Reader reader = Files.newBufferedReader(checkpoint)) {
+				properties.load(reader);
+			}
+		}
+		return properties;
+	}
+
+	/**
+	 * Replaces the checkpoint atomically, so a crash leaves either the old or the new offset.
+	 */
+	private void saveCheckpoint() throws IOException {
+		if (checkpoint == null) {
+			return;
+		}
+		Properties properties = new Properties();
+		properties.setProperty(OFFSET, Long.toString(position));
+		properties.setProperty(LINE, Integer.toString(context.getLineNumber()));
+		properties.setProperty(FILE_KEY, String.valueOf(fileKey));
+		Path temp = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+		try (Writer writer = Files.newBufferedWriter(temp)) {
+			properties.store(writer, null);
+		}
+		Files.move(temp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private void closeChannel() {
+		if (channel != null) {
+			try {
+				channel.close();
+			} catch (IOException e) {
+				log.warn("Could not close {}", file, e);
+			}
+			channel = null;
+		}
+	}
+
+}
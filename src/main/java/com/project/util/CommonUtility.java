@@ -1,7 +1,35 @@
 package com.project.util;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class CommonUtility {
+
+	private CommonUtility() {
+
+	}
+
+	/**
+	 * Lowercase hex SHA-256 of the UTF-8 bytes of the text
+	 */
+	public static String sha256Hex(final String text) {
+		return HexFormat.of().formatHex(sha256(text));
+	}
+
+	/**
+	 * SHA-256 of the UTF-8 bytes of the text
+	 */
+	public static byte[] sha256(final String text) {
+		try {
+			return MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+		} catch (NoSuchAlgorithmException e) {
+			// Every Java platform is required to support SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
 }
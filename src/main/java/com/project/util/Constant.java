@@ -9,4 +9,10 @@ public class Constant {
 	public static final String KOTLIN = "KOTLIN";
 	public static final String JAVA = "JAVA";
 	public static final String CSHARP = "CSHARP";
+	public static final String AUTO = "AUTO";
+
+	/**
+	 * Audit user of rows written by the application itself
+	 */
+	public static final Long SYSTEM_USER_ID = 0L;
 }
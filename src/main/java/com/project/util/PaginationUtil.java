@@ -3,6 +3,12 @@ package com.project.util;
 import com.project.dto.PaginationUtilDTO;
 import com.project.exception.ValidationException;
 
+/**
+ * @deprecated OFFSET paging reads and discards every row before the page, so it slows down
+ *             linearly with depth; the parse history uses keyset pagination instead, see
+ *             {@code ParseHistoryRepositoryCustomImpl}
+ */
+@Deprecated(since = "0.1")
 public class PaginationUtil {
 
 	private PaginationUtil() {
@@ -0,0 +1,208 @@
+package com.project.warmup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.config.ParserProperties;
+import com.project.constant.InputLanguage;
+import com.project.parser.LanguageDetector;
+import com.project.parser.LogFragment;
+import com.project.parser.LogFragmentExtractor;
+import com.project.parser.LogParser;
+import com.project.parser.ParseBudget;
+import com.project.parser.ParseResult;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs the bundled {@code warmup-corpus.txt} through every parser at startup until the JIT has
+ * compiled them, so that the first requests after a deploy are not served by interpreted code.
+ * <p>
+ * Spring Boot reports the application ready to accept traffic only once every
+ * {@link ApplicationReadyEvent} listener has returned, so the readiness probe keeps refusing
+ * traffic while the warm-up runs.
+ * <p>
+ * The samples go to the parsers, the language detector and the fragment extractor directly rather
+ * than through the parser service, which logs every request and would look results up in the
+ * result store: the warm-up would mostly time its own logging.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ParserWarmup {
+
+	private static final String CORPUS = "warmup-corpus.txt";
+	private static final String LOG_SECTION = "LOG";
+
+	private final ParserProperties parserProperties;
+	private final Map<String, LogParser> logParsers;
+	private final LanguageDetector languageDetector;
+	private final LogFragmentExtractor logFragmentExtractor;
+	private final ObjectMapper objectMapper;
+	private final MeterRegistry meterRegistry;
+
+	private long durationNanos;
+	private int rounds;
+	private double speedup;
+	private long compilationMillis;
+	private boolean settled;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void warmUp() {
+		ParserProperties.Warmup warmup = parserProperties.getWarmup();
+		if (!warmup.isEnabled()) {
+			return;
+		}
+		try {
+			run(warmup, loadCorpus());
+		} catch (Exception e) {
+			// A slower start is better than none
+			log.warn("Parser warm-up failed", e);
+		}
+		registerMetrics();
+	}
+
+	/**
+	 * Repeats the corpus until the JIT spends less than the configured share of a check interval
+	 * compiling, or until the maximum duration. Without compilation time monitoring it runs for the
+	 * maximum duration.
+	 */
+	private void run(final ParserProperties.Warmup warmup, final Map<String, List<String>> corpus) {
+		CompilationMXBean jit = ManagementFactory.getCompilationMXBean();
+		boolean jitTimed = jit != null && jit.isCompilationTimeMonitoringSupported();
+		long checkIntervalNanos = warmup.getCheckInterval().toNanos();
+
+		long start = System.nanoTime();
+		long deadline = start + warmup.getMaxDuration().toNanos();
+		long jitStart = jitTimed ? jit.getTotalCompilationTime() : 0;
+		long lastCheck = start;
+		long lastJit = jitStart;
+		long firstRoundNanos = 0;
+		long roundNanos = 0;
+		while (System.nanoTime() < deadline) {
+			long roundStart = System.nanoTime();
+			runRound(corpus);
+			long now = System.nanoTime();
+			roundNanos = now - roundStart;
+			if (rounds++ == 0) {
+				firstRoundNanos = roundNanos;
+			}
+			if (now - lastCheck < checkIntervalNanos) {
+				continue;
+			}
+			if (jitTimed) {
+				long jitNow = jit.getTotalCompilationTime();
+				double ratio = TimeUnit.MILLISECONDS.toNanos(jitNow - lastJit) / (double) (now - lastCheck);
+				if (ratio < warmup.getSettledCompilationRatio()) {
+					settled = true;
+					break;
+				}
+				lastJit = jitNow;
+			}
+			lastCheck = now;
+		}
+
+		durationNanos = System.nanoTime() - start;
+		speedup = roundNanos > 0 ? (double) firstRoundNanos / roundNanos : 1;
+		compilationMillis = jitTimed ? jit.getTotalCompilationTime() - jitStart : 0;
+		log.info("Parser warm-up {} after {} ms and {} rounds: a round went from {} us to {} us ({}x), {} ms compiling",
+				settled ? "settled" : "stopped", TimeUnit.NANOSECONDS.toMillis(durationNanos), rounds,
+				TimeUnit.NANOSECONDS.toMicros(firstRoundNanos), TimeUnit.NANOSECONDS.toMicros(roundNanos),
+				String.format("%.1f", speedup), compilationMillis);
+	}
+
+	/**
+	 * Converts every sample the way requests do, including the JSON serialization of the results
+	 */
+	private void runRound(final Map<String, List<String>> corpus) {
+		for (Map.Entry<String, List<String>> section : corpus.entrySet()) {
+			boolean logs = section.getKey().equals(LOG_SECTION);
+			LogParser parser = logs ? null : logParsers.get(section.getKey());
+			for (String sample : section.getValue()) {
+				try {
+					objectMapper.writeValueAsBytes(logs ? convertLog(sample) : convert(sample, parser));
+				} catch (Exception e) {
+					// Malformed samples are expected to fail
+				}
+			}
+		}
+	}
+
+	private Object convert(final String input, final LogParser parser) {
+		ParseResult result = parser.parse(input, new ParseBudget(parserProperties));
+		return result.isSuccess() ? result.getValue() : result.getError();
+	}
+
+	/**
+	 * Extracts the fragments of a log line and converts each in its detected language
+	 */
+	private List<Map<String, Object>> convertLog(final String line) {
+		List<Map<String, Object>> results = new ArrayList<>();
+		for (LogFragment fragment : logFragmentExtractor.extractLine(line, 1)) {
+			InputLanguage language = languageDetector.detect(fragment.getText());
+			Map<String, Object> result = new LinkedHashMap<>();
+			result.put("line", fragment.getLineNumber());
+			result.put("column", fragment.getColumn());
+			ParseResult parsed = logParsers.get(language.getValue().toUpperCase()).parse(fragment.getText(),
+					new ParseBudget(parserProperties));
+			result.put(parsed.isSuccess() ? "data" : "error", parsed.isSuccess() ? parsed.getValue() : parsed.getError());
+			results.add(result);
+		}
+		return results;
+	}
+
+	private Map<String, List<String>> loadCorpus() throws IOException {
+		Map<String, List<String>> corpus = new LinkedHashMap<>();
+		List<String> samples = null;
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(new ClassPathResource(CORPUS).getInputStream(), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.isBlank() || line.startsWith("#")) {
+					continue;
+				}
+				if (line.startsWith("@")) {
+					samples = corpus.computeIfAbsent(line.substring(1).trim(), section -> new ArrayList<>());
+				} else if (samples != null) {
+					samples.add(line);
+				}
+			}
+		}
+		return corpus;
+	}
+
+	private void registerMetrics() {
+		TimeGauge.builder("parser.warmup.duration", this, TimeUnit.NANOSECONDS, warmup -> warmup.durationNanos)
+				.description("Time spent warming up the parsers").register(meterRegistry);
+		Gauge.builder("parser.warmup.rounds", this, warmup -> warmup.rounds)
+				.description("Passes over the warm-up corpus").register(meterRegistry);
+		Gauge.builder("parser.warmup.speedup", this, warmup -> warmup.speedup)
+				.description("Time of the first pass over the corpus divided by that of the last")
+				.register(meterRegistry);
+		TimeGauge.builder("parser.warmup.compilation", this, TimeUnit.MILLISECONDS,
+				warmup -> warmup.compilationMillis).description("JIT compilation time during the warm-up")
+				.register(meterRegistry);
+		Gauge.builder("parser.warmup.settled", this, warmup -> warmup.settled ? 1 : 0)
+				.description("1 if compilation settled before the maximum duration").register(meterRegistry);
+	}
+
+}
@@ -0,0 +1,36 @@
+create sequence if not exists parse_history_seq increment by 50;
+
+create table if not exists parse_history (
+	id bigint primary key,
+	input_hash char(64) not null,
+	input_length integer not null,
+	language varchar(16) not null,
+	logs boolean not null,
+	success boolean not null,
+	result jsonb,
+	requested_at timestamp not null,
+	parse_micros bigint not null,
+	active boolean not null,
+	created_at timestamp not null,
+	updated_at timestamp not null,
+	created_by bigint not null,
+	updated_by bigint not null
+);
+
+-- History is listed newest first with keyset pagination on (created_at, id)
+create index if not exists parse_history_created_at_id_idx on parse_history (created_at, id);
+create index if not exists parse_history_language_created_at_id_idx on parse_history (language, created_at, id);
+create index if not exists parse_history_input_hash_idx on parse_history (input_hash);
+
+-- Field value search turns predicates into containment (@>) queries, which jsonb_path_ops supports
+create index if not exists parse_history_result_idx on parse_history using gin (result jsonb_path_ops);
+
+-- Converted log fragments loaded in bulk with COPY; one ingest_id per request
+create table if not exists parsed_log_fragment (
+	ingest_id uuid not null,
+	source varchar(255),
+	line_number integer not null,
+	column_number integer not null,
+	data jsonb,
+	ingested_at timestamp not null default localtimestamp
+);
@@ -0,0 +1,51 @@
+package com.project.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.core.StreamReadConstraints;
+
+class ApplicationYamlTest {
+
+	private final Properties properties = load();
+
+	/**
+	 * The job input limit can only be reached by an upload, so the upload limits must let it through
+	 */
+	@Test
+	void uploadsReachTheJobInputLimit() {
+		DataSize jobInput = size("parser.jobs.max-input-size");
+
+		assertThat(size("spring.servlet.multipart.max-file-size")).isGreaterThanOrEqualTo(jobInput);
+		assertThat(size("spring.servlet.multipart.max-request-size")).isGreaterThan(jobInput);
+	}
+
+	/**
+	 * JSON bodies are held to Jackson's string limit, below the job input limit
+	 */
+	@Test
+	void jsonBodiesStopAtJacksonsStringLimit() {
+		long jsonCeiling = StreamReadConstraints.defaults().getMaxStringLength();
+
+		assertThat(jsonCeiling).isEqualTo(20_000_000);
+		assertThat(jsonCeiling).isLessThan(size("parser.jobs.max-input-size").toBytes());
+		assertThat(jsonCeiling).isGreaterThan(size("parser.max-input-size").toBytes());
+	}
+
+	private DataSize size(final String name) {
+		return DataSize.parse(properties.getProperty(name));
+	}
+
+	private static Properties load() {
+		YamlPropertiesFactoryBean yaml = new YamlPropertiesFactoryBean();
+		yaml.setResources(new ClassPathResource("application.yaml"));
+		return yaml.getObject();
+	}
+
+}
@@ -0,0 +1,25 @@
+package com.project.exception;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.text.MessageFormat;
+import java.util.ResourceBundle;
+
+import org.junit.jupiter.api.Test;
+
+class ParseFailedExceptionTest {
+
+	@Test
+	void hasNoStackTrace() {
+		assertThat(new ParseFailedException("bad", null).getStackTrace()).isEmpty();
+		assertThat(new ParseLimitExceededException("too big", null).getStackTrace()).isEmpty();
+	}
+
+	@Test
+	void positionIsNotGrouped() {
+		String message = MessageFormat.format(ResourceBundle.getBundle("messages").getString("parse.failed"),
+				"Invalid field format", 12345, 4003);
+		assertThat(message).isEqualTo("Invalid field format at line 12345, column 4003");
+	}
+
+}
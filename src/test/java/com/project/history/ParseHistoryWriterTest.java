@@ -0,0 +1,40 @@
+package com.project.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.config.ParserProperties;
+import com.project.repository.ParseHistoryRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ParseHistoryWriterTest {
+
+	private final ParserProperties parserProperties = new ParserProperties();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void dropsEntriesBeyondTheQueuedSize() {
+		parserProperties.getHistory().setQueueMaxSize(DataSize.ofKilobytes(4));
+		ParseHistoryWriter writer = new ParseHistoryWriter(parserProperties, mock(ParseHistoryRepository.class),
+				new ObjectMapper(), meterRegistry);
+
+		writer.offer("UserDTO(id=1)", "JAVA", false, true, Map.of("id", 1), 1000, LocalDateTime.now());
+		String large = "x".repeat(4096);
+		writer.offer("UserDTO(name=" + large + ")", "JAVA", false, true, Map.of("name", large), 1000,
+				LocalDateTime.now());
+		writer.offer("Broken(", "JAVA", false, false, null, 1000, LocalDateTime.now());
+
+		assertThat(meterRegistry.get("parser.history.queued").gauge().value()).isEqualTo(2);
+		assertThat(meterRegistry.get("parser.history.dropped").counter().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("parser.history.queued.bytes").gauge().value()).isLessThan(1024);
+	}
+
+}
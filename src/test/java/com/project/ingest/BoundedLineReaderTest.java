@@ -0,0 +1,38 @@
+package com.project.ingest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class BoundedLineReaderTest {
+
+	@Test
+	void splitsLinesLikeBufferedReader() throws IOException {
+		assertThat(lines("a\nb\r\nc\rd", 10)).containsExactly("a", "b", "c", "d");
+		assertThat(lines("a\n\nb\n", 10)).containsExactly("a", "", "b");
+		assertThat(lines("", 10)).isEmpty();
+	}
+
+	@Test
+	void reportsLinesOverTheLimitWithoutHoldingThem() throws IOException {
+		String longLine = "x".repeat(200_000);
+		assertThat(lines("short\n" + longLine + "\r\nnext", 100_000)).containsExactly("short", null, "next");
+		assertThat(lines(longLine, 100_000)).containsExactly((String) null);
+	}
+
+	private List<String> lines(final String input, final int maxLineLength) throws IOException {
+		List<String> lines = new ArrayList<>();
+		try (BoundedLineReader reader = new BoundedLineReader(new StringReader(input), maxLineLength)) {
+			while (reader.next()) {
+				lines.add(reader.line());
+			}
+		}
+		return lines;
+	}
+
+}
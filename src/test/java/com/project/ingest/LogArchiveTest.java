@@ -0,0 +1,48 @@
+package com.project.ingest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+class LogArchiveTest {
+
+	private static final String LOG = "A(x=1)\n".repeat(1_000);
+
+	@Test
+	void inflatesCompressedLogsWithinTheLimit() throws IOException {
+		assertThat(count(gzip(LOG), LOG.length())).isEqualTo(1_000);
+		assertThat(count(LOG.getBytes(StandardCharsets.UTF_8), 10)).isEqualTo(1_000);
+	}
+
+	@Test
+	void failsCompressedLogsInflatingBeyondTheLimit() {
+		assertThatExceptionOfType(LogArchive.InflatedSizeExceededException.class)
+				.isThrownBy(() -> count(gzip(LOG), LOG.length() - 1));
+	}
+
+	private int count(final byte[] log, final long maxInflatedSize) throws IOException {
+		int lines = 0;
+		try (BoundedLineReader reader = LogArchive.lines(new ByteArrayInputStream(log), 100, maxInflatedSize)) {
+			while (reader.next()) {
+				lines++;
+			}
+		}
+		return lines;
+	}
+
+	private byte[] gzip(final String text) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+			out.write(text.getBytes(StandardCharsets.UTF_8));
+		}
+		return bytes.toByteArray();
+	}
+
+}
@@ -0,0 +1,77 @@
+package com.project.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.project.config.ParserProperties;
+import com.project.constant.InputLanguage;
+import com.project.dto.RequestDTO;
+import com.project.locale.MessageByLocaleService;
+import com.project.parser.JavaDTOParser;
+import com.project.parser.ParseBudget;
+import com.project.parser.ParseResult;
+import com.project.scheduling.AdmissionController;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ParseJobStoreTest {
+
+	private final ParserProperties parserProperties = new ParserProperties();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final AdmissionController admissionController = new AdmissionController(parserProperties,
+			mock(MessageByLocaleService.class), meterRegistry);
+
+	@Test
+	void succeededJobsHoldTheirMemoryUntilTheyAreDropped() {
+		parserProperties.getJobs().setMaxStoredJobs(1);
+		ParseJobStore store = new ParseJobStore(parserProperties, meterRegistry);
+		double available = available();
+
+		ParseJob job = job();
+		assertThat(store.add(job)).isTrue();
+		job.start();
+		job.succeed(Map.of("id", 1));
+		assertThat(available()).isLessThan(available);
+
+		// The finished job makes room for the next one and releases its memory
+		ParseJob next = job();
+		assertThat(store.add(next)).isTrue();
+		next.start();
+		next.fail("bad", null);
+		assertThat(available()).isEqualTo(available);
+	}
+
+	@Test
+	void parseTimeStartsWhenTheJobRuns() throws Exception {
+		parserProperties.getJobs().setMaxParseTime(Duration.ofMillis(100));
+		ParseJob job = job();
+		Thread.sleep(200);
+		job.start();
+		StringBuilder input = new StringBuilder("Dto(a=0");
+		for (int i = 1; i < 1_000; i++) {
+			input.append(", a").append(i).append('=').append(i);
+		}
+		ParseResult result = new JavaDTOParser(parserProperties).parse(input.append(')').toString(),
+				job.getBudget());
+		assertThat(result.isSuccess()).isTrue();
+	}
+
+	private ParseJob job() {
+		RequestDTO requestDTO = new RequestDTO();
+		requestDTO.setLanguage(InputLanguage.JAVA.getValue());
+		requestDTO.setInputTxt("Dto(a=" + "1".repeat(64 * 1024) + ")");
+		ParserProperties.Jobs jobs = parserProperties.getJobs();
+		return new ParseJob(1, new ParseBudget(parserProperties, jobs.getMaxInputSize(), jobs.getMaxParseTime()),
+				admissionController.admit(requestDTO));
+	}
+
+	private double available() {
+		return meterRegistry.get("parser.admission.available").gauge().value();
+	}
+
+}
@@ -0,0 +1,37 @@
+package com.project.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads the tab-separated corpora under {@code src/test/resources/parser}, skipping blank lines
+ * and {@code #} comments
+ */
+final class CorpusFiles {
+
+    private CorpusFiles() {
+    }
+
+    static List<String[]> read(String resource, int columns) {
+        try (InputStream in = CorpusFiles.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Missing corpus " + resource);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).lines()
+                    .filter(line -> !line.isBlank() && !line.startsWith("#"))
+                    .map(line -> line.split("\t", columns))
+                    .peek(fields -> {
+                        if (fields.length != columns) {
+                            throw new IllegalArgumentException("Expected " + columns + " columns: " + Arrays.toString(fields));
+                        }
+                    })
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.project.parser;
+
+import java.util.List;
+
+import com.project.config.ParserProperties;
+
+/**
+ * Cost of {@link LanguageDetector#detect(String)} on the detection corpus and on a large DTO,
+ * against the three {@code supports()} scans it replaced. Not a test; after {@code mvn test-compile}:
+ *
+ * <pre>
+ * java -cp target/classes:target/test-classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *     com.project.parser.LanguageDetectorBenchmark
+ * </pre>
+ */
+public final class LanguageDetectorBenchmark {
+
+    private static final int CORPUS_ROUNDS = 2_000_000;
+    private static final int LARGE_ROUNDS = 200_000;
+    private static final int SUPPORTS_ROUNDS = 200;
+
+    private LanguageDetectorBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        LanguageDetector detector = new LanguageDetector();
+        List<String> corpus = CorpusFiles.read("/parser/language-detection.tsv", 2).stream()
+                .map(fields -> fields[1]).toList();
+        StringBuilder large = new StringBuilder("OrderDTO(");
+        for (int i = 0; i < 100_000; i++) {
+            large.append('f').append(i).append('=').append(i).append(", ");
+        }
+        String largeInput = large.append("z=1)").toString();
+
+        int sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < CORPUS_ROUNDS; i++) {
+            sink += detector.detect(corpus.get(i % corpus.size())).ordinal();
+        }
+        System.out.printf("detect, corpus sample: %d ns%n", (System.nanoTime() - start) / CORPUS_ROUNDS);
+
+        start = System.nanoTime();
+        for (int i = 0; i < LARGE_ROUNDS; i++) {
+            sink += detector.detect(largeInput).ordinal();
+        }
+        System.out.printf("detect, %d chars: %d ns%n", largeInput.length(), (System.nanoTime() - start) / LARGE_ROUNDS);
+
+        ParserProperties properties = new ParserProperties();
+        List<LogParser> parsers = List.of(new JavaDTOParser(properties), new KotlinDTOParser(properties),
+                new CSharpDTOParser(properties));
+        start = System.nanoTime();
+        for (int i = 0; i < SUPPORTS_ROUNDS; i++) {
+            for (LogParser parser : parsers) {
+                sink += parser.supports(largeInput) ? 1 : 0;
+            }
+        }
+        System.out.printf("supports() of the three parsers, %d chars: %d ns (%d)%n", largeInput.length(),
+                (System.nanoTime() - start) / SUPPORTS_ROUNDS, sink);
+    }
+}
@@ -0,0 +1,41 @@
+package com.project.parser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.project.constant.InputLanguage;
+
+class LanguageDetectorTest {
+
+    private final LanguageDetector detector = new LanguageDetector();
+
+    static Stream<Arguments> corpus() {
+        return CorpusFiles.read("/parser/language-detection.tsv", 2).stream()
+                .map(fields -> Arguments.of(InputLanguage.valueOf(fields[0]), fields[1]));
+    }
+
+    @ParameterizedTest(name = "{0}: {1}")
+    @MethodSource("corpus")
+    void detectsTheLanguageOfTheCorpus(InputLanguage expected, String input) {
+        assertThat(detector.detect(input)).isEqualTo(expected);
+    }
+
+    @Test
+    void looksOnlyAtThePrefix() {
+        String padding = "x".repeat(LanguageDetector.PREFIX_LENGTH);
+        assertThat(detector.detect("Dto(a=" + padding + ", b=listOf(1))")).isEqualTo(InputLanguage.JAVA);
+        assertThat(detector.detect("Dto(a=1, b=listOf(1), c=" + padding + ")")).isEqualTo(InputLanguage.KOTLIN);
+    }
+
+    @Test
+    void defaultsToJava() {
+        assertThat(detector.detect(null)).isEqualTo(InputLanguage.JAVA);
+        assertThat(detector.detect("")).isEqualTo(InputLanguage.JAVA);
+    }
+}
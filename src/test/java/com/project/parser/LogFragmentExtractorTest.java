@@ -0,0 +1,41 @@
+package com.project.parser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class LogFragmentExtractorTest {
+
+    private final LogFragmentExtractor extractor = new LogFragmentExtractor();
+
+    @Test
+    void extractsFragmentsAfterTheLogHeader() {
+        assertThat(texts("2024-01-01 10:00:00.123 INFO [main] com.app.OrderService - Saved OrderDTO(id=1, items=[ItemDTO(sku=A)])"))
+                .containsExactly("OrderDTO(id=1, items=[ItemDTO(sku=A)])");
+    }
+
+    @Test
+    void keepsApostrophesInUnquotedValues() {
+        assertThat(texts("INFO Saved UserDTO(id=1, name=O'Brien, city=Dublin) and UserDTO(id=2, name=D'Arcy)"))
+                .containsExactly("UserDTO(id=1, name=O'Brien, city=Dublin)", "UserDTO(id=2, name=D'Arcy)");
+    }
+
+    @Test
+    void skipsBracketsInsideQuotedValues() {
+        assertThat(texts("INFO Dto(c=')', s=\"a) b\", u='\\u0041') Other(x=1)"))
+                .containsExactly("Dto(c=')', s=\"a) b\", u='\\u0041')", "Other(x=1)");
+    }
+
+    @Test
+    void scansOnAfterAnUnterminatedQuote() {
+        assertThat(texts("INFO Dto(note=say \"hi, id=1) Other(x=')"))
+                .containsExactly("Dto(note=say \"hi, id=1)", "Other(x=')");
+        assertThat(texts("INFO Dto(c=', id=1) Other(x=1)")).containsExactly("Dto(c=', id=1)", "Other(x=1)");
+    }
+
+    private List<String> texts(String line) {
+        return extractor.extractLine(line, 1).stream().map(LogFragment::getText).toList();
+    }
+}
@@ -0,0 +1,73 @@
+package com.project.parser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.config.ParserProperties;
+
+/**
+ * Runs every parser over {@code conversions.tsv}: the JSON of each accepted input, and the position
+ * reported for malformed ones
+ */
+class ParserConversionTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    static Stream<Arguments> corpus() {
+        return CorpusFiles.read("/parser/conversions.tsv", 3).stream()
+                .map(fields -> Arguments.of(fields[0], fields[1], fields[2]));
+    }
+
+    @ParameterizedTest(name = "{0}: {1}")
+    @MethodSource("corpus")
+    void convertsTheCorpus(String language, String input, String expected) throws Exception {
+        ParseResult result = parser(language).parse(input);
+        String actual = switch (result.getStatus()) {
+        case SUCCESS -> OBJECT_MAPPER.writeValueAsString(result.getValue());
+        case UNSUPPORTED -> "UNSUPPORTED";
+        case FAILED -> "FAILED " + result.getError().getLine() + ":" + result.getError().getColumn();
+        };
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = { "JAVA|Dto(a=1, b=2, c=3)", "KOTLIN|Dto(a=1, b=listOf(2, 3))",
+            "CSHARP|Dto { A = 1, B = 2, C = 3 }" })
+    void abortsOnceTheNodeBudgetIsExceeded(String language, String input) {
+        ParserProperties properties = new ParserProperties();
+        properties.setMaxNodes(2);
+        ParseResult result = parser(language).parse(input, new ParseBudget(properties));
+        assertThat(result.isLimitExceeded()).isTrue();
+        assertThat(result.getError().getLimit()).isEqualTo(ParseLimit.NODES);
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = { "JAVA|User(name=Alexander the Great)", "JAVA|User(role=SUPER_ADMINISTRATOR)",
+            "JAVA|User(name=\"Alexander the Great\")", "KOTLIN|User(name=Alexander the Great)",
+            "KOTLIN|User(role=SUPER_ADMINISTRATOR)", "KOTLIN|User(name=\"Alexander the Great\")",
+            "CSHARP|User { Name = \"Alexander the Great\" }" })
+    void abortsOnceAStringIsTooLong(String language, String input) {
+        ParserProperties properties = new ParserProperties();
+        properties.setMaxStringLength(10);
+        ParseResult result = parser(language).parse(input, new ParseBudget(properties));
+        assertThat(result.isLimitExceeded()).isTrue();
+        assertThat(result.getError().getLimit()).isEqualTo(ParseLimit.STRING_LENGTH);
+    }
+
+    private static LogParser parser(String language) {
+        ParserProperties properties = new ParserProperties();
+        return switch (language) {
+        case "JAVA" -> new JavaDTOParser(properties);
+        case "KOTLIN" -> new KotlinDTOParser(properties);
+        case "CSHARP" -> new CSharpDTOParser(properties);
+        default -> throw new IllegalArgumentException(language);
+        };
+    }
+}
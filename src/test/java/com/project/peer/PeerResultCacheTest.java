@@ -0,0 +1,55 @@
+package com.project.peer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.config.ParserProperties;
+import com.project.store.ResultStore;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PeerResultCacheTest {
+
+	private final ParserProperties parserProperties = new ParserProperties();
+
+	@Test
+	void refusesToStartWithoutAToken() {
+		configure(null);
+		assertThatIllegalStateException().isThrownBy(this::cache).withMessageContaining("parser.peers.token");
+		configure(" ");
+		assertThatIllegalStateException().isThrownBy(this::cache).withMessageContaining("parser.peers.token");
+	}
+
+	@Test
+	void authorizesOnlyTheToken() throws InterruptedException {
+		configure("secret");
+		PeerResultCache cache = cache();
+		assertThat(cache.isAuthorized("secret")).isTrue();
+		assertThat(cache.isAuthorized("other")).isFalse();
+		assertThat(cache.isAuthorized(null)).isFalse();
+		cache.destroy();
+	}
+
+	private void configure(final String token) {
+		ParserProperties.Peers peers = parserProperties.getPeers();
+		peers.setSelf("http://localhost:1/project");
+		peers.setUrls(List.of("http://localhost:1/project", "http://localhost:2/project"));
+		peers.setToken(token);
+	}
+
+	@SuppressWarnings("unchecked")
+	private PeerResultCache cache() {
+		ObjectProvider<ResultStore> resultStore = mock(ObjectProvider.class);
+		when(resultStore.getIfAvailable()).thenReturn(mock(ResultStore.class));
+		return new PeerResultCache(parserProperties, resultStore, new ObjectMapper(), new SimpleMeterRegistry());
+	}
+
+}
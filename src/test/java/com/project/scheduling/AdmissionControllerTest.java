@@ -0,0 +1,61 @@
+package com.project.scheduling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.project.config.ParserProperties;
+import com.project.constant.InputLanguage;
+import com.project.dto.RequestDTO;
+import com.project.locale.MessageByLocaleService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AdmissionControllerTest {
+
+	private static final int BUDGET_KILOBYTES = 64;
+	private static final int BYTES_PER_CHAR = 16;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final AdmissionController admissionController = admissionController();
+
+	@Test
+	void admitsSmallParsesWhileALargeOneWaits() throws Exception {
+		int total = (int) meterRegistry.get("parser.admission.available").gauge().value();
+		AdmissionController.Reservation running = admissionController.admit(request(total - 8));
+		CompletableFuture<AdmissionController.Reservation> large = CompletableFuture
+				.supplyAsync(() -> admissionController.admit(request(32)));
+		// Lets the large request start waiting for memory
+		Thread.sleep(200);
+		assertThat(large).isNotDone();
+
+		long start = System.nanoTime();
+		admissionController.admit(request(4)).close();
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(100));
+
+		running.close();
+		large.get(5, TimeUnit.SECONDS).close();
+		assertThat(meterRegistry.get("parser.admission.available").gauge().value()).isEqualTo(total);
+	}
+
+	private AdmissionController admissionController() {
+		ParserProperties parserProperties = new ParserProperties();
+		ParserProperties.Admission admission = parserProperties.getAdmission();
+		admission.setHeapFraction((double) BUDGET_KILOBYTES * 1024 / Runtime.getRuntime().maxMemory());
+		admission.setMaxWait(Duration.ofSeconds(5));
+		return new AdmissionController(parserProperties, mock(MessageByLocaleService.class), meterRegistry);
+	}
+
+	private static RequestDTO request(final int kilobytes) {
+		RequestDTO requestDTO = new RequestDTO();
+		requestDTO.setLanguage(InputLanguage.JAVA.getValue());
+		requestDTO.setInputTxt("x".repeat(kilobytes * 1024 / BYTES_PER_CHAR));
+		return requestDTO;
+	}
+
+}
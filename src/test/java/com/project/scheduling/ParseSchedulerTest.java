@@ -0,0 +1,96 @@
+package com.project.scheduling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.project.config.AsyncConfig;
+import com.project.config.ParserProperties;
+import com.project.exception.TooManyRequestsException;
+import com.project.locale.MessageByLocaleService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ParseSchedulerTest {
+
+	private final ParserProperties parserProperties = parserProperties();
+	private final AsyncConfig asyncConfig = new AsyncConfig();
+	private final ThreadPoolTaskExecutor smallParseExecutor = asyncConfig.smallParseExecutor(parserProperties);
+	private final ThreadPoolTaskExecutor largeParseExecutor = asyncConfig.largeParseExecutor(parserProperties);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final ParseScheduler parseScheduler = parseScheduler();
+
+	@AfterEach
+	void shutDown() {
+		smallParseExecutor.shutdown();
+		largeParseExecutor.shutdown();
+	}
+
+	/**
+	 * Off the request thread, the request timeout and client aborts can cancel a small parse
+	 */
+	@Test
+	void runsSmallParsesOffTheRequestThread() throws Exception {
+		CompletableFuture<Thread> parseThread = new CompletableFuture<>();
+		parseScheduler.executorFor("UserDTO(id=1)").execute(() -> parseThread.complete(Thread.currentThread()));
+
+		assertThat(parseThread.get(5, TimeUnit.SECONDS)).isNotSameAs(Thread.currentThread());
+		assertThat(parseThread.get().getName()).startsWith("project-small-parse-");
+	}
+
+	@Test
+	void rejectsASmallParseThatWaitsTooLongForTheSlot() throws Exception {
+		CountDownLatch running = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AsyncTaskExecutor executor = parseScheduler.executorFor("UserDTO(id=1)");
+		executor.execute(() -> {
+			running.countDown();
+			await(release);
+		});
+		assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+
+		assertThatThrownBy(() -> executor.execute(() -> {
+		})).isInstanceOf(TooManyRequestsException.class);
+		assertThat(meterRegistry.get("parser.bulkhead.rejections").tag("class", "small").counter().count())
+				.isEqualTo(1);
+
+		release.countDown();
+		CountDownLatch next = new CountDownLatch(1);
+		executor.execute(next::countDown);
+		assertThat(next.await(5, TimeUnit.SECONDS)).isTrue();
+	}
+
+	private ParseScheduler parseScheduler() {
+		smallParseExecutor.initialize();
+		largeParseExecutor.initialize();
+		return new ParseScheduler(parserProperties, mock(MessageByLocaleService.class), meterRegistry,
+				smallParseExecutor, largeParseExecutor);
+	}
+
+	private static ParserProperties parserProperties() {
+		ParserProperties parserProperties = new ParserProperties();
+		ParserProperties.Bulkhead bulkhead = parserProperties.getBulkhead();
+		bulkhead.setSmall(new ParserProperties.SizeClass(1, 1));
+		bulkhead.setQueueTimeout(Duration.ofMillis(100));
+		return parserProperties;
+	}
+
+	private static void await(final CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
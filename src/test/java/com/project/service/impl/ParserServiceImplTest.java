@@ -0,0 +1,52 @@
+package com.project.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import com.project.config.ParserProperties;
+import com.project.constant.InputLanguage;
+import com.project.locale.MessageByLocaleService;
+import com.project.parser.CSharpDTOParser;
+import com.project.parser.JavaDTOParser;
+import com.project.parser.KotlinDTOParser;
+import com.project.parser.LanguageDetector;
+import com.project.parser.LogFragmentExtractor;
+import com.project.parser.ParseBudget;
+import com.project.peer.PeerResultCache;
+import com.project.store.ResultStore;
+import com.project.stream.LogStreamContext;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ParserServiceImplTest {
+
+	private final ParserProperties parserProperties = new ParserProperties();
+
+	@SuppressWarnings("unchecked")
+	private final ParserServiceImpl parserService = new ParserServiceImpl(mock(MessageByLocaleService.class),
+			Map.of("JAVA", new JavaDTOParser(parserProperties), "KOTLIN", new KotlinDTOParser(parserProperties),
+					"CSHARP", new CSharpDTOParser(parserProperties)),
+			new LogFragmentExtractor(), new LanguageDetector(), new SimpleMeterRegistry(),
+			mock(ObjectProvider.class), mock(ObjectProvider.class));
+
+	@Test
+	void detectsAgainWhenTheCachedLanguageDoesNotParseTheShape() throws Exception {
+		LogStreamContext context = new LogStreamContext(InputLanguage.AUTO, parserProperties.getStream());
+		String fragment = "UserDTO(id=1, name=Test)";
+		context.putShapeLanguage(fragment, InputLanguage.CSHARP);
+
+		List<Map<String, Object>> results = parserService.parseLogLine("INFO Saved " + fragment, context,
+				new ParseBudget(parserProperties));
+
+		assertThat(results).hasSize(1);
+		assertThat(results.get(0).get("data")).isEqualTo(Map.of("id", 1, "name", "Test"));
+		assertThat(context.getShapeLanguage(fragment)).isEqualTo(InputLanguage.JAVA);
+	}
+
+}
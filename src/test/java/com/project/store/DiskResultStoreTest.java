@@ -0,0 +1,190 @@
+package com.project.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DiskResultStoreTest {
+
+	private static final long UNLIMITED = Long.MAX_VALUE;
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void keepsValuesAcrossReopens() throws IOException {
+		try (DiskResultStore store = DiskResultStore.open(directory, 16)) {
+			assertThat(store.put(key(1), value(1), 1, UNLIMITED)).isTrue();
+			assertThat(store.put(key(1), value(2), 1, UNLIMITED)).isFalse();
+			assertThat(store.put(key(2), value(2), 1, UNLIMITED)).isTrue();
+		}
+		try (DiskResultStore store = DiskResultStore.open(directory, 16)) {
+			assertThat(store.getCount()).isEqualTo(2);
+			assertThat(store.get(key(1), 1)).isEqualTo(value(1));
+			assertThat(store.get(key(2), 1)).isEqualTo(value(2));
+			assertThat(store.get(key(3), 1)).isNull();
+		}
+	}
+
+	@Test
+	void refusesValuesBeyondTheMaximumLength() throws IOException {
+		try (DiskResultStore store = DiskResultStore.open(directory, 16)) {
+			long length = store.getDataLength();
+			assertThat(store.put(key(1), value(1), 1, length + 10)).isFalse();
+			assertThat(store.getDataLength()).isEqualTo(length);
+		}
+	}
+
+	@Test
+	void rebuildsAnIndexOfAnotherGeneration() throws IOException {
+		try (DiskResultStore store = DiskResultStore.open(directory, 16)) {
+			for (int i = 0; i < 10; i++) {
+				store.put(key(i), value(i), 1, UNLIMITED);
+			}
+		}
+		Path index = directory.resolve(DiskResultStore.INDEX_FILE);
+		try (var channel = Files.newByteChannel(index, StandardOpenOption.WRITE)) {
+			// The generation in the header, as if the index belonged to an older data file
+			channel.position(8).write(ByteBuffer.allocate(8).putLong(0, 42));
+		}
+		try (DiskResultStore store = DiskResultStore.open(directory, 16)) {
+			assertThat(store.getCount()).isEqualTo(10);
+			assertThat(store.get(key(7), 1)).isEqualTo(value(7));
+		}
+	}
+
+	@Test
+	void indexesRecordsWrittenAfterTheIndexAndCutsOffAPartialOne() throws IOException {
+		try (DiskResultStore store = DiskResultStore.open(directory, 16)) {
+			store.put(key(1), value(1), 1, UNLIMITED);
+		}
+		Path index = directory.resolve(DiskResultStore.INDEX_FILE);
+		byte[] indexBefore = Files.readAllBytes(index);
+		long dataBefore;
+		try (DiskResultStore store = DiskResultStore.open(directory, 16)) {
+			store.put(key(2), value(2), 1, UNLIMITED);
+			dataBefore = store.getDataLength();
+		}
+		// As if the process died before the index was written, while a third record was appended
+		Files.write(index, indexBefore);
+		Files.write(directory.resolve(DiskResultStore.DATA_FILE), new byte[] { 0, 0, 1, 0, 5 },
+				StandardOpenOption.APPEND);
+		try (DiskResultStore store = DiskResultStore.open(directory, 16)) {
+			assertThat(store.getCount()).isEqualTo(2);
+			assertThat(store.get(key(2), 1)).isEqualTo(value(2));
+			assertThat(store.getDataLength()).isEqualTo(dataBefore);
+		}
+	}
+
+	@Test
+	void growsTheIndex() throws IOException {
+		try (DiskResultStore store = DiskResultStore.open(directory, 16)) {
+			for (int i = 0; i < 1_000; i++) {
+				assertThat(store.put(key(i), value(i), 1, UNLIMITED)).isTrue();
+			}
+			assertThat(store.getCount()).isEqualTo(1_000);
+		}
+		try (DiskResultStore store = DiskResultStore.open(directory, 16)) {
+			assertThat(store.getCount()).isEqualTo(1_000);
+			for (int i = 0; i < 1_000; i++) {
+				assertThat(store.get(key(i), 1)).isEqualTo(value(i));
+			}
+		}
+	}
+
+	@Test
+	void compactsExpiredValuesAway() throws IOException {
+		try (DiskResultStore store = DiskResultStore.open(directory, 16)) {
+			for (int i = 0; i < 100; i++) {
+				store.put(key(i), value(i), i < 50 ? 1 : 10, UNLIMITED);
+			}
+			long length = store.getDataLength();
+			assertThat(store.compact(0, UNLIMITED)).isZero();
+			assertThat(store.compact(5, UNLIMITED)).isEqualTo(50);
+			assertThat(store.getCount()).isEqualTo(50);
+			assertThat(store.getDataLength()).isLessThan(length);
+			assertThat(store.get(key(10), 10)).isNull();
+			assertThat(store.get(key(60), 10)).isEqualTo(value(60));
+		}
+		try (DiskResultStore store = DiskResultStore.open(directory, 16)) {
+			assertThat(store.getCount()).isEqualTo(50);
+			assertThat(store.get(key(99), 10)).isEqualTo(value(99));
+		}
+	}
+
+	@Test
+	void compactsToTheTargetLengthKeepingTheRecentlyAccessed() throws IOException {
+		try (DiskResultStore store = DiskResultStore.open(directory, 16)) {
+			for (int i = 0; i < 100; i++) {
+				store.put(key(i), value(i), 100 + i, UNLIMITED);
+			}
+			long perRecord = (store.getDataLength() - 16) / 100;
+			assertThat(store.compact(0, 16 + 10 * perRecord)).isEqualTo(90);
+			assertThat(store.getDataLength()).isEqualTo(16 + 10 * perRecord);
+			assertThat(store.get(key(89), 1)).isNull();
+			for (int i = 90; i < 100; i++) {
+				assertThat(store.get(key(i), 1)).isEqualTo(value(i));
+			}
+		}
+	}
+
+	/**
+	 * Writes land while compactions copy the store, growing its index from a small capacity
+	 */
+	@Test
+	void keepsValuesWrittenDuringACompaction() throws Exception {
+		int written = 0;
+		try (DiskResultStore store = DiskResultStore.open(directory, 16)) {
+			for (int round = 0; round < 10; round++) {
+				for (int i = 0; i < 500; i++) {
+					store.put(key(-1 - round * 500 - i), value(i), 1, UNLIMITED);
+				}
+				AtomicBoolean compacting = new AtomicBoolean(true);
+				CompletableFuture<Integer> compaction = CompletableFuture.supplyAsync(() -> {
+					try {
+						return store.compact(5, UNLIMITED);
+					} catch (IOException e) {
+						throw new IllegalStateException(e);
+					} finally {
+						compacting.set(false);
+					}
+				});
+				int from = written;
+				do {
+					assertThat(store.put(key(written), value(written), 10, UNLIMITED)).isTrue();
+					written++;
+				} while (compacting.get() && written - from < 2_000 || written - from < 100);
+				assertThat(compaction.get()).isEqualTo(500);
+				for (int i = 0; i < written; i++) {
+					assertThat(store.get(key(i), 10)).as("value %d", i).isEqualTo(value(i));
+				}
+			}
+			assertThat(store.getCount()).isEqualTo(written);
+		}
+		try (DiskResultStore store = DiskResultStore.open(directory, 16)) {
+			assertThat(store.getCount()).isEqualTo(written);
+			for (int i = 0; i < written; i++) {
+				assertThat(store.get(key(i), 10)).isEqualTo(value(i));
+			}
+		}
+	}
+
+	private static DiskResultStore.Key key(final int i) {
+		return DiskResultStore.Key.of(1, ByteBuffer.allocate(32).putInt(i).putInt(28, i * 31).array());
+	}
+
+	private static byte[] value(final int i) {
+		return String.format("{\"id\":%011d,\"name\":\"Test\"}", i).getBytes(StandardCharsets.UTF_8);
+	}
+
+}